@@ -0,0 +1,421 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.ARBES3Compatibility;
+import org.lwjgl.opengl.ARBTextureCompressionBPTC;
+import org.lwjgl.opengl.ARBTextureCompressionRGTC;
+import org.lwjgl.opengl.EXTTextureCompressionS3TC;
+import org.lwjgl.opengl.EXTTextureSRGB;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL13;
+import org.lwjgl.opengl.GL15;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Client memory handed to LWJGL. Uploads and reads of buffer and texture data of all GL wrappers go through one dispatch here:
+ * the buffer is classified once, an explicit byte size limits it, direct buffers of the types LWJGL takes are passed as they are
+ * and everything else (heap buffers, {@link CharBuffer}, {@link LongBuffer}) is staged through a reusable direct arena. LWJGL 2
+ * does not expose its address based entry points, so the typed overloads remain the last step, picked by a switch on the kind.
+ * <p>
+ * The view of the last index buffer is kept and repositioned, so drawing from the same buffer again and again does not create a
+ * view per call. Views share the memory of their buffer, byte order does not matter to GL which reads the memory as it is.
+ * <p>
+ * An instance belongs to one GL wrapper and is used by the thread its context is current on only.
+ *
+ * @author Michal NkD Nikodim */
+final class LwjglBuffers {
+	private static final int BYTE = 0, SHORT = 1, CHAR = 2, INT = 3, FLOAT = 4, LONG = 5, DOUBLE = 6;
+
+	private ByteBuffer shortSource;
+	private ShortBuffer shortView;
+	private int shortBase;
+
+	// direct arena for data LWJGL can not take as it is, typed views are created once per arena size
+	private ByteBuffer arena;
+	private ShortBuffer arenaShorts;
+	private CharBuffer arenaChars;
+	private IntBuffer arenaInts;
+	private FloatBuffer arenaFloats;
+	private LongBuffer arenaLongs;
+	private DoubleBuffer arenaDoubles;
+
+	// state of the current dispatch
+	private Buffer source;
+	private int sourceLimit;
+	private int kind;
+
+	/** @return remaining bytes of the buffer as shorts, same as {@link ByteBuffer#asShortBuffer()} */
+	ShortBuffer asShortBuffer (ByteBuffer buffer) {
+		int offset = buffer.position() - shortBase;
+		int end = buffer.limit() - shortBase;
+		// a view covers the buffer from the position it was created at, it is reused while the new range lies within
+		if (buffer != shortSource || offset < 0 || (offset & 1) != 0 || end > shortView.capacity() << 1) {
+			shortSource = buffer;
+			shortBase = buffer.position();
+			shortView = buffer.asShortBuffer();
+			return shortView;
+		}
+		shortView.limit(end >> 1);
+		shortView.position(offset >> 1);
+		return shortView;
+	}
+
+	/** @param data null allocates size bytes without initializing them */
+	void bufferData (int target, int size, Buffer data, int usage) {
+		if (data == null) {
+			GL15.glBufferData(target, size, usage);
+			return;
+		}
+		Buffer buffer = stage(data, size);
+		try {
+			switch (kind) {
+			case SHORT:
+				GL15.glBufferData(target, (ShortBuffer)buffer, usage);
+				break;
+			case INT:
+				GL15.glBufferData(target, (IntBuffer)buffer, usage);
+				break;
+			case FLOAT:
+				GL15.glBufferData(target, (FloatBuffer)buffer, usage);
+				break;
+			case DOUBLE:
+				GL15.glBufferData(target, (DoubleBuffer)buffer, usage);
+				break;
+			default:
+				GL15.glBufferData(target, (ByteBuffer)buffer, usage);
+			}
+		} finally {
+			unstage();
+		}
+	}
+
+	void bufferSubData (int target, int offset, int size, Buffer data) {
+		Buffer buffer = stage(data, size);
+		try {
+			switch (kind) {
+			case SHORT:
+				GL15.glBufferSubData(target, offset, (ShortBuffer)buffer);
+				break;
+			case INT:
+				GL15.glBufferSubData(target, offset, (IntBuffer)buffer);
+				break;
+			case FLOAT:
+				GL15.glBufferSubData(target, offset, (FloatBuffer)buffer);
+				break;
+			case DOUBLE:
+				GL15.glBufferSubData(target, offset, (DoubleBuffer)buffer);
+				break;
+			default:
+				GL15.glBufferSubData(target, offset, (ByteBuffer)buffer);
+			}
+		} finally {
+			unstage();
+		}
+	}
+
+	/** @param pixels null allocates the texture without initializing it */
+	void texImage2D (int target, int level, int internalformat, int width, int height, int border, int format, int type,
+		Buffer pixels) {
+		if (pixels == null) {
+			GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, (ByteBuffer)null);
+			return;
+		}
+		Buffer buffer = stage(pixels, -1);
+		try {
+			switch (kind) {
+			case SHORT:
+				GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, (ShortBuffer)buffer);
+				break;
+			case INT:
+				GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, (IntBuffer)buffer);
+				break;
+			case FLOAT:
+				GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, (FloatBuffer)buffer);
+				break;
+			case DOUBLE:
+				GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, (DoubleBuffer)buffer);
+				break;
+			default:
+				GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, (ByteBuffer)buffer);
+			}
+		} finally {
+			unstage();
+		}
+	}
+
+	void texSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height, int format, int type,
+		Buffer pixels) {
+		Buffer buffer = stage(pixels, -1);
+		try {
+			switch (kind) {
+			case SHORT:
+				GL11.glTexSubImage2D(target, level, xoffset, yoffset, width, height, format, type, (ShortBuffer)buffer);
+				break;
+			case INT:
+				GL11.glTexSubImage2D(target, level, xoffset, yoffset, width, height, format, type, (IntBuffer)buffer);
+				break;
+			case FLOAT:
+				GL11.glTexSubImage2D(target, level, xoffset, yoffset, width, height, format, type, (FloatBuffer)buffer);
+				break;
+			case DOUBLE:
+				GL11.glTexSubImage2D(target, level, xoffset, yoffset, width, height, format, type, (DoubleBuffer)buffer);
+				break;
+			default:
+				GL11.glTexSubImage2D(target, level, xoffset, yoffset, width, height, format, type, (ByteBuffer)buffer);
+			}
+		} finally {
+			unstage();
+		}
+	}
+
+	/** @param imageSize checked against the remaining data and, for block compressed formats, against the image dimensions */
+	void compressedTexImage2D (int target, int level, int internalformat, int width, int height, int border, int imageSize,
+		Buffer data) {
+		ByteBuffer bytes = stageCompressed(internalformat, width, height, imageSize, data);
+		try {
+			GL13.glCompressedTexImage2D(target, level, internalformat, width, height, border, bytes);
+		} finally {
+			unstage();
+		}
+	}
+
+	void compressedTexSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height, int format,
+		int imageSize, Buffer data) {
+		ByteBuffer bytes = stageCompressed(format, width, height, imageSize, data);
+		try {
+			GL13.glCompressedTexSubImage2D(target, level, xoffset, yoffset, width, height, format, bytes);
+		} finally {
+			unstage();
+		}
+	}
+
+	/** Pixels read into the arena are copied back into the given buffer, its position is left unchanged like for direct ones. */
+	void readPixels (int x, int y, int width, int height, int format, int type, Buffer pixels) {
+		Buffer buffer = stage(pixels, -1);
+		try {
+			switch (kind) {
+			case SHORT:
+				GL11.glReadPixels(x, y, width, height, format, type, (ShortBuffer)buffer);
+				break;
+			case INT:
+				GL11.glReadPixels(x, y, width, height, format, type, (IntBuffer)buffer);
+				break;
+			case FLOAT:
+				GL11.glReadPixels(x, y, width, height, format, type, (FloatBuffer)buffer);
+				break;
+			case DOUBLE:
+				GL11.glReadPixels(x, y, width, height, format, type, (DoubleBuffer)buffer);
+				break;
+			default:
+				GL11.glReadPixels(x, y, width, height, format, type, (ByteBuffer)buffer);
+			}
+			if (buffer == arena) copyFromArena(pixels);
+		} finally {
+			unstage();
+		}
+	}
+
+	private Buffer stage (Buffer data, int size) {
+		return stage(data, size, false);
+	}
+
+	/** Classifies the buffer, limits it to size bytes and moves it into the arena when LWJGL can not take it as it is.
+	 * @param size in bytes, negative for all remaining elements
+	 * @param bytesOnly whether only a {@link ByteBuffer} can be passed on
+	 * @return buffer to pass, {@link #kind} tells its type */
+	private Buffer stage (Buffer data, int size, boolean bytesOnly) {
+		if (data == null) throw new GdxRuntimeException("Buffer must not be null");
+		kind = kindOf(data);
+		source = data;
+		sourceLimit = data.limit();
+		if (size >= 0) {
+			int limit = data.position() + (size >> shift(kind));
+			if (limit < sourceLimit) data.limit(limit);
+		}
+		if (data.isDirect() && (kind == BYTE || (!bytesOnly && kind != CHAR && kind != LONG))) return data;
+		copyToArena(data);
+		kind = BYTE;
+		return arena;
+	}
+
+	private ByteBuffer stageCompressed (int format, int width, int height, int imageSize, Buffer data) {
+		if (data == null) throw new GdxRuntimeException("Compressed image data must not be null");
+		int blockSize = compressedBlockSize(format);
+		if (blockSize > 0) {
+			int expected = ((width + 3) >> 2) * ((height + 3) >> 2) * blockSize;
+			if (imageSize != expected)
+				throw new GdxRuntimeException("imageSize " + imageSize + " does not match " + width + "x" + height + " of format 0x"
+					+ Integer.toHexString(format) + ", expected " + expected);
+		}
+		int available = data.remaining() << shift(kindOf(data));
+		if (imageSize < 0 || imageSize > available)
+			throw new GdxRuntimeException("imageSize " + imageSize + " does not match the data, " + available + " bytes remaining");
+		return (ByteBuffer)stage(data, imageSize, true);
+	}
+
+	/** @return bytes per 4x4 block of the block compressed format, 0 for formats of unknown layout */
+	static int compressedBlockSize (int format) {
+		switch (format) {
+		case EXTTextureCompressionS3TC.GL_COMPRESSED_RGB_S3TC_DXT1_EXT:
+		case EXTTextureCompressionS3TC.GL_COMPRESSED_RGBA_S3TC_DXT1_EXT:
+		case EXTTextureSRGB.GL_COMPRESSED_SRGB_S3TC_DXT1_EXT:
+		case EXTTextureSRGB.GL_COMPRESSED_SRGB_ALPHA_S3TC_DXT1_EXT:
+		case ARBTextureCompressionRGTC.GL_COMPRESSED_RED_RGTC1:
+		case ARBTextureCompressionRGTC.GL_COMPRESSED_SIGNED_RED_RGTC1:
+		case ARBES3Compatibility.GL_COMPRESSED_RGB8_ETC2:
+		case ARBES3Compatibility.GL_COMPRESSED_SRGB8_ETC2:
+		case ARBES3Compatibility.GL_COMPRESSED_RGB8_PUNCHTHROUGH_ALPHA1_ETC2:
+		case ARBES3Compatibility.GL_COMPRESSED_SRGB8_PUNCHTHROUGH_ALPHA1_ETC2:
+		case ARBES3Compatibility.GL_COMPRESSED_R11_EAC:
+		case ARBES3Compatibility.GL_COMPRESSED_SIGNED_R11_EAC:
+			return 8;
+		case EXTTextureCompressionS3TC.GL_COMPRESSED_RGBA_S3TC_DXT3_EXT:
+		case EXTTextureCompressionS3TC.GL_COMPRESSED_RGBA_S3TC_DXT5_EXT:
+		case EXTTextureSRGB.GL_COMPRESSED_SRGB_ALPHA_S3TC_DXT3_EXT:
+		case EXTTextureSRGB.GL_COMPRESSED_SRGB_ALPHA_S3TC_DXT5_EXT:
+		case ARBTextureCompressionRGTC.GL_COMPRESSED_RG_RGTC2:
+		case ARBTextureCompressionRGTC.GL_COMPRESSED_SIGNED_RG_RGTC2:
+		case ARBTextureCompressionBPTC.GL_COMPRESSED_RGBA_BPTC_UNORM_ARB:
+		case ARBTextureCompressionBPTC.GL_COMPRESSED_SRGB_ALPHA_BPTC_UNORM_ARB:
+		case ARBTextureCompressionBPTC.GL_COMPRESSED_RGB_BPTC_SIGNED_FLOAT_ARB:
+		case ARBTextureCompressionBPTC.GL_COMPRESSED_RGB_BPTC_UNSIGNED_FLOAT_ARB:
+		case ARBES3Compatibility.GL_COMPRESSED_RGBA8_ETC2_EAC:
+		case ARBES3Compatibility.GL_COMPRESSED_SRGB8_ALPHA8_ETC2_EAC:
+		case ARBES3Compatibility.GL_COMPRESSED_RG11_EAC:
+		case ARBES3Compatibility.GL_COMPRESSED_SIGNED_RG11_EAC:
+			return 16;
+		default:
+			return 0;
+		}
+	}
+
+	private void unstage () {
+		if (source == null) return;
+		source.limit(sourceLimit);
+		source = null;
+	}
+
+	private static int kindOf (Buffer buffer) {
+		if (buffer instanceof ByteBuffer) return BYTE;
+		if (buffer instanceof FloatBuffer) return FLOAT;
+		if (buffer instanceof ShortBuffer) return SHORT;
+		if (buffer instanceof IntBuffer) return INT;
+		if (buffer instanceof CharBuffer) return CHAR;
+		if (buffer instanceof DoubleBuffer) return DOUBLE;
+		if (buffer instanceof LongBuffer) return LONG;
+		throw new GdxRuntimeException("Can't use " + buffer.getClass().getName() + " with this method");
+	}
+
+	/** @return log2 of the element size in bytes */
+	private static int shift (int kind) {
+		switch (kind) {
+		case BYTE:
+			return 0;
+		case SHORT:
+		case CHAR:
+			return 1;
+		case INT:
+		case FLOAT:
+			return 2;
+		default:
+			return 3;
+		}
+	}
+
+	/** Copies the remaining elements into the arena in native order, the position of the data is left unchanged. */
+	private void copyToArena (Buffer data) {
+		int bytes = data.remaining() << shift(kind);
+		ensureArena(bytes);
+		int position = data.position();
+		switch (kind) {
+		case BYTE:
+			arena.put((ByteBuffer)data);
+			break;
+		case SHORT:
+			arenaShorts.clear();
+			arenaShorts.put((ShortBuffer)data);
+			break;
+		case CHAR:
+			arenaChars.clear();
+			arenaChars.put((CharBuffer)data);
+			break;
+		case INT:
+			arenaInts.clear();
+			arenaInts.put((IntBuffer)data);
+			break;
+		case FLOAT:
+			arenaFloats.clear();
+			arenaFloats.put((FloatBuffer)data);
+			break;
+		case LONG:
+			arenaLongs.clear();
+			arenaLongs.put((LongBuffer)data);
+			break;
+		default:
+			arenaDoubles.clear();
+			arenaDoubles.put((DoubleBuffer)data);
+		}
+		data.position(position);
+		arena.position(0).limit(bytes);
+	}
+
+	/** Copies the arena back into the remaining elements of the data, the position of the data is left unchanged. */
+	private void copyFromArena (Buffer data) {
+		int position = data.position();
+		int count = data.remaining();
+		switch (kindOf(data)) {
+		case BYTE:
+			arena.position(0).limit(count);
+			((ByteBuffer)data).put(arena);
+			break;
+		case SHORT:
+			arenaShorts.position(0).limit(count);
+			((ShortBuffer)data).put(arenaShorts);
+			break;
+		case CHAR:
+			arenaChars.position(0).limit(count);
+			((CharBuffer)data).put(arenaChars);
+			break;
+		case INT:
+			arenaInts.position(0).limit(count);
+			((IntBuffer)data).put(arenaInts);
+			break;
+		case FLOAT:
+			arenaFloats.position(0).limit(count);
+			((FloatBuffer)data).put(arenaFloats);
+			break;
+		case LONG:
+			arenaLongs.position(0).limit(count);
+			((LongBuffer)data).put(arenaLongs);
+			break;
+		default:
+			arenaDoubles.position(0).limit(count);
+			((DoubleBuffer)data).put(arenaDoubles);
+		}
+		data.position(position);
+	}
+
+	private void ensureArena (int bytes) {
+		if (arena == null || arena.capacity() < bytes) {
+			int capacity = Math.max(bytes, arena == null ? 4096 : arena.capacity() * 2);
+			// multiple of 8, so every typed view covers the whole arena
+			arena = BufferUtils.createByteBuffer((capacity + 7) & ~7);
+			arenaShorts = arena.asShortBuffer();
+			arenaChars = arena.asCharBuffer();
+			arenaInts = arena.asIntBuffer();
+			arenaFloats = arena.asFloatBuffer();
+			arenaLongs = arena.asLongBuffer();
+			arenaDoubles = arena.asDoubleBuffer();
+		}
+		arena.clear();
+	}
+}
@@ -1,733 +1,1100 @@
-/*******************************************************************************
- * Copyright 2011 See AUTHORS file.
- * 
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- * 
- *   http://www.apache.org/licenses/LICENSE-2.0
- * 
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- ******************************************************************************/
-
-package com.badlogic.gdx.backends.lwjgl.swt;
-
-import java.nio.Buffer;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.nio.DoubleBuffer;
-import java.nio.FloatBuffer;
-import java.nio.IntBuffer;
-import java.nio.ShortBuffer;
-
-import org.lwjgl.BufferUtils;
-import org.lwjgl.opengl.EXTFramebufferObject;
-import org.lwjgl.opengl.GL11;
-import org.lwjgl.opengl.GL13;
-import org.lwjgl.opengl.GL14;
-import org.lwjgl.opengl.GL15;
-import org.lwjgl.opengl.GL20;
-
-import com.badlogic.gdx.graphics.GL10;
-import com.badlogic.gdx.utils.GdxRuntimeException;
-
-/** An implementation of the {@link GL20} interface based on LWJGL. Note that LWJGL shaders and OpenGL ES shaders will not be 100%
- * compatible. Some glGetXXX methods are not implemented.
- * 
- * @author mzechner */
-final class LwjglGL20 implements com.badlogic.gdx.graphics.GL20 {
-	public void glActiveTexture (int texture) {
-		GL13.glActiveTexture(texture);
-	}
-
-	public void glAttachShader (int program, int shader) {
-		GL20.glAttachShader(program, shader);
-	}
-
-	public void glBindAttribLocation (int program, int index, String name) {
-		GL20.glBindAttribLocation(program, index, name);
-	}
-
-	public void glBindBuffer (int target, int buffer) {
-		GL15.glBindBuffer(target, buffer);
-	}
-
-	public void glBindFramebuffer (int target, int framebuffer) {
-		EXTFramebufferObject.glBindFramebufferEXT(target, framebuffer);
-	}
-
-	public void glBindRenderbuffer (int target, int renderbuffer) {
-		EXTFramebufferObject.glBindRenderbufferEXT(target, renderbuffer);
-	}
-
-	public void glBindTexture (int target, int texture) {
-		GL11.glBindTexture(target, texture);
-	}
-
-	public void glBlendColor (float red, float green, float blue, float alpha) {
-		GL14.glBlendColor(red, green, blue, alpha);
-	}
-
-	public void glBlendEquation (int mode) {
-		GL14.glBlendEquation(mode);
-	}
-
-	public void glBlendEquationSeparate (int modeRGB, int modeAlpha) {
-		GL20.glBlendEquationSeparate(modeRGB, modeAlpha);
-	}
-
-	public void glBlendFunc (int sfactor, int dfactor) {
-		GL11.glBlendFunc(sfactor, dfactor);
-	}
-
-	public void glBlendFuncSeparate (int srcRGB, int dstRGB, int srcAlpha, int dstAlpha) {
-		GL14.glBlendFuncSeparate(srcRGB, dstRGB, srcAlpha, dstAlpha);
-	}
-
-	public void glBufferData (int target, int size, Buffer data, int usage) {
-		if (data instanceof ByteBuffer)
-			GL15.glBufferData(target, (ByteBuffer)data, usage);
-		else if (data instanceof IntBuffer)
-			GL15.glBufferData(target, (IntBuffer)data, usage);
-		else if (data instanceof FloatBuffer)
-			GL15.glBufferData(target, (FloatBuffer)data, usage);
-		else if (data instanceof DoubleBuffer)
-			GL15.glBufferData(target, (DoubleBuffer)data, usage);
-		else if (data instanceof ShortBuffer) //
-			GL15.glBufferData(target, (ShortBuffer)data, usage);
-	}
-
-	public void glBufferSubData (int target, int offset, int size, Buffer data) {
-		if (data instanceof ByteBuffer)
-			GL15.glBufferSubData(target, offset, (ByteBuffer)data);
-		else if (data instanceof IntBuffer)
-			GL15.glBufferSubData(target, offset, (IntBuffer)data);
-		else if (data instanceof FloatBuffer)
-			GL15.glBufferSubData(target, offset, (FloatBuffer)data);
-		else if (data instanceof DoubleBuffer)
-			GL15.glBufferSubData(target, offset, (DoubleBuffer)data);
-		else if (data instanceof ShortBuffer) //
-			GL15.glBufferSubData(target, offset, (ShortBuffer)data);
-	}
-
-	public int glCheckFramebufferStatus (int target) {
-		return EXTFramebufferObject.glCheckFramebufferStatusEXT(target);
-	}
-
-	public void glClear (int mask) {
-		GL11.glClear(mask);
-	}
-
-	public void glClearColor (float red, float green, float blue, float alpha) {
-		GL11.glClearColor(red, green, blue, alpha);
-	}
-
-	public void glClearDepthf (float depth) {
-		GL11.glClearDepth(depth);
-	}
-
-	public void glClearStencil (int s) {
-		GL11.glClearStencil(s);
-	}
-
-	public void glColorMask (boolean red, boolean green, boolean blue, boolean alpha) {
-		GL11.glColorMask(red, green, blue, alpha);
-	}
-
-	public void glCompileShader (int shader) {
-		GL20.glCompileShader(shader);
-	}
-
-	public void glCompressedTexImage2D (int target, int level, int internalformat, int width, int height, int border,
-		int imageSize, Buffer data) {
-		throw new GdxRuntimeException("not implemented");
-	}
-
-	public void glCompressedTexSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height, int format,
-		int imageSize, Buffer data) {
-		throw new GdxRuntimeException("not implemented");
-	}
-
-	public void glCopyTexImage2D (int target, int level, int internalformat, int x, int y, int width, int height, int border) {
-		GL11.glCopyTexImage2D(target, level, internalformat, x, y, width, height, border);
-	}
-
-	public void glCopyTexSubImage2D (int target, int level, int xoffset, int yoffset, int x, int y, int width, int height) {
-		GL11.glCopyTexSubImage2D(target, level, xoffset, yoffset, x, y, width, height);
-	}
-
-	public int glCreateProgram () {
-		return GL20.glCreateProgram();
-	}
-
-	public int glCreateShader (int type) {
-		return GL20.glCreateShader(type);
-	}
-
-	public void glCullFace (int mode) {
-		GL11.glCullFace(mode);
-	}
-
-	public void glDeleteBuffers (int n, IntBuffer buffers) {
-		GL15.glDeleteBuffers(buffers);
-	}
-
-	public void glDeleteFramebuffers (int n, IntBuffer framebuffers) {
-		EXTFramebufferObject.glDeleteFramebuffersEXT(framebuffers);
-	}
-
-	public void glDeleteProgram (int program) {
-		GL20.glDeleteProgram(program);
-	}
-
-	public void glDeleteRenderbuffers (int n, IntBuffer renderbuffers) {
-		EXTFramebufferObject.glDeleteRenderbuffersEXT(renderbuffers);
-	}
-
-	public void glDeleteShader (int shader) {
-		GL20.glDeleteShader(shader);
-	}
-
-	public void glDeleteTextures (int n, IntBuffer textures) {
-		GL11.glDeleteTextures(textures);
-	}
-
-	public void glDepthFunc (int func) {
-		GL11.glDepthFunc(func);
-	}
-
-	public void glDepthMask (boolean flag) {
-		GL11.glDepthMask(flag);
-	}
-
-	public void glDepthRangef (float zNear, float zFar) {
-		GL11.glDepthRange(zNear, zFar);
-	}
-
-	public void glDetachShader (int program, int shader) {
-		GL20.glDetachShader(program, shader);
-	}
-
-	public void glDisable (int cap) {
-		GL11.glDisable(cap);
-	}
-
-	public void glDisableVertexAttribArray (int index) {
-		GL20.glDisableVertexAttribArray(index);
-	}
-
-	public void glDrawArrays (int mode, int first, int count) {
-		GL11.glDrawArrays(mode, first, count);
-	}
-
-	public void glDrawElements (int mode, int count, int type, Buffer indices) {
-		if (indices instanceof ShortBuffer && type == GL10.GL_UNSIGNED_SHORT)
-			GL11.glDrawElements(mode, (ShortBuffer)indices);
-		else if (indices instanceof ByteBuffer && type == GL10.GL_UNSIGNED_SHORT)
-			GL11.glDrawElements(mode, ((ByteBuffer)indices).asShortBuffer()); // FIXME yay...
-		else if (indices instanceof ByteBuffer && type == GL10.GL_UNSIGNED_BYTE)
-			GL11.glDrawElements(mode, (ByteBuffer)indices);
-		else
-			throw new GdxRuntimeException("Can't use " + indices.getClass().getName()
-				+ " with this method. Use ShortBuffer or ByteBuffer instead. Blame LWJGL");
-	}
-
-	public void glEnable (int cap) {
-		GL11.glEnable(cap);
-	}
-
-	public void glEnableVertexAttribArray (int index) {
-		GL20.glEnableVertexAttribArray(index);
-	}
-
-	public void glFinish () {
-		GL11.glFinish();
-	}
-
-	public void glFlush () {
-		GL11.glFlush();
-	}
-
-	public void glFramebufferRenderbuffer (int target, int attachment, int renderbuffertarget, int renderbuffer) {
-		EXTFramebufferObject.glFramebufferRenderbufferEXT(target, attachment, renderbuffertarget, renderbuffer);
-	}
-
-	public void glFramebufferTexture2D (int target, int attachment, int textarget, int texture, int level) {
-		EXTFramebufferObject.glFramebufferTexture2DEXT(target, attachment, textarget, texture, level);
-	}
-
-	public void glFrontFace (int mode) {
-		GL11.glFrontFace(mode);
-	}
-
-	public void glGenBuffers (int n, IntBuffer buffers) {
-		GL15.glGenBuffers(buffers);
-	}
-
-	public void glGenFramebuffers (int n, IntBuffer framebuffers) {
-		EXTFramebufferObject.glGenFramebuffersEXT(framebuffers);
-	}
-
-	public void glGenRenderbuffers (int n, IntBuffer renderbuffers) {
-		EXTFramebufferObject.glGenRenderbuffersEXT(renderbuffers);
-	}
-
-	public void glGenTextures (int n, IntBuffer textures) {
-		GL11.glGenTextures(textures);
-	}
-
-	public void glGenerateMipmap (int target) {
-		EXTFramebufferObject.glGenerateMipmapEXT(target);
-	}
-
-	public String glGetActiveAttrib (int program, int index, IntBuffer size, Buffer type) {
-		// FIXME this is less than ideal of course...
-		IntBuffer typeTmp = BufferUtils.createIntBuffer(2);
-		String name = GL20.glGetActiveAttrib(program, index, 256, typeTmp);
-		if (type instanceof IntBuffer) ((IntBuffer)type).put(typeTmp.get(0));
-		return name;
-	}
-
-	public String glGetActiveUniform (int program, int index, IntBuffer size, Buffer type) {
-		// FIXME this is less than ideal of course...
-		IntBuffer typeTmp = BufferUtils.createIntBuffer(2);
-		String name = GL20.glGetActiveUniform(program, index, 256, typeTmp);
-		if (type instanceof IntBuffer) ((IntBuffer)type).put(typeTmp.get(0));
-		return name;
-	}
-
-	public void glGetAttachedShaders (int program, int maxcount, Buffer count, IntBuffer shaders) {
-		GL20.glGetAttachedShaders(program, (IntBuffer)count, shaders);
-	}
-
-	public int glGetAttribLocation (int program, String name) {
-		return GL20.glGetAttribLocation(program, name);
-	}
-
-	public void glGetBooleanv (int pname, Buffer params) {
-		GL11.glGetBoolean(pname, (ByteBuffer)params);
-	}
-
-	public void glGetBufferParameteriv (int target, int pname, IntBuffer params) {
-		GL15.glGetBufferParameter(target, pname, params);
-	}
-
-	public int glGetError () {
-		return GL11.glGetError();
-	}
-
-	public void glGetFloatv (int pname, FloatBuffer params) {
-		GL11.glGetFloat(pname, params);
-	}
-
-	public void glGetFramebufferAttachmentParameteriv (int target, int attachment, int pname, IntBuffer params) {
-		EXTFramebufferObject.glGetFramebufferAttachmentParameterEXT(target, attachment, pname, params);
-	}
-
-	public void glGetIntegerv (int pname, IntBuffer params) {
-		GL11.glGetInteger(pname, params);
-	}
-
-	public String glGetProgramInfoLog (int program) {
-		ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 10);
-		buffer.order(ByteOrder.nativeOrder());
-		ByteBuffer tmp = ByteBuffer.allocateDirect(4);
-		tmp.order(ByteOrder.nativeOrder());
-		IntBuffer intBuffer = tmp.asIntBuffer();
-
-		GL20.glGetProgramInfoLog(program, intBuffer, buffer);
-		int numBytes = intBuffer.get(0);
-		byte[] bytes = new byte[numBytes];
-		buffer.get(bytes);
-		return new String(bytes);
-	}
-
-	public void glGetProgramiv (int program, int pname, IntBuffer params) {
-		GL20.glGetProgram(program, pname, params);
-	}
-
-	public void glGetRenderbufferParameteriv (int target, int pname, IntBuffer params) {
-		EXTFramebufferObject.glGetRenderbufferParameterEXT(target, pname, params);
-	}
-
-	public String glGetShaderInfoLog (int shader) {
-		ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 10);
-		buffer.order(ByteOrder.nativeOrder());
-		ByteBuffer tmp = ByteBuffer.allocateDirect(4);
-		tmp.order(ByteOrder.nativeOrder());
-		IntBuffer intBuffer = tmp.asIntBuffer();
-
-		GL20.glGetShaderInfoLog(shader, intBuffer, buffer);
-		int numBytes = intBuffer.get(0);
-		byte[] bytes = new byte[numBytes];
-		buffer.get(bytes);
-		return new String(bytes);
-	}
-
-	public void glGetShaderPrecisionFormat (int shadertype, int precisiontype, IntBuffer range, IntBuffer precision) {
-		throw new UnsupportedOperationException("unsupported, won't implement");
-	}
-
-	public void glGetShaderSource (int shader, int bufsize, Buffer length, String source) {
-		throw new UnsupportedOperationException("unsupported, won't implement.");
-	}
-
-	public void glGetShaderiv (int shader, int pname, IntBuffer params) {
-		GL20.glGetShader(shader, pname, params);
-	}
-
-	public String glGetString (int name) {
-		return GL11.glGetString(name);
-	}
-
-	public void glGetTexParameterfv (int target, int pname, FloatBuffer params) {
-		GL11.glGetTexParameter(target, pname, params);
-	}
-
-	public void glGetTexParameteriv (int target, int pname, IntBuffer params) {
-		GL11.glGetTexParameter(target, pname, params);
-	}
-
-	public int glGetUniformLocation (int program, String name) {
-		return GL20.glGetUniformLocation(program, name);
-	}
-
-	public void glGetUniformfv (int program, int location, FloatBuffer params) {
-		GL20.glGetUniform(program, location, params);
-	}
-
-	public void glGetUniformiv (int program, int location, IntBuffer params) {
-		GL20.glGetUniform(program, location, params);
-	}
-
-	public void glGetVertexAttribPointerv (int index, int pname, Buffer pointer) {
-		throw new UnsupportedOperationException("unsupported, won't implement");
-	}
-
-	public void glGetVertexAttribfv (int index, int pname, FloatBuffer params) {
-		GL20.glGetVertexAttrib(index, pname, params);
-	}
-
-	public void glGetVertexAttribiv (int index, int pname, IntBuffer params) {
-		GL20.glGetVertexAttrib(index, pname, params);
-	}
-
-	public void glHint (int target, int mode) {
-		GL11.glHint(target, mode);
-	}
-
-	public boolean glIsBuffer (int buffer) {
-		return GL15.glIsBuffer(buffer);
-	}
-
-	public boolean glIsEnabled (int cap) {
-		return GL11.glIsEnabled(cap);
-	}
-
-	public boolean glIsFramebuffer (int framebuffer) {
-		return EXTFramebufferObject.glIsFramebufferEXT(framebuffer);
-	}
-
-	public boolean glIsProgram (int program) {
-		return GL20.glIsProgram(program);
-	}
-
-	public boolean glIsRenderbuffer (int renderbuffer) {
-		return EXTFramebufferObject.glIsRenderbufferEXT(renderbuffer);
-	}
-
-	public boolean glIsShader (int shader) {
-		return GL20.glIsShader(shader);
-	}
-
-	public boolean glIsTexture (int texture) {
-		return GL11.glIsTexture(texture);
-	}
-
-	public void glLineWidth (float width) {
-		GL11.glLineWidth(width);
-	}
-
-	public void glLinkProgram (int program) {
-		GL20.glLinkProgram(program);
-	}
-
-	public void glPixelStorei (int pname, int param) {
-		GL11.glPixelStorei(pname, param);
-	}
-
-	public void glPolygonOffset (float factor, float units) {
-		GL11.glPolygonOffset(factor, units);
-	}
-
-	public void glReadPixels (int x, int y, int width, int height, int format, int type, Buffer pixels) {
-		if (pixels instanceof ByteBuffer)
-			GL11.glReadPixels(x, y, width, height, format, type, (ByteBuffer)pixels);
-		else if (pixels instanceof ShortBuffer)
-			GL11.glReadPixels(x, y, width, height, format, type, (ShortBuffer)pixels);
-		else if (pixels instanceof IntBuffer)
-			GL11.glReadPixels(x, y, width, height, format, type, (IntBuffer)pixels);
-		else if (pixels instanceof FloatBuffer)
-			GL11.glReadPixels(x, y, width, height, format, type, (FloatBuffer)pixels);
-		else
-			throw new GdxRuntimeException("Can't use " + pixels.getClass().getName()
-				+ " with this method. Use ByteBuffer, ShortBuffer, IntBuffer or FloatBuffer instead. Blame LWJGL");
-	}
-
-	public void glReleaseShaderCompiler () {
-		// nothing to do here
-	}
-
-	public void glRenderbufferStorage (int target, int internalformat, int width, int height) {
-		EXTFramebufferObject.glRenderbufferStorageEXT(target, internalformat, width, height);
-	}
-
-	public void glSampleCoverage (float value, boolean invert) {
-		GL13.glSampleCoverage(value, invert);
-	}
-
-	public void glScissor (int x, int y, int width, int height) {
-		GL11.glScissor(x, y, width, height);
-	}
-
-	public void glShaderBinary (int n, IntBuffer shaders, int binaryformat, Buffer binary, int length) {
-		throw new UnsupportedOperationException("unsupported, won't implement");
-	}
-
-	public void glShaderSource (int shader, String string) {
-		GL20.glShaderSource(shader, string);
-	}
-
-	public void glStencilFunc (int func, int ref, int mask) {
-		GL11.glStencilFunc(func, ref, mask);
-	}
-
-	public void glStencilFuncSeparate (int face, int func, int ref, int mask) {
-		GL20.glStencilFuncSeparate(face, func, ref, mask);
-	}
-
-	public void glStencilMask (int mask) {
-		GL11.glStencilMask(mask);
-	}
-
-	public void glStencilMaskSeparate (int face, int mask) {
-		GL20.glStencilMaskSeparate(face, mask);
-	}
-
-	public void glStencilOp (int fail, int zfail, int zpass) {
-		GL11.glStencilOp(fail, zfail, zpass);
-	}
-
-	public void glStencilOpSeparate (int face, int fail, int zfail, int zpass) {
-		GL20.glStencilOpSeparate(face, fail, zfail, zpass);
-	}
-
-	public void glTexImage2D (int target, int level, int internalformat, int width, int height, int border, int format, int type,
-		Buffer pixels) {
-		if (pixels == null)
-			GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, (ByteBuffer)null);
-		else if (pixels instanceof ByteBuffer)
-			GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, (ByteBuffer)pixels);
-		else if (pixels instanceof ShortBuffer)
-			GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, (ShortBuffer)pixels);
-		else if (pixels instanceof IntBuffer)
-			GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, (IntBuffer)pixels);
-		else if (pixels instanceof FloatBuffer)
-			GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, (FloatBuffer)pixels);
-		else if (pixels instanceof DoubleBuffer)
-			GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, (DoubleBuffer)pixels);
-		else
-			throw new GdxRuntimeException("Can't use " + pixels.getClass().getName()
-				+ " with this method. Use ByteBuffer, ShortBuffer, IntBuffer, FloatBuffer or DoubleBuffer instead. Blame LWJGL");
-	}
-
-	public void glTexParameterf (int target, int pname, float param) {
-		GL11.glTexParameterf(target, pname, param);
-	}
-
-	public void glTexParameterfv (int target, int pname, FloatBuffer params) {
-		GL11.glTexParameter(target, pname, params);
-	}
-
-	public void glTexParameteri (int target, int pname, int param) {
-		GL11.glTexParameteri(target, pname, param);
-	}
-
-	public void glTexParameteriv (int target, int pname, IntBuffer params) {
-		GL11.glTexParameter(target, pname, params);
-	}
-
-	public void glTexSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height, int format, int type,
-		Buffer pixels) {
-		if (pixels instanceof ByteBuffer)
-			GL11.glTexSubImage2D(target, level, xoffset, yoffset, width, height, format, type, (ByteBuffer)pixels);
-		else if (pixels instanceof ShortBuffer)
-			GL11.glTexSubImage2D(target, level, xoffset, yoffset, width, height, format, type, (ShortBuffer)pixels);
-		else if (pixels instanceof IntBuffer)
-			GL11.glTexSubImage2D(target, level, xoffset, yoffset, width, height, format, type, (IntBuffer)pixels);
-		else if (pixels instanceof FloatBuffer)
-			GL11.glTexSubImage2D(target, level, xoffset, yoffset, width, height, format, type, (FloatBuffer)pixels);
-		else if (pixels instanceof DoubleBuffer)
-			GL11.glTexSubImage2D(target, level, xoffset, yoffset, width, height, format, type, (DoubleBuffer)pixels);
-		else
-			throw new GdxRuntimeException("Can't use " + pixels.getClass().getName()
-				+ " with this method. Use ByteBuffer, ShortBuffer, IntBuffer, FloatBuffer or DoubleBuffer instead. Blame LWJGL");
-	}
-
-	public void glUniform1f (int location, float x) {
-		GL20.glUniform1f(location, x);
-	}
-
-	public void glUniform1fv (int location, int count, FloatBuffer v) {
-		GL20.glUniform1(location, v);
-	}
-
-	public void glUniform1i (int location, int x) {
-		GL20.glUniform1i(location, x);
-	}
-
-	public void glUniform1iv (int location, int count, IntBuffer v) {
-		GL20.glUniform1(location, v);
-	}
-
-	public void glUniform2f (int location, float x, float y) {
-		GL20.glUniform2f(location, x, y);
-	}
-
-	public void glUniform2fv (int location, int count, FloatBuffer v) {
-		GL20.glUniform2(location, v);
-	}
-
-	public void glUniform2i (int location, int x, int y) {
-		GL20.glUniform2i(location, x, y);
-	}
-
-	public void glUniform2iv (int location, int count, IntBuffer v) {
-		GL20.glUniform2(location, v);
-	}
-
-	public void glUniform3f (int location, float x, float y, float z) {
-		GL20.glUniform3f(location, x, y, z);
-	}
-
-	public void glUniform3fv (int location, int count, FloatBuffer v) {
-		GL20.glUniform3(location, v);
-	}
-
-	public void glUniform3i (int location, int x, int y, int z) {
-		GL20.glUniform3i(location, x, y, z);
-	}
-
-	public void glUniform3iv (int location, int count, IntBuffer v) {
-		GL20.glUniform3(location, v);
-	}
-
-	public void glUniform4f (int location, float x, float y, float z, float w) {
-		GL20.glUniform4f(location, x, y, z, w);
-	}
-
-	public void glUniform4fv (int location, int count, FloatBuffer v) {
-		GL20.glUniform4(location, v);
-	}
-
-	public void glUniform4i (int location, int x, int y, int z, int w) {
-		GL20.glUniform4i(location, x, y, z, w);
-	}
-
-	public void glUniform4iv (int location, int count, IntBuffer v) {
-		GL20.glUniform4(location, v);
-	}
-
-	public void glUniformMatrix2fv (int location, int count, boolean transpose, FloatBuffer value) {
-		GL20.glUniformMatrix2(location, transpose, value);
-	}
-
-	public void glUniformMatrix3fv (int location, int count, boolean transpose, FloatBuffer value) {
-		GL20.glUniformMatrix3(location, transpose, value);
-	}
-
-	public void glUniformMatrix4fv (int location, int count, boolean transpose, FloatBuffer value) {
-		GL20.glUniformMatrix4(location, transpose, value);
-	}
-
-	public void glUseProgram (int program) {
-		GL20.glUseProgram(program);
-	}
-
-	public void glValidateProgram (int program) {
-		GL20.glValidateProgram(program);
-	}
-
-	public void glVertexAttrib1f (int indx, float x) {
-		GL20.glVertexAttrib1f(indx, x);
-	}
-
-	public void glVertexAttrib1fv (int indx, FloatBuffer values) {
-		GL20.glVertexAttrib1f(indx, values.get());
-	}
-
-	public void glVertexAttrib2f (int indx, float x, float y) {
-		GL20.glVertexAttrib2f(indx, x, y);
-	}
-
-	public void glVertexAttrib2fv (int indx, FloatBuffer values) {
-		GL20.glVertexAttrib2f(indx, values.get(), values.get());
-	}
-
-	public void glVertexAttrib3f (int indx, float x, float y, float z) {
-		GL20.glVertexAttrib3f(indx, x, y, z);
-	}
-
-	public void glVertexAttrib3fv (int indx, FloatBuffer values) {
-		GL20.glVertexAttrib3f(indx, values.get(), values.get(), values.get());
-	}
-
-	public void glVertexAttrib4f (int indx, float x, float y, float z, float w) {
-		GL20.glVertexAttrib4f(indx, x, y, z, w);
-	}
-
-	public void glVertexAttrib4fv (int indx, FloatBuffer values) {
-		GL20.glVertexAttrib4f(indx, values.get(), values.get(), values.get(), values.get());
-	}
-
-	public void glVertexAttribPointer (int indx, int size, int type, boolean normalized, int stride, Buffer buffer) {
-		if (buffer instanceof ByteBuffer) {
-			if (type == GL_BYTE)
-				GL20.glVertexAttribPointer(indx, size, false, normalized, stride, (ByteBuffer)buffer);
-			else if (type == GL_UNSIGNED_BYTE)
-				GL20.glVertexAttribPointer(indx, size, true, normalized, stride, (ByteBuffer)buffer);
-			else if (type == GL_SHORT)
-				GL20.glVertexAttribPointer(indx, size, false, normalized, stride, ((ByteBuffer)buffer).asShortBuffer());
-			else if (type == GL_UNSIGNED_SHORT)
-				GL20.glVertexAttribPointer(indx, size, true, normalized, stride, ((ByteBuffer)buffer).asShortBuffer());
-			else if (type == GL_FLOAT)
-				GL20.glVertexAttribPointer(indx, size, normalized, stride, ((ByteBuffer)buffer).asFloatBuffer());
-			else
-				throw new GdxRuntimeException(
-					"Can't use "
-						+ buffer.getClass().getName()
-						+ " with type "
-						+ type
-						+ " with this method. Use ByteBuffer and one of GL_BYTE, GL_UNSIGNED_BYTE, GL_SHORT, GL_UNSIGNED_SHORT or GL_FLOAT for type. Blame LWJGL");
-		} else
-			throw new GdxRuntimeException("Can't use " + buffer.getClass().getName()
-				+ " with this method. Use ByteBuffer instead. Blame LWJGL");
-	}
-
-	public void glViewport (int x, int y, int width, int height) {
-		GL11.glViewport(x, y, width, height);
-	}
-
-	public void glDrawElements (int mode, int count, int type, int indices) {
-		GL11.glDrawElements(mode, count, type, indices);
-	}
-
-	public void glVertexAttribPointer (int indx, int size, int type, boolean normalized, int stride, int ptr) {
-		GL20.glVertexAttribPointer(indx, size, type, normalized, stride, ptr);
-	}
-
-}
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.EXTFramebufferObject;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL13;
+import org.lwjgl.opengl.GL14;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL20;
+
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/** An implementation of the {@link GL20} interface based on LWJGL. Note that LWJGL shaders and OpenGL ES shaders will not be 100%
+ * compatible. Some glGetXXX methods are not implemented.
+ * 
+ * @author mzechner */
+final class LwjglGL20 implements com.badlogic.gdx.graphics.GL20 {
+	/** framebuffer bound instead of 0, set when rendering goes into a framebuffer object of {@link SwtLwjglRenderThread} */
+	int defaultFramebuffer = 0;
+
+	private static final int TEXTURE_UNITS = 32;
+	private static final int UNKNOWN = -1;
+	/** absent uniform location in the cache, -1 is a valid result meaning there is no such uniform */
+	private static final int NO_LOCATION = -2;
+
+	/** whether calls which would not change the state are filtered, see {@link #setStateCache(boolean)} */
+	private boolean stateCache = false;
+	private long filteredCalls = 0;
+	/** whether programs are shared with other contexts, see {@link #setSharedObjects(boolean)} */
+	private boolean sharedObjects = false;
+	private int activeTexture;
+	private final int[] boundTextures2D = new int[TEXTURE_UNITS];
+	private final int[] boundTexturesCube = new int[TEXTURE_UNITS];
+	private int program;
+	private int arrayBuffer, elementArrayBuffer;
+	private int blendSrc, blendDst;
+	/** tracked capabilities in the order of {@link #capIndex(int)}, UNKNOWN, 0 for disabled or 1 for enabled */
+	private final int[] caps = new int[9];
+	private int depthMask;
+	private int viewportX, viewportY, viewportWidth, viewportHeight;
+
+	/** uniform locations and last uploaded uniform values of one program, values are compared bit by bit */
+	private static final class ProgramUniforms {
+		final int program;
+		final ObjectIntMap<String> locations = new ObjectIntMap<String>();
+		final IntMap<int[]> floatBits = new IntMap<int[]>();
+		final IntMap<int[]> ints = new IntMap<int[]>();
+
+		ProgramUniforms (int program) {
+			this.program = program;
+		}
+	}
+
+	private final IntMap<ProgramUniforms> programUniforms = new IntMap<ProgramUniforms>();
+
+	// scratch buffers of the info log and active variable queries, like the context the instance is used by one thread only
+	private final IntBuffer scratchInts = BufferUtils.createIntBuffer(16);
+	private ByteBuffer logBytes = BufferUtils.createByteBuffer(1024);
+	private CharBuffer logChars = CharBuffer.allocate(1024);
+	private final CharsetDecoder logDecoder = Charset.defaultCharset().newDecoder()
+		.onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+	/** uniforms of the program in use, null when unknown */
+	private ProgramUniforms uniforms;
+	private final LwjglBuffers buffers = new LwjglBuffers();
+
+	LwjglGL20 () {
+		invalidateState();
+	}
+
+	/** Enables the shadow state. Binds, glUseProgram, glBlendFunc, glEnable/glDisable of common capabilities, glDepthMask and
+	 * glViewport are then skipped when they would set what is already set. Only valid while all GL calls on the context go through
+	 * this object. */
+	void setStateCache (boolean enabled) {
+		stateCache = enabled;
+		invalidateState();
+	}
+
+	boolean isStateCache () {
+		return stateCache;
+	}
+
+	/** Marks the context as sharing its objects with other contexts. Another context may delete or relink a program, so the uniform
+	 * locations are then forgotten by {@link #invalidateState()} too. */
+	void setSharedObjects (boolean shared) {
+		sharedObjects = shared;
+		invalidateState();
+	}
+
+	/** Forgets the shadow state, the next call of every kind reaches the driver. Called whenever the context may have been changed
+	 * behind this object, after a context switch for example. */
+	void invalidateState () {
+		activeTexture = UNKNOWN;
+		for (int i = 0; i < TEXTURE_UNITS; i++) {
+			boundTextures2D[i] = UNKNOWN;
+			boundTexturesCube[i] = UNKNOWN;
+		}
+		program = UNKNOWN;
+		arrayBuffer = UNKNOWN;
+		elementArrayBuffer = UNKNOWN;
+		blendSrc = UNKNOWN;
+		blendDst = UNKNOWN;
+		for (int i = 0; i < caps.length; i++)
+			caps[i] = UNKNOWN;
+		depthMask = UNKNOWN;
+		viewportX = viewportY = viewportWidth = viewportHeight = UNKNOWN;
+		if (sharedObjects) {
+			// a context of the group may have deleted or relinked any program
+			programUniforms.clear();
+		} else {
+			// locations stay valid until the program is linked again, values and the program in use may have changed
+			for (ProgramUniforms program : programUniforms.values()) {
+				program.floatBits.clear();
+				program.ints.clear();
+			}
+		}
+		uniforms = null;
+	}
+
+	/** @return number of calls skipped by the shadow state so far */
+	long getFilteredCalls () {
+		return filteredCalls;
+	}
+
+	private static int capIndex (int cap) {
+		switch (cap) {
+		case GL_BLEND:
+			return 0;
+		case GL_DEPTH_TEST:
+			return 1;
+		case GL_CULL_FACE:
+			return 2;
+		case GL_SCISSOR_TEST:
+			return 3;
+		case GL_STENCIL_TEST:
+			return 4;
+		case GL_POLYGON_OFFSET_FILL:
+			return 5;
+		case GL_DITHER:
+			return 6;
+		case GL_SAMPLE_ALPHA_TO_COVERAGE:
+			return 7;
+		case GL_SAMPLE_COVERAGE:
+			return 8;
+		default:
+			return -1;
+		}
+	}
+
+	/** @return bound texture slot of the target on the active unit, null when the target or the unit is not tracked */
+	private int[] boundTextures (int target) {
+		if (activeTexture < 0 || activeTexture >= TEXTURE_UNITS) return null;
+		if (target == GL_TEXTURE_2D) return boundTextures2D;
+		if (target == GL_TEXTURE_CUBE_MAP) return boundTexturesCube;
+		return null;
+	}
+
+	private void forgetTexture (int texture) {
+		for (int i = 0; i < TEXTURE_UNITS; i++) {
+			if (boundTextures2D[i] == texture) boundTextures2D[i] = UNKNOWN;
+			if (boundTexturesCube[i] == texture) boundTexturesCube[i] = UNKNOWN;
+		}
+	}
+
+	private ProgramUniforms programUniforms (int program) {
+		ProgramUniforms result = programUniforms.get(program);
+		if (result == null) {
+			result = new ProgramUniforms(program);
+			programUniforms.put(program, result);
+		}
+		return result;
+	}
+
+	/** @return whether the uniform of the program in use holds exactly these values, remembers them otherwise */
+	private boolean sameFloats (int location, int n, float x, float y, float z, float w) {
+		if (!stateCache || uniforms == null || location < 0) return false;
+		int[] values = uniforms.floatBits.get(location);
+		int bx = Float.floatToRawIntBits(x), by = Float.floatToRawIntBits(y);
+		int bz = Float.floatToRawIntBits(z), bw = Float.floatToRawIntBits(w);
+		if (values != null && values.length == n) {
+			if (values[0] == bx && (n < 2 || values[1] == by) && (n < 3 || values[2] == bz) && (n < 4 || values[3] == bw)) {
+				filteredCalls++;
+				return true;
+			}
+		} else {
+			values = new int[n];
+			uniforms.floatBits.put(location, values);
+		}
+		values[0] = bx;
+		if (n > 1) values[1] = by;
+		if (n > 2) values[2] = bz;
+		if (n > 3) values[3] = bw;
+		return false;
+	}
+
+	/** Arrays of more than one element of the given size are not compared, values cached for their elements are forgotten.
+	 * @return whether the uniform of the program in use holds exactly these values, remembers them otherwise */
+	private boolean sameFloats (int location, FloatBuffer v, int size) {
+		if (!stateCache || uniforms == null || location < 0) return false;
+		int n = v.remaining(), position = v.position();
+		if (n > size) {
+			// elements follow the location of the first one, values cached for them are stale now
+			for (int i = 0; i * size < n; i++)
+				uniforms.floatBits.remove(location + i);
+			return false;
+		}
+		int[] values = uniforms.floatBits.get(location);
+		if (values != null && values.length == n) {
+			int i = 0;
+			while (i < n && values[i] == Float.floatToRawIntBits(v.get(position + i)))
+				i++;
+			if (i == n) {
+				filteredCalls++;
+				return true;
+			}
+		} else {
+			values = new int[n];
+			uniforms.floatBits.put(location, values);
+		}
+		for (int i = 0; i < n; i++)
+			values[i] = Float.floatToRawIntBits(v.get(position + i));
+		return false;
+	}
+
+	private boolean sameInts (int location, int n, int x, int y, int z, int w) {
+		if (!stateCache || uniforms == null || location < 0) return false;
+		int[] values = uniforms.ints.get(location);
+		if (values != null && values.length == n) {
+			if (values[0] == x && (n < 2 || values[1] == y) && (n < 3 || values[2] == z) && (n < 4 || values[3] == w)) {
+				filteredCalls++;
+				return true;
+			}
+		} else {
+			values = new int[n];
+			uniforms.ints.put(location, values);
+		}
+		values[0] = x;
+		if (n > 1) values[1] = y;
+		if (n > 2) values[2] = z;
+		if (n > 3) values[3] = w;
+		return false;
+	}
+
+	private boolean sameInts (int location, IntBuffer v, int size) {
+		if (!stateCache || uniforms == null || location < 0) return false;
+		int n = v.remaining(), position = v.position();
+		if (n > size) {
+			for (int i = 0; i * size < n; i++)
+				uniforms.ints.remove(location + i);
+			return false;
+		}
+		int[] values = uniforms.ints.get(location);
+		if (values != null && values.length == n) {
+			int i = 0;
+			while (i < n && values[i] == v.get(position + i))
+				i++;
+			if (i == n) {
+				filteredCalls++;
+				return true;
+			}
+		} else {
+			values = new int[n];
+			uniforms.ints.put(location, values);
+		}
+		for (int i = 0; i < n; i++)
+			values[i] = v.get(position + i);
+		return false;
+	}
+
+	private void forgetBuffer (int buffer) {
+		if (arrayBuffer == buffer) arrayBuffer = UNKNOWN;
+		if (elementArrayBuffer == buffer) elementArrayBuffer = UNKNOWN;
+	}
+
+	public void glActiveTexture (int texture) {
+		if (stateCache) {
+			int unit = texture - GL_TEXTURE0;
+			if (unit == activeTexture) {
+				filteredCalls++;
+				return;
+			}
+			activeTexture = unit;
+		}
+		GL13.glActiveTexture(texture);
+	}
+
+	public void glAttachShader (int program, int shader) {
+		GL20.glAttachShader(program, shader);
+	}
+
+	public void glBindAttribLocation (int program, int index, String name) {
+		GL20.glBindAttribLocation(program, index, name);
+	}
+
+	public void glBindBuffer (int target, int buffer) {
+		if (stateCache) {
+			if (target == GL_ARRAY_BUFFER) {
+				if (arrayBuffer == buffer) {
+					filteredCalls++;
+					return;
+				}
+				arrayBuffer = buffer;
+			} else if (target == GL_ELEMENT_ARRAY_BUFFER) {
+				if (elementArrayBuffer == buffer) {
+					filteredCalls++;
+					return;
+				}
+				elementArrayBuffer = buffer;
+			}
+		}
+		GL15.glBindBuffer(target, buffer);
+	}
+
+	public void glBindFramebuffer (int target, int framebuffer) {
+		if (framebuffer == 0) framebuffer = defaultFramebuffer;
+		EXTFramebufferObject.glBindFramebufferEXT(target, framebuffer);
+	}
+
+	public void glBindRenderbuffer (int target, int renderbuffer) {
+		EXTFramebufferObject.glBindRenderbufferEXT(target, renderbuffer);
+	}
+
+	public void glBindTexture (int target, int texture) {
+		if (stateCache) {
+			int[] bound = boundTextures(target);
+			if (bound != null) {
+				if (bound[activeTexture] == texture) {
+					filteredCalls++;
+					return;
+				}
+				bound[activeTexture] = texture;
+			}
+		}
+		GL11.glBindTexture(target, texture);
+	}
+
+	public void glBlendColor (float red, float green, float blue, float alpha) {
+		GL14.glBlendColor(red, green, blue, alpha);
+	}
+
+	public void glBlendEquation (int mode) {
+		GL14.glBlendEquation(mode);
+	}
+
+	public void glBlendEquationSeparate (int modeRGB, int modeAlpha) {
+		GL20.glBlendEquationSeparate(modeRGB, modeAlpha);
+	}
+
+	public void glBlendFunc (int sfactor, int dfactor) {
+		if (stateCache) {
+			if (blendSrc == sfactor && blendDst == dfactor) {
+				filteredCalls++;
+				return;
+			}
+			blendSrc = sfactor;
+			blendDst = dfactor;
+		}
+		GL11.glBlendFunc(sfactor, dfactor);
+	}
+
+	public void glBlendFuncSeparate (int srcRGB, int dstRGB, int srcAlpha, int dstAlpha) {
+		blendSrc = blendDst = UNKNOWN;
+		GL14.glBlendFuncSeparate(srcRGB, dstRGB, srcAlpha, dstAlpha);
+	}
+
+	public void glBufferData (int target, int size, Buffer data, int usage) {
+		buffers.bufferData(target, size, data, usage);
+	}
+
+	public void glBufferSubData (int target, int offset, int size, Buffer data) {
+		buffers.bufferSubData(target, offset, size, data);
+	}
+
+	public int glCheckFramebufferStatus (int target) {
+		return EXTFramebufferObject.glCheckFramebufferStatusEXT(target);
+	}
+
+	public void glClear (int mask) {
+		GL11.glClear(mask);
+	}
+
+	public void glClearColor (float red, float green, float blue, float alpha) {
+		GL11.glClearColor(red, green, blue, alpha);
+	}
+
+	public void glClearDepthf (float depth) {
+		GL11.glClearDepth(depth);
+	}
+
+	public void glClearStencil (int s) {
+		GL11.glClearStencil(s);
+	}
+
+	public void glColorMask (boolean red, boolean green, boolean blue, boolean alpha) {
+		GL11.glColorMask(red, green, blue, alpha);
+	}
+
+	public void glCompileShader (int shader) {
+		GL20.glCompileShader(shader);
+	}
+
+	public void glCompressedTexImage2D (int target, int level, int internalformat, int width, int height, int border,
+		int imageSize, Buffer data) {
+		buffers.compressedTexImage2D(target, level, internalformat, width, height, border, imageSize, data);
+	}
+
+	public void glCompressedTexSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height, int format,
+		int imageSize, Buffer data) {
+		buffers.compressedTexSubImage2D(target, level, xoffset, yoffset, width, height, format, imageSize, data);
+	}
+
+	public void glCopyTexImage2D (int target, int level, int internalformat, int x, int y, int width, int height, int border) {
+		GL11.glCopyTexImage2D(target, level, internalformat, x, y, width, height, border);
+	}
+
+	public void glCopyTexSubImage2D (int target, int level, int xoffset, int yoffset, int x, int y, int width, int height) {
+		GL11.glCopyTexSubImage2D(target, level, xoffset, yoffset, x, y, width, height);
+	}
+
+	public int glCreateProgram () {
+		return GL20.glCreateProgram();
+	}
+
+	public int glCreateShader (int type) {
+		return GL20.glCreateShader(type);
+	}
+
+	public void glCullFace (int mode) {
+		GL11.glCullFace(mode);
+	}
+
+	public void glDeleteBuffers (int n, IntBuffer buffers) {
+		if (stateCache) {
+			// deleted buffers are unbound by GL
+			for (int i = buffers.position(); i < buffers.limit(); i++)
+				forgetBuffer(buffers.get(i));
+		}
+		GL15.glDeleteBuffers(buffers);
+	}
+
+	public void glDeleteFramebuffers (int n, IntBuffer framebuffers) {
+		EXTFramebufferObject.glDeleteFramebuffersEXT(framebuffers);
+	}
+
+	public void glDeleteProgram (int program) {
+		if (this.program == program) this.program = UNKNOWN;
+		if (uniforms != null && uniforms.program == program) uniforms = null;
+		programUniforms.remove(program);
+		GL20.glDeleteProgram(program);
+	}
+
+	public void glDeleteRenderbuffers (int n, IntBuffer renderbuffers) {
+		EXTFramebufferObject.glDeleteRenderbuffersEXT(renderbuffers);
+	}
+
+	public void glDeleteShader (int shader) {
+		GL20.glDeleteShader(shader);
+	}
+
+	public void glDeleteTextures (int n, IntBuffer textures) {
+		if (stateCache) {
+			// deleted textures are unbound by GL
+			for (int i = textures.position(); i < textures.limit(); i++)
+				forgetTexture(textures.get(i));
+		}
+		GL11.glDeleteTextures(textures);
+	}
+
+	public void glDepthFunc (int func) {
+		GL11.glDepthFunc(func);
+	}
+
+	public void glDepthMask (boolean flag) {
+		if (stateCache) {
+			int mask = flag ? 1 : 0;
+			if (depthMask == mask) {
+				filteredCalls++;
+				return;
+			}
+			depthMask = mask;
+		}
+		GL11.glDepthMask(flag);
+	}
+
+	public void glDepthRangef (float zNear, float zFar) {
+		GL11.glDepthRange(zNear, zFar);
+	}
+
+	public void glDetachShader (int program, int shader) {
+		GL20.glDetachShader(program, shader);
+	}
+
+	public void glDisable (int cap) {
+		if (stateCache) {
+			int index = capIndex(cap);
+			if (index >= 0) {
+				if (caps[index] == 0) {
+					filteredCalls++;
+					return;
+				}
+				caps[index] = 0;
+			}
+		}
+		GL11.glDisable(cap);
+	}
+
+	public void glDisableVertexAttribArray (int index) {
+		GL20.glDisableVertexAttribArray(index);
+	}
+
+	public void glDrawArrays (int mode, int first, int count) {
+		GL11.glDrawArrays(mode, first, count);
+	}
+
+	public void glDrawElements (int mode, int count, int type, Buffer indices) {
+		if (indices instanceof ShortBuffer && type == GL10.GL_UNSIGNED_SHORT)
+			GL11.glDrawElements(mode, (ShortBuffer)indices);
+		else if (indices instanceof ByteBuffer && type == GL10.GL_UNSIGNED_SHORT)
+			GL11.glDrawElements(mode, buffers.asShortBuffer((ByteBuffer)indices));
+		else if (indices instanceof ByteBuffer && type == GL10.GL_UNSIGNED_BYTE)
+			GL11.glDrawElements(mode, (ByteBuffer)indices);
+		else
+			throw new GdxRuntimeException("Can't use " + indices.getClass().getName()
+				+ " with this method. Use ShortBuffer or ByteBuffer instead. Blame LWJGL");
+	}
+
+	public void glEnable (int cap) {
+		if (stateCache) {
+			int index = capIndex(cap);
+			if (index >= 0) {
+				if (caps[index] == 1) {
+					filteredCalls++;
+					return;
+				}
+				caps[index] = 1;
+			}
+		}
+		GL11.glEnable(cap);
+	}
+
+	public void glEnableVertexAttribArray (int index) {
+		GL20.glEnableVertexAttribArray(index);
+	}
+
+	public void glFinish () {
+		GL11.glFinish();
+	}
+
+	public void glFlush () {
+		GL11.glFlush();
+	}
+
+	public void glFramebufferRenderbuffer (int target, int attachment, int renderbuffertarget, int renderbuffer) {
+		EXTFramebufferObject.glFramebufferRenderbufferEXT(target, attachment, renderbuffertarget, renderbuffer);
+	}
+
+	public void glFramebufferTexture2D (int target, int attachment, int textarget, int texture, int level) {
+		EXTFramebufferObject.glFramebufferTexture2DEXT(target, attachment, textarget, texture, level);
+	}
+
+	public void glFrontFace (int mode) {
+		GL11.glFrontFace(mode);
+	}
+
+	public void glGenBuffers (int n, IntBuffer buffers) {
+		GL15.glGenBuffers(buffers);
+	}
+
+	public void glGenFramebuffers (int n, IntBuffer framebuffers) {
+		EXTFramebufferObject.glGenFramebuffersEXT(framebuffers);
+	}
+
+	public void glGenRenderbuffers (int n, IntBuffer renderbuffers) {
+		EXTFramebufferObject.glGenRenderbuffersEXT(renderbuffers);
+	}
+
+	public void glGenTextures (int n, IntBuffer textures) {
+		GL11.glGenTextures(textures);
+	}
+
+	public void glGenerateMipmap (int target) {
+		EXTFramebufferObject.glGenerateMipmapEXT(target);
+	}
+
+	public String glGetActiveAttrib (int program, int index, IntBuffer size, Buffer type) {
+		scratchInts.clear().limit(2);
+		String name = GL20.glGetActiveAttrib(program, index, 256, scratchInts);
+		putSizeType(size, type);
+		return name;
+	}
+
+	public String glGetActiveUniform (int program, int index, IntBuffer size, Buffer type) {
+		scratchInts.clear().limit(2);
+		String name = GL20.glGetActiveUniform(program, index, 256, scratchInts);
+		putSizeType(size, type);
+		return name;
+	}
+
+	/** LWJGL writes size and type of the active variable in this order */
+	private void putSizeType (IntBuffer size, Buffer type) {
+		if (size != null) size.put(scratchInts.get(0));
+		if (type instanceof IntBuffer) ((IntBuffer)type).put(scratchInts.get(1));
+	}
+
+	public void glGetAttachedShaders (int program, int maxcount, Buffer count, IntBuffer shaders) {
+		GL20.glGetAttachedShaders(program, (IntBuffer)count, shaders);
+	}
+
+	public int glGetAttribLocation (int program, String name) {
+		return GL20.glGetAttribLocation(program, name);
+	}
+
+	public void glGetBooleanv (int pname, Buffer params) {
+		GL11.glGetBoolean(pname, (ByteBuffer)params);
+	}
+
+	public void glGetBufferParameteriv (int target, int pname, IntBuffer params) {
+		GL15.glGetBufferParameter(target, pname, params);
+	}
+
+	public int glGetError () {
+		return GL11.glGetError();
+	}
+
+	public void glGetFloatv (int pname, FloatBuffer params) {
+		GL11.glGetFloat(pname, params);
+	}
+
+	public void glGetFramebufferAttachmentParameteriv (int target, int attachment, int pname, IntBuffer params) {
+		EXTFramebufferObject.glGetFramebufferAttachmentParameterEXT(target, attachment, pname, params);
+	}
+
+	public void glGetIntegerv (int pname, IntBuffer params) {
+		GL11.glGetInteger(pname, params);
+	}
+
+	public String glGetProgramInfoLog (int program) {
+		scratchInts.clear();
+		GL20.glGetProgram(program, GL_INFO_LOG_LENGTH, scratchInts);
+		ByteBuffer log = logBuffer(scratchInts.get(0));
+		scratchInts.clear();
+		GL20.glGetProgramInfoLog(program, scratchInts, log);
+		return decodeLog(log, scratchInts.get(0));
+	}
+
+	public void glGetProgramiv (int program, int pname, IntBuffer params) {
+		GL20.glGetProgram(program, pname, params);
+	}
+
+	public void glGetRenderbufferParameteriv (int target, int pname, IntBuffer params) {
+		EXTFramebufferObject.glGetRenderbufferParameterEXT(target, pname, params);
+	}
+
+	public String glGetShaderInfoLog (int shader) {
+		scratchInts.clear();
+		GL20.glGetShader(shader, GL_INFO_LOG_LENGTH, scratchInts);
+		ByteBuffer log = logBuffer(scratchInts.get(0));
+		scratchInts.clear();
+		GL20.glGetShaderInfoLog(shader, scratchInts, log);
+		return decodeLog(log, scratchInts.get(0));
+	}
+
+	/** @return scratch buffer for an info log of the given length, grown when needed */
+	private ByteBuffer logBuffer (int length) {
+		if (logBytes.capacity() < length) logBytes = BufferUtils.createByteBuffer(Math.max(length, logBytes.capacity() * 2));
+		logBytes.clear();
+		return logBytes;
+	}
+
+	/** Decodes the log straight from the native buffer, the only allocation is the resulting string. */
+	private String decodeLog (ByteBuffer log, int length) {
+		if (length <= 0) return "";
+		log.limit(Math.min(length, log.capacity()));
+		if (logChars.capacity() < length) logChars = CharBuffer.allocate(Math.max(length, logChars.capacity() * 2));
+		logChars.clear();
+		logDecoder.reset();
+		logDecoder.decode(log, logChars, true);
+		logDecoder.flush(logChars);
+		return new String(logChars.array(), 0, logChars.position());
+	}
+
+	public void glGetShaderPrecisionFormat (int shadertype, int precisiontype, IntBuffer range, IntBuffer precision) {
+		throw new UnsupportedOperationException("unsupported, won't implement");
+	}
+
+	public void glGetShaderSource (int shader, int bufsize, Buffer length, String source) {
+		throw new UnsupportedOperationException("unsupported, won't implement.");
+	}
+
+	public void glGetShaderiv (int shader, int pname, IntBuffer params) {
+		GL20.glGetShader(shader, pname, params);
+	}
+
+	public String glGetString (int name) {
+		return GL11.glGetString(name);
+	}
+
+	public void glGetTexParameterfv (int target, int pname, FloatBuffer params) {
+		GL11.glGetTexParameter(target, pname, params);
+	}
+
+	public void glGetTexParameteriv (int target, int pname, IntBuffer params) {
+		GL11.glGetTexParameter(target, pname, params);
+	}
+
+	public int glGetUniformLocation (int program, String name) {
+		// locations are fixed until the next link, the name does not have to be encoded for the driver again
+		ObjectIntMap<String> locations = programUniforms(program).locations;
+		int location = locations.get(name, NO_LOCATION);
+		if (location == NO_LOCATION) {
+			location = GL20.glGetUniformLocation(program, name);
+			locations.put(name, location);
+		}
+		return location;
+	}
+
+	public void glGetUniformfv (int program, int location, FloatBuffer params) {
+		GL20.glGetUniform(program, location, params);
+	}
+
+	public void glGetUniformiv (int program, int location, IntBuffer params) {
+		GL20.glGetUniform(program, location, params);
+	}
+
+	public void glGetVertexAttribPointerv (int index, int pname, Buffer pointer) {
+		throw new UnsupportedOperationException("unsupported, won't implement");
+	}
+
+	public void glGetVertexAttribfv (int index, int pname, FloatBuffer params) {
+		GL20.glGetVertexAttrib(index, pname, params);
+	}
+
+	public void glGetVertexAttribiv (int index, int pname, IntBuffer params) {
+		GL20.glGetVertexAttrib(index, pname, params);
+	}
+
+	public void glHint (int target, int mode) {
+		GL11.glHint(target, mode);
+	}
+
+	public boolean glIsBuffer (int buffer) {
+		return GL15.glIsBuffer(buffer);
+	}
+
+	public boolean glIsEnabled (int cap) {
+		return GL11.glIsEnabled(cap);
+	}
+
+	public boolean glIsFramebuffer (int framebuffer) {
+		return EXTFramebufferObject.glIsFramebufferEXT(framebuffer);
+	}
+
+	public boolean glIsProgram (int program) {
+		return GL20.glIsProgram(program);
+	}
+
+	public boolean glIsRenderbuffer (int renderbuffer) {
+		return EXTFramebufferObject.glIsRenderbufferEXT(renderbuffer);
+	}
+
+	public boolean glIsShader (int shader) {
+		return GL20.glIsShader(shader);
+	}
+
+	public boolean glIsTexture (int texture) {
+		return GL11.glIsTexture(texture);
+	}
+
+	public void glLineWidth (float width) {
+		GL11.glLineWidth(width);
+	}
+
+	public void glLinkProgram (int program) {
+		GL20.glLinkProgram(program);
+		// linking assigns new locations and resets all uniform values
+		programUniforms.remove(program);
+		if (uniforms != null && uniforms.program == program) uniforms = programUniforms(program);
+	}
+
+	public void glPixelStorei (int pname, int param) {
+		GL11.glPixelStorei(pname, param);
+	}
+
+	public void glPolygonOffset (float factor, float units) {
+		GL11.glPolygonOffset(factor, units);
+	}
+
+	public void glReadPixels (int x, int y, int width, int height, int format, int type, Buffer pixels) {
+		buffers.readPixels(x, y, width, height, format, type, pixels);
+	}
+
+	public void glReleaseShaderCompiler () {
+		// nothing to do here
+	}
+
+	public void glRenderbufferStorage (int target, int internalformat, int width, int height) {
+		EXTFramebufferObject.glRenderbufferStorageEXT(target, internalformat, width, height);
+	}
+
+	public void glSampleCoverage (float value, boolean invert) {
+		GL13.glSampleCoverage(value, invert);
+	}
+
+	public void glScissor (int x, int y, int width, int height) {
+		GL11.glScissor(x, y, width, height);
+	}
+
+	public void glShaderBinary (int n, IntBuffer shaders, int binaryformat, Buffer binary, int length) {
+		throw new UnsupportedOperationException("unsupported, won't implement");
+	}
+
+	public void glShaderSource (int shader, String string) {
+		GL20.glShaderSource(shader, string);
+	}
+
+	public void glStencilFunc (int func, int ref, int mask) {
+		GL11.glStencilFunc(func, ref, mask);
+	}
+
+	public void glStencilFuncSeparate (int face, int func, int ref, int mask) {
+		GL20.glStencilFuncSeparate(face, func, ref, mask);
+	}
+
+	public void glStencilMask (int mask) {
+		GL11.glStencilMask(mask);
+	}
+
+	public void glStencilMaskSeparate (int face, int mask) {
+		GL20.glStencilMaskSeparate(face, mask);
+	}
+
+	public void glStencilOp (int fail, int zfail, int zpass) {
+		GL11.glStencilOp(fail, zfail, zpass);
+	}
+
+	public void glStencilOpSeparate (int face, int fail, int zfail, int zpass) {
+		GL20.glStencilOpSeparate(face, fail, zfail, zpass);
+	}
+
+	public void glTexImage2D (int target, int level, int internalformat, int width, int height, int border, int format, int type,
+		Buffer pixels) {
+		buffers.texImage2D(target, level, internalformat, width, height, border, format, type, pixels);
+	}
+
+	public void glTexParameterf (int target, int pname, float param) {
+		GL11.glTexParameterf(target, pname, param);
+	}
+
+	public void glTexParameterfv (int target, int pname, FloatBuffer params) {
+		GL11.glTexParameter(target, pname, params);
+	}
+
+	public void glTexParameteri (int target, int pname, int param) {
+		GL11.glTexParameteri(target, pname, param);
+	}
+
+	public void glTexParameteriv (int target, int pname, IntBuffer params) {
+		GL11.glTexParameter(target, pname, params);
+	}
+
+	public void glTexSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height, int format, int type,
+		Buffer pixels) {
+		buffers.texSubImage2D(target, level, xoffset, yoffset, width, height, format, type, pixels);
+	}
+
+	public void glUniform1f (int location, float x) {
+		if (sameFloats(location, 1, x, 0, 0, 0)) return;
+		GL20.glUniform1f(location, x);
+	}
+
+	public void glUniform1fv (int location, int count, FloatBuffer v) {
+		if (sameFloats(location, v, 1)) return;
+		GL20.glUniform1(location, v);
+	}
+
+	public void glUniform1i (int location, int x) {
+		if (sameInts(location, 1, x, 0, 0, 0)) return;
+		GL20.glUniform1i(location, x);
+	}
+
+	public void glUniform1iv (int location, int count, IntBuffer v) {
+		if (sameInts(location, v, 1)) return;
+		GL20.glUniform1(location, v);
+	}
+
+	public void glUniform2f (int location, float x, float y) {
+		if (sameFloats(location, 2, x, y, 0, 0)) return;
+		GL20.glUniform2f(location, x, y);
+	}
+
+	public void glUniform2fv (int location, int count, FloatBuffer v) {
+		if (sameFloats(location, v, 2)) return;
+		GL20.glUniform2(location, v);
+	}
+
+	public void glUniform2i (int location, int x, int y) {
+		if (sameInts(location, 2, x, y, 0, 0)) return;
+		GL20.glUniform2i(location, x, y);
+	}
+
+	public void glUniform2iv (int location, int count, IntBuffer v) {
+		if (sameInts(location, v, 2)) return;
+		GL20.glUniform2(location, v);
+	}
+
+	public void glUniform3f (int location, float x, float y, float z) {
+		if (sameFloats(location, 3, x, y, z, 0)) return;
+		GL20.glUniform3f(location, x, y, z);
+	}
+
+	public void glUniform3fv (int location, int count, FloatBuffer v) {
+		if (sameFloats(location, v, 3)) return;
+		GL20.glUniform3(location, v);
+	}
+
+	public void glUniform3i (int location, int x, int y, int z) {
+		if (sameInts(location, 3, x, y, z, 0)) return;
+		GL20.glUniform3i(location, x, y, z);
+	}
+
+	public void glUniform3iv (int location, int count, IntBuffer v) {
+		if (sameInts(location, v, 3)) return;
+		GL20.glUniform3(location, v);
+	}
+
+	public void glUniform4f (int location, float x, float y, float z, float w) {
+		if (sameFloats(location, 4, x, y, z, w)) return;
+		GL20.glUniform4f(location, x, y, z, w);
+	}
+
+	public void glUniform4fv (int location, int count, FloatBuffer v) {
+		if (sameFloats(location, v, 4)) return;
+		GL20.glUniform4(location, v);
+	}
+
+	public void glUniform4i (int location, int x, int y, int z, int w) {
+		if (sameInts(location, 4, x, y, z, w)) return;
+		GL20.glUniform4i(location, x, y, z, w);
+	}
+
+	public void glUniform4iv (int location, int count, IntBuffer v) {
+		if (sameInts(location, v, 4)) return;
+		GL20.glUniform4(location, v);
+	}
+
+	public void glUniformMatrix2fv (int location, int count, boolean transpose, FloatBuffer value) {
+		if (transpose) {
+			// transposed values are not compared, the cached ones are stale now
+			if (uniforms != null) {
+				for (int i = 0; i * 4 < value.remaining(); i++)
+					uniforms.floatBits.remove(location + i);
+			}
+		} else if (sameFloats(location, value, 4)) {
+			return;
+		}
+		GL20.glUniformMatrix2(location, transpose, value);
+	}
+
+	public void glUniformMatrix3fv (int location, int count, boolean transpose, FloatBuffer value) {
+		if (transpose) {
+			// transposed values are not compared, the cached ones are stale now
+			if (uniforms != null) {
+				for (int i = 0; i * 9 < value.remaining(); i++)
+					uniforms.floatBits.remove(location + i);
+			}
+		} else if (sameFloats(location, value, 9)) {
+			return;
+		}
+		GL20.glUniformMatrix3(location, transpose, value);
+	}
+
+	public void glUniformMatrix4fv (int location, int count, boolean transpose, FloatBuffer value) {
+		if (transpose) {
+			// transposed values are not compared, the cached ones are stale now
+			if (uniforms != null) {
+				for (int i = 0; i * 16 < value.remaining(); i++)
+					uniforms.floatBits.remove(location + i);
+			}
+		} else if (sameFloats(location, value, 16)) {
+			return;
+		}
+		GL20.glUniformMatrix4(location, transpose, value);
+	}
+
+	public void glUseProgram (int program) {
+		if (uniforms == null || uniforms.program != program) uniforms = program != 0 ? programUniforms(program) : null;
+		if (stateCache) {
+			if (this.program == program) {
+				filteredCalls++;
+				return;
+			}
+			this.program = program;
+		}
+		GL20.glUseProgram(program);
+	}
+
+	public void glValidateProgram (int program) {
+		GL20.glValidateProgram(program);
+	}
+
+	public void glVertexAttrib1f (int indx, float x) {
+		GL20.glVertexAttrib1f(indx, x);
+	}
+
+	public void glVertexAttrib1fv (int indx, FloatBuffer values) {
+		GL20.glVertexAttrib1f(indx, values.get());
+	}
+
+	public void glVertexAttrib2f (int indx, float x, float y) {
+		GL20.glVertexAttrib2f(indx, x, y);
+	}
+
+	public void glVertexAttrib2fv (int indx, FloatBuffer values) {
+		GL20.glVertexAttrib2f(indx, values.get(), values.get());
+	}
+
+	public void glVertexAttrib3f (int indx, float x, float y, float z) {
+		GL20.glVertexAttrib3f(indx, x, y, z);
+	}
+
+	public void glVertexAttrib3fv (int indx, FloatBuffer values) {
+		GL20.glVertexAttrib3f(indx, values.get(), values.get(), values.get());
+	}
+
+	public void glVertexAttrib4f (int indx, float x, float y, float z, float w) {
+		GL20.glVertexAttrib4f(indx, x, y, z, w);
+	}
+
+	public void glVertexAttrib4fv (int indx, FloatBuffer values) {
+		GL20.glVertexAttrib4f(indx, values.get(), values.get(), values.get(), values.get());
+	}
+
+	public void glVertexAttribPointer (int indx, int size, int type, boolean normalized, int stride, Buffer buffer) {
+		if (buffer instanceof ByteBuffer) {
+			// the typed overload passes the address at the buffer position as it is, no view needed
+			if (type == GL_BYTE || type == GL_UNSIGNED_BYTE || type == GL_SHORT || type == GL_UNSIGNED_SHORT || type == GL_FLOAT)
+				GL20.glVertexAttribPointer(indx, size, type, normalized, stride, (ByteBuffer)buffer);
+			else
+				throw new GdxRuntimeException(
+					"Can't use "
+						+ buffer.getClass().getName()
+						+ " with type "
+						+ type
+						+ " with this method. Use ByteBuffer and one of GL_BYTE, GL_UNSIGNED_BYTE, GL_SHORT, GL_UNSIGNED_SHORT or GL_FLOAT for type. Blame LWJGL");
+		} else
+			throw new GdxRuntimeException("Can't use " + buffer.getClass().getName()
+				+ " with this method. Use ByteBuffer instead. Blame LWJGL");
+	}
+
+	public void glViewport (int x, int y, int width, int height) {
+		if (stateCache) {
+			if (viewportX == x && viewportY == y && viewportWidth == width && viewportHeight == height) {
+				filteredCalls++;
+				return;
+			}
+			viewportX = x;
+			viewportY = y;
+			viewportWidth = width;
+			viewportHeight = height;
+		}
+		GL11.glViewport(x, y, width, height);
+	}
+
+	public void glDrawElements (int mode, int count, int type, int indices) {
+		GL11.glDrawElements(mode, count, type, indices);
+	}
+
+	public void glVertexAttribPointer (int indx, int size, int type, boolean normalized, int stride, int ptr) {
+		GL20.glVertexAttribPointer(indx, size, type, normalized, stride, ptr);
+	}
+
+}
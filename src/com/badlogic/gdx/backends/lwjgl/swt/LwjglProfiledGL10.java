@@ -0,0 +1,468 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.nio.Buffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.graphics.GL10;
+
+/** {@link GL10} counting every call into the {@link SwtLwjglGLProfiler} before forwarding it to {@link LwjglGL10}. Installed by
+ * {@link SwtLwjglGraphics#setProfiling(boolean)} only, the unwrapped GL is used otherwise.
+ * 
+ * @author Michal NkD Nikodim */
+class LwjglProfiledGL10 implements GL10 {
+	final SwtLwjglGLProfiler profiler;
+	private final LwjglGL10 gl;
+
+	LwjglProfiledGL10 (LwjglGL10 gl, SwtLwjglGLProfiler profiler) {
+		this.gl = gl;
+		this.profiler = profiler;
+	}
+
+	public void glActiveTexture (int texture) {
+		profiler.calls[SwtLwjglGLProfiler.ACTIVE_TEXTURE]++;
+		gl.glActiveTexture(texture);
+	}
+
+	public void glAlphaFunc (int func, float ref) {
+		profiler.calls[SwtLwjglGLProfiler.ALPHA_FUNC]++;
+		gl.glAlphaFunc(func, ref);
+	}
+
+	public void glBindTexture (int target, int texture) {
+		profiler.calls[SwtLwjglGLProfiler.BIND_TEXTURE]++;
+		profiler.textureBinds++;
+		gl.glBindTexture(target, texture);
+	}
+
+	public void glBlendFunc (int sfactor, int dfactor) {
+		profiler.calls[SwtLwjglGLProfiler.BLEND_FUNC]++;
+		gl.glBlendFunc(sfactor, dfactor);
+	}
+
+	public void glClear (int mask) {
+		profiler.calls[SwtLwjglGLProfiler.CLEAR]++;
+		gl.glClear(mask);
+	}
+
+	public void glClearColor (float red, float green, float blue, float alpha) {
+		profiler.calls[SwtLwjglGLProfiler.CLEAR_COLOR]++;
+		gl.glClearColor(red, green, blue, alpha);
+	}
+
+	public void glClearDepthf (float depth) {
+		profiler.calls[SwtLwjglGLProfiler.CLEAR_DEPTHF]++;
+		gl.glClearDepthf(depth);
+	}
+
+	public void glClearStencil (int s) {
+		profiler.calls[SwtLwjglGLProfiler.CLEAR_STENCIL]++;
+		gl.glClearStencil(s);
+	}
+
+	public void glClientActiveTexture (int texture) {
+		profiler.calls[SwtLwjglGLProfiler.CLIENT_ACTIVE_TEXTURE]++;
+		gl.glClientActiveTexture(texture);
+	}
+
+	public void glColor4f (float red, float green, float blue, float alpha) {
+		profiler.calls[SwtLwjglGLProfiler.COLOR4F]++;
+		gl.glColor4f(red, green, blue, alpha);
+	}
+
+	public void glColorMask (boolean red, boolean green, boolean blue, boolean alpha) {
+		profiler.calls[SwtLwjglGLProfiler.COLOR_MASK]++;
+		gl.glColorMask(red, green, blue, alpha);
+	}
+
+	public void glColorPointer (int size, int type, int stride, Buffer pointer) {
+		profiler.calls[SwtLwjglGLProfiler.COLOR_POINTER]++;
+		gl.glColorPointer(size, type, stride, pointer);
+	}
+
+	public void glCompressedTexImage2D (int target, int level, int internalformat, int width, int height, int border, int imageSize, Buffer data) {
+		profiler.calls[SwtLwjglGLProfiler.COMPRESSED_TEX_IMAGE2_D]++;
+		profiler.textureBytes += imageSize;
+		gl.glCompressedTexImage2D(target, level, internalformat, width, height, border, imageSize, data);
+	}
+
+	public void glCompressedTexSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height, int format, int imageSize, Buffer data) {
+		profiler.calls[SwtLwjglGLProfiler.COMPRESSED_TEX_SUB_IMAGE2_D]++;
+		profiler.textureBytes += imageSize;
+		gl.glCompressedTexSubImage2D(target, level, xoffset, yoffset, width, height, format, imageSize, data);
+	}
+
+	public void glCopyTexImage2D (int target, int level, int internalformat, int x, int y, int width, int height, int border) {
+		profiler.calls[SwtLwjglGLProfiler.COPY_TEX_IMAGE2_D]++;
+		gl.glCopyTexImage2D(target, level, internalformat, x, y, width, height, border);
+	}
+
+	public void glCopyTexSubImage2D (int target, int level, int xoffset, int yoffset, int x, int y, int width, int height) {
+		profiler.calls[SwtLwjglGLProfiler.COPY_TEX_SUB_IMAGE2_D]++;
+		gl.glCopyTexSubImage2D(target, level, xoffset, yoffset, x, y, width, height);
+	}
+
+	public void glCullFace (int mode) {
+		profiler.calls[SwtLwjglGLProfiler.CULL_FACE]++;
+		gl.glCullFace(mode);
+	}
+
+	public void glDeleteTextures (int n, IntBuffer textures) {
+		profiler.calls[SwtLwjglGLProfiler.DELETE_TEXTURES]++;
+		gl.glDeleteTextures(n, textures);
+	}
+
+	public void glDepthFunc (int func) {
+		profiler.calls[SwtLwjglGLProfiler.DEPTH_FUNC]++;
+		gl.glDepthFunc(func);
+	}
+
+	public void glDepthMask (boolean flag) {
+		profiler.calls[SwtLwjglGLProfiler.DEPTH_MASK]++;
+		gl.glDepthMask(flag);
+	}
+
+	public void glDepthRangef (float zNear, float zFar) {
+		profiler.calls[SwtLwjglGLProfiler.DEPTH_RANGEF]++;
+		gl.glDepthRangef(zNear, zFar);
+	}
+
+	public void glDisable (int cap) {
+		profiler.calls[SwtLwjglGLProfiler.DISABLE]++;
+		gl.glDisable(cap);
+	}
+
+	public void glDisableClientState (int array) {
+		profiler.calls[SwtLwjglGLProfiler.DISABLE_CLIENT_STATE]++;
+		gl.glDisableClientState(array);
+	}
+
+	public void glDrawArrays (int mode, int first, int count) {
+		profiler.calls[SwtLwjglGLProfiler.DRAW_ARRAYS]++;
+		profiler.drawArrays(count);
+		gl.glDrawArrays(mode, first, count);
+	}
+
+	public void glDrawElements (int mode, int count, int type, Buffer indices) {
+		profiler.calls[SwtLwjglGLProfiler.DRAW_ELEMENTS]++;
+		profiler.drawElements(count);
+		gl.glDrawElements(mode, count, type, indices);
+	}
+
+	public void glEnable (int cap) {
+		profiler.calls[SwtLwjglGLProfiler.ENABLE]++;
+		gl.glEnable(cap);
+	}
+
+	public void glEnableClientState (int array) {
+		profiler.calls[SwtLwjglGLProfiler.ENABLE_CLIENT_STATE]++;
+		gl.glEnableClientState(array);
+	}
+
+	public void glFinish () {
+		profiler.calls[SwtLwjglGLProfiler.FINISH]++;
+		gl.glFinish();
+	}
+
+	public void glFlush () {
+		profiler.calls[SwtLwjglGLProfiler.FLUSH]++;
+		gl.glFlush();
+	}
+
+	public void glFogf (int pname, float param) {
+		profiler.calls[SwtLwjglGLProfiler.FOGF]++;
+		gl.glFogf(pname, param);
+	}
+
+	public void glFogfv (int pname, FloatBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.FOGFV]++;
+		gl.glFogfv(pname, params);
+	}
+
+	public void glFrontFace (int mode) {
+		profiler.calls[SwtLwjglGLProfiler.FRONT_FACE]++;
+		gl.glFrontFace(mode);
+	}
+
+	public void glFrustumf (float left, float right, float bottom, float top, float zNear, float zFar) {
+		profiler.calls[SwtLwjglGLProfiler.FRUSTUMF]++;
+		gl.glFrustumf(left, right, bottom, top, zNear, zFar);
+	}
+
+	public void glGenTextures (int n, IntBuffer textures) {
+		profiler.calls[SwtLwjglGLProfiler.GEN_TEXTURES]++;
+		gl.glGenTextures(n, textures);
+	}
+
+	public int glGetError () {
+		profiler.calls[SwtLwjglGLProfiler.GET_ERROR]++;
+		return gl.glGetError();
+	}
+
+	public void glGetIntegerv (int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_INTEGERV]++;
+		gl.glGetIntegerv(pname, params);
+	}
+
+	public String glGetString (int name) {
+		profiler.calls[SwtLwjglGLProfiler.GET_STRING]++;
+		return gl.glGetString(name);
+	}
+
+	public void glHint (int target, int mode) {
+		profiler.calls[SwtLwjglGLProfiler.HINT]++;
+		gl.glHint(target, mode);
+	}
+
+	public void glLightModelf (int pname, float param) {
+		profiler.calls[SwtLwjglGLProfiler.LIGHT_MODELF]++;
+		gl.glLightModelf(pname, param);
+	}
+
+	public void glLightModelfv (int pname, FloatBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.LIGHT_MODELFV]++;
+		gl.glLightModelfv(pname, params);
+	}
+
+	public void glLightf (int light, int pname, float param) {
+		profiler.calls[SwtLwjglGLProfiler.LIGHTF]++;
+		gl.glLightf(light, pname, param);
+	}
+
+	public void glLightfv (int light, int pname, FloatBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.LIGHTFV]++;
+		gl.glLightfv(light, pname, params);
+	}
+
+	public void glLineWidth (float width) {
+		profiler.calls[SwtLwjglGLProfiler.LINE_WIDTH]++;
+		gl.glLineWidth(width);
+	}
+
+	public void glLoadIdentity () {
+		profiler.calls[SwtLwjglGLProfiler.LOAD_IDENTITY]++;
+		gl.glLoadIdentity();
+	}
+
+	public void glLoadMatrixf (FloatBuffer m) {
+		profiler.calls[SwtLwjglGLProfiler.LOAD_MATRIXF]++;
+		gl.glLoadMatrixf(m);
+	}
+
+	public void glLogicOp (int opcode) {
+		profiler.calls[SwtLwjglGLProfiler.LOGIC_OP]++;
+		gl.glLogicOp(opcode);
+	}
+
+	public void glMaterialf (int face, int pname, float param) {
+		profiler.calls[SwtLwjglGLProfiler.MATERIALF]++;
+		gl.glMaterialf(face, pname, param);
+	}
+
+	public void glMaterialfv (int face, int pname, FloatBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.MATERIALFV]++;
+		gl.glMaterialfv(face, pname, params);
+	}
+
+	public void glMatrixMode (int mode) {
+		profiler.calls[SwtLwjglGLProfiler.MATRIX_MODE]++;
+		gl.glMatrixMode(mode);
+	}
+
+	public void glMultMatrixf (FloatBuffer m) {
+		profiler.calls[SwtLwjglGLProfiler.MULT_MATRIXF]++;
+		gl.glMultMatrixf(m);
+	}
+
+	public void glMultiTexCoord4f (int target, float s, float t, float r, float q) {
+		profiler.calls[SwtLwjglGLProfiler.MULTI_TEX_COORD4F]++;
+		gl.glMultiTexCoord4f(target, s, t, r, q);
+	}
+
+	public void glNormal3f (float nx, float ny, float nz) {
+		profiler.calls[SwtLwjglGLProfiler.NORMAL3F]++;
+		gl.glNormal3f(nx, ny, nz);
+	}
+
+	public void glNormalPointer (int type, int stride, Buffer pointer) {
+		profiler.calls[SwtLwjglGLProfiler.NORMAL_POINTER]++;
+		gl.glNormalPointer(type, stride, pointer);
+	}
+
+	public void glOrthof (float left, float right, float bottom, float top, float zNear, float zFar) {
+		profiler.calls[SwtLwjglGLProfiler.ORTHOF]++;
+		gl.glOrthof(left, right, bottom, top, zNear, zFar);
+	}
+
+	public void glPixelStorei (int pname, int param) {
+		profiler.calls[SwtLwjglGLProfiler.PIXEL_STOREI]++;
+		gl.glPixelStorei(pname, param);
+	}
+
+	public void glPointSize (float size) {
+		profiler.calls[SwtLwjglGLProfiler.POINT_SIZE]++;
+		gl.glPointSize(size);
+	}
+
+	public void glPolygonOffset (float factor, float units) {
+		profiler.calls[SwtLwjglGLProfiler.POLYGON_OFFSET]++;
+		gl.glPolygonOffset(factor, units);
+	}
+
+	public void glPopMatrix () {
+		profiler.calls[SwtLwjglGLProfiler.POP_MATRIX]++;
+		gl.glPopMatrix();
+	}
+
+	public void glPushMatrix () {
+		profiler.calls[SwtLwjglGLProfiler.PUSH_MATRIX]++;
+		gl.glPushMatrix();
+	}
+
+	public void glReadPixels (int x, int y, int width, int height, int format, int type, Buffer pixels) {
+		profiler.calls[SwtLwjglGLProfiler.READ_PIXELS]++;
+		gl.glReadPixels(x, y, width, height, format, type, pixels);
+	}
+
+	public void glRotatef (float angle, float x, float y, float z) {
+		profiler.calls[SwtLwjglGLProfiler.ROTATEF]++;
+		gl.glRotatef(angle, x, y, z);
+	}
+
+	public void glSampleCoverage (float value, boolean invert) {
+		profiler.calls[SwtLwjglGLProfiler.SAMPLE_COVERAGE]++;
+		gl.glSampleCoverage(value, invert);
+	}
+
+	public void glScalef (float x, float y, float z) {
+		profiler.calls[SwtLwjglGLProfiler.SCALEF]++;
+		gl.glScalef(x, y, z);
+	}
+
+	public void glScissor (int x, int y, int width, int height) {
+		profiler.calls[SwtLwjglGLProfiler.SCISSOR]++;
+		gl.glScissor(x, y, width, height);
+	}
+
+	public void glShadeModel (int mode) {
+		profiler.calls[SwtLwjglGLProfiler.SHADE_MODEL]++;
+		gl.glShadeModel(mode);
+	}
+
+	public void glStencilFunc (int func, int ref, int mask) {
+		profiler.calls[SwtLwjglGLProfiler.STENCIL_FUNC]++;
+		gl.glStencilFunc(func, ref, mask);
+	}
+
+	public void glStencilMask (int mask) {
+		profiler.calls[SwtLwjglGLProfiler.STENCIL_MASK]++;
+		gl.glStencilMask(mask);
+	}
+
+	public void glStencilOp (int fail, int zfail, int zpass) {
+		profiler.calls[SwtLwjglGLProfiler.STENCIL_OP]++;
+		gl.glStencilOp(fail, zfail, zpass);
+	}
+
+	public void glTexCoordPointer (int size, int type, int stride, Buffer pointer) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_COORD_POINTER]++;
+		gl.glTexCoordPointer(size, type, stride, pointer);
+	}
+
+	public void glTexEnvf (int target, int pname, float param) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_ENVF]++;
+		gl.glTexEnvf(target, pname, param);
+	}
+
+	public void glTexEnvfv (int target, int pname, FloatBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_ENVFV]++;
+		gl.glTexEnvfv(target, pname, params);
+	}
+
+	public void glTexImage2D (int target, int level, int internalformat, int width, int height, int border, int format, int type, Buffer pixels) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_IMAGE2_D]++;
+		profiler.textureBytes += SwtLwjglGLProfiler.bytes(pixels);
+		gl.glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
+	}
+
+	public void glTexParameterf (int target, int pname, float param) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_PARAMETERF]++;
+		gl.glTexParameterf(target, pname, param);
+	}
+
+	public void glTexSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height, int format, int type, Buffer pixels) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_SUB_IMAGE2_D]++;
+		profiler.textureBytes += SwtLwjglGLProfiler.bytes(pixels);
+		gl.glTexSubImage2D(target, level, xoffset, yoffset, width, height, format, type, pixels);
+	}
+
+	public void glTranslatef (float x, float y, float z) {
+		profiler.calls[SwtLwjglGLProfiler.TRANSLATEF]++;
+		gl.glTranslatef(x, y, z);
+	}
+
+	public void glVertexPointer (int size, int type, int stride, Buffer pointer) {
+		profiler.calls[SwtLwjglGLProfiler.VERTEX_POINTER]++;
+		gl.glVertexPointer(size, type, stride, pointer);
+	}
+
+	public void glViewport (int x, int y, int width, int height) {
+		profiler.calls[SwtLwjglGLProfiler.VIEWPORT]++;
+		gl.glViewport(x, y, width, height);
+	}
+
+	public void glDeleteTextures (int n, int[] textures, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.DELETE_TEXTURES]++;
+		gl.glDeleteTextures(n, textures, offset);
+	}
+
+	public void glFogfv (int pname, float[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.FOGFV]++;
+		gl.glFogfv(pname, params, offset);
+	}
+
+	public void glGenTextures (int n, int[] textures, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.GEN_TEXTURES]++;
+		gl.glGenTextures(n, textures, offset);
+	}
+
+	public void glGetIntegerv (int pname, int[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.GET_INTEGERV]++;
+		gl.glGetIntegerv(pname, params, offset);
+	}
+
+	public void glLightModelfv (int pname, float[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.LIGHT_MODELFV]++;
+		gl.glLightModelfv(pname, params, offset);
+	}
+
+	public void glLightfv (int light, int pname, float[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.LIGHTFV]++;
+		gl.glLightfv(light, pname, params, offset);
+	}
+
+	public void glLoadMatrixf (float[] m, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.LOAD_MATRIXF]++;
+		gl.glLoadMatrixf(m, offset);
+	}
+
+	public void glMaterialfv (int face, int pname, float[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.MATERIALFV]++;
+		gl.glMaterialfv(face, pname, params, offset);
+	}
+
+	public void glMultMatrixf (float[] m, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.MULT_MATRIXF]++;
+		gl.glMultMatrixf(m, offset);
+	}
+
+	public void glTexEnvfv (int target, int pname, float[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_ENVFV]++;
+		gl.glTexEnvfv(target, pname, params, offset);
+	}
+
+	public void glPolygonMode (int face, int mode) {
+		profiler.calls[SwtLwjglGLProfiler.POLYGON_MODE]++;
+		gl.glPolygonMode(face, mode);
+	}
+}
@@ -0,0 +1,317 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.nio.Buffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.graphics.GL11;
+
+/** {@link GL11} counterpart of {@link LwjglProfiledGL10}.
+ * 
+ * @author Michal NkD Nikodim */
+final class LwjglProfiledGL11 extends LwjglProfiledGL10 implements GL11 {
+	private final LwjglGL11 gl11;
+
+	LwjglProfiledGL11 (LwjglGL11 gl, SwtLwjglGLProfiler profiler) {
+		super(gl, profiler);
+		this.gl11 = gl;
+	}
+
+	public void glBindBuffer (int target, int buffer) {
+		profiler.calls[SwtLwjglGLProfiler.BIND_BUFFER]++;
+		gl11.glBindBuffer(target, buffer);
+	}
+
+	public void glBufferData (int target, int size, Buffer data, int usage) {
+		profiler.calls[SwtLwjglGLProfiler.BUFFER_DATA]++;
+		profiler.bufferBytes += size;
+		gl11.glBufferData(target, size, data, usage);
+	}
+
+	public void glBufferSubData (int target, int offset, int size, Buffer data) {
+		profiler.calls[SwtLwjglGLProfiler.BUFFER_SUB_DATA]++;
+		profiler.bufferBytes += size;
+		gl11.glBufferSubData(target, offset, size, data);
+	}
+
+	public void glClipPlanef (int plane, float[] equation, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.CLIP_PLANEF]++;
+		gl11.glClipPlanef(plane, equation, offset);
+	}
+
+	public void glClipPlanef (int plane, FloatBuffer equation) {
+		profiler.calls[SwtLwjglGLProfiler.CLIP_PLANEF]++;
+		gl11.glClipPlanef(plane, equation);
+	}
+
+	public void glColor4ub (byte red, byte green, byte blue, byte alpha) {
+		profiler.calls[SwtLwjglGLProfiler.COLOR4UB]++;
+		gl11.glColor4ub(red, green, blue, alpha);
+	}
+
+	public void glDeleteBuffers (int n, int[] buffers, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.DELETE_BUFFERS]++;
+		gl11.glDeleteBuffers(n, buffers, offset);
+	}
+
+	public void glDeleteBuffers (int n, IntBuffer buffers) {
+		profiler.calls[SwtLwjglGLProfiler.DELETE_BUFFERS]++;
+		gl11.glDeleteBuffers(n, buffers);
+	}
+
+	public void glGenBuffers (int n, int[] buffers, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.GEN_BUFFERS]++;
+		gl11.glGenBuffers(n, buffers, offset);
+	}
+
+	public void glGenBuffers (int n, IntBuffer buffers) {
+		profiler.calls[SwtLwjglGLProfiler.GEN_BUFFERS]++;
+		gl11.glGenBuffers(n, buffers);
+	}
+
+	public void glGetBooleanv (int pname, boolean[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.GET_BOOLEANV]++;
+		gl11.glGetBooleanv(pname, params, offset);
+	}
+
+	public void glGetBooleanv (int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_BOOLEANV]++;
+		gl11.glGetBooleanv(pname, params);
+	}
+
+	public void glGetBufferParameteriv (int target, int pname, int[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.GET_BUFFER_PARAMETERIV]++;
+		gl11.glGetBufferParameteriv(target, pname, params, offset);
+	}
+
+	public void glGetBufferParameteriv (int target, int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_BUFFER_PARAMETERIV]++;
+		gl11.glGetBufferParameteriv(target, pname, params);
+	}
+
+	public void glGetClipPlanef (int pname, float[] eqn, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.GET_CLIP_PLANEF]++;
+		gl11.glGetClipPlanef(pname, eqn, offset);
+	}
+
+	public void glGetClipPlanef (int pname, FloatBuffer eqn) {
+		profiler.calls[SwtLwjglGLProfiler.GET_CLIP_PLANEF]++;
+		gl11.glGetClipPlanef(pname, eqn);
+	}
+
+	public void glGetFixedv (int pname, int[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.GET_FIXEDV]++;
+		gl11.glGetFixedv(pname, params, offset);
+	}
+
+	public void glGetFixedv (int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_FIXEDV]++;
+		gl11.glGetFixedv(pname, params);
+	}
+
+	public void glGetFloatv (int pname, float[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.GET_FLOATV]++;
+		gl11.glGetFloatv(pname, params, offset);
+	}
+
+	public void glGetFloatv (int pname, FloatBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_FLOATV]++;
+		gl11.glGetFloatv(pname, params);
+	}
+
+	public void glGetLightfv (int light, int pname, float[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.GET_LIGHTFV]++;
+		gl11.glGetLightfv(light, pname, params, offset);
+	}
+
+	public void glGetLightfv (int light, int pname, FloatBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_LIGHTFV]++;
+		gl11.glGetLightfv(light, pname, params);
+	}
+
+	public void glGetLightxv (int light, int pname, int[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.GET_LIGHTXV]++;
+		gl11.glGetLightxv(light, pname, params, offset);
+	}
+
+	public void glGetLightxv (int light, int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_LIGHTXV]++;
+		gl11.glGetLightxv(light, pname, params);
+	}
+
+	public void glGetMaterialfv (int face, int pname, float[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.GET_MATERIALFV]++;
+		gl11.glGetMaterialfv(face, pname, params, offset);
+	}
+
+	public void glGetMaterialfv (int face, int pname, FloatBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_MATERIALFV]++;
+		gl11.glGetMaterialfv(face, pname, params);
+	}
+
+	public void glGetMaterialxv (int face, int pname, int[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.GET_MATERIALXV]++;
+		gl11.glGetMaterialxv(face, pname, params, offset);
+	}
+
+	public void glGetMaterialxv (int face, int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_MATERIALXV]++;
+		gl11.glGetMaterialxv(face, pname, params);
+	}
+
+	public void glGetPointerv (int pname, Buffer[] params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_POINTERV]++;
+		gl11.glGetPointerv(pname, params);
+	}
+
+	public void glGetTexEnviv (int env, int pname, int[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.GET_TEX_ENVIV]++;
+		gl11.glGetTexEnviv(env, pname, params, offset);
+	}
+
+	public void glGetTexEnviv (int env, int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_TEX_ENVIV]++;
+		gl11.glGetTexEnviv(env, pname, params);
+	}
+
+	public void glGetTexEnvxv (int env, int pname, int[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.GET_TEX_ENVXV]++;
+		gl11.glGetTexEnvxv(env, pname, params, offset);
+	}
+
+	public void glGetTexEnvxv (int env, int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_TEX_ENVXV]++;
+		gl11.glGetTexEnvxv(env, pname, params);
+	}
+
+	public void glGetTexParameterfv (int target, int pname, float[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.GET_TEX_PARAMETERFV]++;
+		gl11.glGetTexParameterfv(target, pname, params, offset);
+	}
+
+	public void glGetTexParameterfv (int target, int pname, FloatBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_TEX_PARAMETERFV]++;
+		gl11.glGetTexParameterfv(target, pname, params);
+	}
+
+	public void glGetTexParameteriv (int target, int pname, int[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.GET_TEX_PARAMETERIV]++;
+		gl11.glGetTexParameteriv(target, pname, params, offset);
+	}
+
+	public void glGetTexParameteriv (int target, int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_TEX_PARAMETERIV]++;
+		gl11.glGetTexParameteriv(target, pname, params);
+	}
+
+	public void glGetTexParameterxv (int target, int pname, int[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.GET_TEX_PARAMETERXV]++;
+		gl11.glGetTexParameterxv(target, pname, params, offset);
+	}
+
+	public void glGetTexParameterxv (int target, int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_TEX_PARAMETERXV]++;
+		gl11.glGetTexParameterxv(target, pname, params);
+	}
+
+	public boolean glIsBuffer (int buffer) {
+		profiler.calls[SwtLwjglGLProfiler.IS_BUFFER]++;
+		return gl11.glIsBuffer(buffer);
+	}
+
+	public boolean glIsEnabled (int cap) {
+		profiler.calls[SwtLwjglGLProfiler.IS_ENABLED]++;
+		return gl11.glIsEnabled(cap);
+	}
+
+	public boolean glIsTexture (int texture) {
+		profiler.calls[SwtLwjglGLProfiler.IS_TEXTURE]++;
+		return gl11.glIsTexture(texture);
+	}
+
+	public void glPointParameterf (int pname, float param) {
+		profiler.calls[SwtLwjglGLProfiler.POINT_PARAMETERF]++;
+		gl11.glPointParameterf(pname, param);
+	}
+
+	public void glPointParameterfv (int pname, float[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.POINT_PARAMETERFV]++;
+		gl11.glPointParameterfv(pname, params, offset);
+	}
+
+	public void glPointParameterfv (int pname, FloatBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.POINT_PARAMETERFV]++;
+		gl11.glPointParameterfv(pname, params);
+	}
+
+	public void glPointSizePointerOES (int type, int stride, Buffer pointer) {
+		profiler.calls[SwtLwjglGLProfiler.POINT_SIZE_POINTER_OES]++;
+		gl11.glPointSizePointerOES(type, stride, pointer);
+	}
+
+	public void glTexEnvi (int target, int pname, int param) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_ENVI]++;
+		gl11.glTexEnvi(target, pname, param);
+	}
+
+	public void glTexEnviv (int target, int pname, int[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_ENVIV]++;
+		gl11.glTexEnviv(target, pname, params, offset);
+	}
+
+	public void glTexEnviv (int target, int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_ENVIV]++;
+		gl11.glTexEnviv(target, pname, params);
+	}
+
+	public void glTexParameterfv (int target, int pname, float[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_PARAMETERFV]++;
+		gl11.glTexParameterfv(target, pname, params, offset);
+	}
+
+	public void glTexParameterfv (int target, int pname, FloatBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_PARAMETERFV]++;
+		gl11.glTexParameterfv(target, pname, params);
+	}
+
+	public void glTexParameteri (int target, int pname, int param) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_PARAMETERI]++;
+		gl11.glTexParameteri(target, pname, param);
+	}
+
+	public void glTexParameteriv (int target, int pname, int[] params, int offset) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_PARAMETERIV]++;
+		gl11.glTexParameteriv(target, pname, params, offset);
+	}
+
+	public void glTexParameteriv (int target, int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_PARAMETERIV]++;
+		gl11.glTexParameteriv(target, pname, params);
+	}
+
+	public void glColorPointer (int size, int type, int stride, int pointer) {
+		profiler.calls[SwtLwjglGLProfiler.COLOR_POINTER]++;
+		gl11.glColorPointer(size, type, stride, pointer);
+	}
+
+	public void glNormalPointer (int type, int stride, int pointer) {
+		profiler.calls[SwtLwjglGLProfiler.NORMAL_POINTER]++;
+		gl11.glNormalPointer(type, stride, pointer);
+	}
+
+	public void glTexCoordPointer (int size, int type, int stride, int pointer) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_COORD_POINTER]++;
+		gl11.glTexCoordPointer(size, type, stride, pointer);
+	}
+
+	public void glVertexPointer (int size, int type, int stride, int pointer) {
+		profiler.calls[SwtLwjglGLProfiler.VERTEX_POINTER]++;
+		gl11.glVertexPointer(size, type, stride, pointer);
+	}
+
+	public void glDrawElements (int mode, int count, int type, int indices) {
+		profiler.calls[SwtLwjglGLProfiler.DRAW_ELEMENTS]++;
+		profiler.drawElements(count);
+		gl11.glDrawElements(mode, count, type, indices);
+	}
+}
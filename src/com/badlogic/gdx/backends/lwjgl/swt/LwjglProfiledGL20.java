@@ -0,0 +1,752 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.nio.Buffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.graphics.GL20;
+
+/** {@link GL20} counting every call into the {@link SwtLwjglGLProfiler} before forwarding it to {@link LwjglGL20}. Installed by
+ * {@link SwtLwjglGraphics#setProfiling(boolean)} only, the unwrapped GL is used otherwise.
+ * 
+ * @author Michal NkD Nikodim */
+final class LwjglProfiledGL20 implements GL20 {
+	private final SwtLwjglGLProfiler profiler;
+	private final LwjglGL20 gl;
+
+	LwjglProfiledGL20 (LwjglGL20 gl, SwtLwjglGLProfiler profiler) {
+		this.gl = gl;
+		this.profiler = profiler;
+	}
+
+	public void glActiveTexture (int texture) {
+		profiler.calls[SwtLwjglGLProfiler.ACTIVE_TEXTURE]++;
+		gl.glActiveTexture(texture);
+	}
+
+	public void glAttachShader (int program, int shader) {
+		profiler.calls[SwtLwjglGLProfiler.ATTACH_SHADER]++;
+		gl.glAttachShader(program, shader);
+	}
+
+	public void glBindAttribLocation (int program, int index, String name) {
+		profiler.calls[SwtLwjglGLProfiler.BIND_ATTRIB_LOCATION]++;
+		gl.glBindAttribLocation(program, index, name);
+	}
+
+	public void glBindBuffer (int target, int buffer) {
+		profiler.calls[SwtLwjglGLProfiler.BIND_BUFFER]++;
+		gl.glBindBuffer(target, buffer);
+	}
+
+	public void glBindFramebuffer (int target, int framebuffer) {
+		profiler.calls[SwtLwjglGLProfiler.BIND_FRAMEBUFFER]++;
+		gl.glBindFramebuffer(target, framebuffer);
+	}
+
+	public void glBindRenderbuffer (int target, int renderbuffer) {
+		profiler.calls[SwtLwjglGLProfiler.BIND_RENDERBUFFER]++;
+		gl.glBindRenderbuffer(target, renderbuffer);
+	}
+
+	public void glBindTexture (int target, int texture) {
+		profiler.calls[SwtLwjglGLProfiler.BIND_TEXTURE]++;
+		profiler.textureBinds++;
+		gl.glBindTexture(target, texture);
+	}
+
+	public void glBlendColor (float red, float green, float blue, float alpha) {
+		profiler.calls[SwtLwjglGLProfiler.BLEND_COLOR]++;
+		gl.glBlendColor(red, green, blue, alpha);
+	}
+
+	public void glBlendEquation (int mode) {
+		profiler.calls[SwtLwjglGLProfiler.BLEND_EQUATION]++;
+		gl.glBlendEquation(mode);
+	}
+
+	public void glBlendEquationSeparate (int modeRGB, int modeAlpha) {
+		profiler.calls[SwtLwjglGLProfiler.BLEND_EQUATION_SEPARATE]++;
+		gl.glBlendEquationSeparate(modeRGB, modeAlpha);
+	}
+
+	public void glBlendFunc (int sfactor, int dfactor) {
+		profiler.calls[SwtLwjglGLProfiler.BLEND_FUNC]++;
+		gl.glBlendFunc(sfactor, dfactor);
+	}
+
+	public void glBlendFuncSeparate (int srcRGB, int dstRGB, int srcAlpha, int dstAlpha) {
+		profiler.calls[SwtLwjglGLProfiler.BLEND_FUNC_SEPARATE]++;
+		gl.glBlendFuncSeparate(srcRGB, dstRGB, srcAlpha, dstAlpha);
+	}
+
+	public void glBufferData (int target, int size, Buffer data, int usage) {
+		profiler.calls[SwtLwjglGLProfiler.BUFFER_DATA]++;
+		profiler.bufferBytes += size;
+		gl.glBufferData(target, size, data, usage);
+	}
+
+	public void glBufferSubData (int target, int offset, int size, Buffer data) {
+		profiler.calls[SwtLwjglGLProfiler.BUFFER_SUB_DATA]++;
+		profiler.bufferBytes += size;
+		gl.glBufferSubData(target, offset, size, data);
+	}
+
+	public int glCheckFramebufferStatus (int target) {
+		profiler.calls[SwtLwjglGLProfiler.CHECK_FRAMEBUFFER_STATUS]++;
+		return gl.glCheckFramebufferStatus(target);
+	}
+
+	public void glClear (int mask) {
+		profiler.calls[SwtLwjglGLProfiler.CLEAR]++;
+		gl.glClear(mask);
+	}
+
+	public void glClearColor (float red, float green, float blue, float alpha) {
+		profiler.calls[SwtLwjglGLProfiler.CLEAR_COLOR]++;
+		gl.glClearColor(red, green, blue, alpha);
+	}
+
+	public void glClearDepthf (float depth) {
+		profiler.calls[SwtLwjglGLProfiler.CLEAR_DEPTHF]++;
+		gl.glClearDepthf(depth);
+	}
+
+	public void glClearStencil (int s) {
+		profiler.calls[SwtLwjglGLProfiler.CLEAR_STENCIL]++;
+		gl.glClearStencil(s);
+	}
+
+	public void glColorMask (boolean red, boolean green, boolean blue, boolean alpha) {
+		profiler.calls[SwtLwjglGLProfiler.COLOR_MASK]++;
+		gl.glColorMask(red, green, blue, alpha);
+	}
+
+	public void glCompileShader (int shader) {
+		profiler.calls[SwtLwjglGLProfiler.COMPILE_SHADER]++;
+		gl.glCompileShader(shader);
+	}
+
+	public void glCompressedTexImage2D (int target, int level, int internalformat, int width, int height, int border, int imageSize, Buffer data) {
+		profiler.calls[SwtLwjglGLProfiler.COMPRESSED_TEX_IMAGE2_D]++;
+		profiler.textureBytes += imageSize;
+		gl.glCompressedTexImage2D(target, level, internalformat, width, height, border, imageSize, data);
+	}
+
+	public void glCompressedTexSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height, int format, int imageSize, Buffer data) {
+		profiler.calls[SwtLwjglGLProfiler.COMPRESSED_TEX_SUB_IMAGE2_D]++;
+		profiler.textureBytes += imageSize;
+		gl.glCompressedTexSubImage2D(target, level, xoffset, yoffset, width, height, format, imageSize, data);
+	}
+
+	public void glCopyTexImage2D (int target, int level, int internalformat, int x, int y, int width, int height, int border) {
+		profiler.calls[SwtLwjglGLProfiler.COPY_TEX_IMAGE2_D]++;
+		gl.glCopyTexImage2D(target, level, internalformat, x, y, width, height, border);
+	}
+
+	public void glCopyTexSubImage2D (int target, int level, int xoffset, int yoffset, int x, int y, int width, int height) {
+		profiler.calls[SwtLwjglGLProfiler.COPY_TEX_SUB_IMAGE2_D]++;
+		gl.glCopyTexSubImage2D(target, level, xoffset, yoffset, x, y, width, height);
+	}
+
+	public int glCreateProgram () {
+		profiler.calls[SwtLwjglGLProfiler.CREATE_PROGRAM]++;
+		return gl.glCreateProgram();
+	}
+
+	public int glCreateShader (int type) {
+		profiler.calls[SwtLwjglGLProfiler.CREATE_SHADER]++;
+		return gl.glCreateShader(type);
+	}
+
+	public void glCullFace (int mode) {
+		profiler.calls[SwtLwjglGLProfiler.CULL_FACE]++;
+		gl.glCullFace(mode);
+	}
+
+	public void glDeleteBuffers (int n, IntBuffer buffers) {
+		profiler.calls[SwtLwjglGLProfiler.DELETE_BUFFERS]++;
+		gl.glDeleteBuffers(n, buffers);
+	}
+
+	public void glDeleteFramebuffers (int n, IntBuffer framebuffers) {
+		profiler.calls[SwtLwjglGLProfiler.DELETE_FRAMEBUFFERS]++;
+		gl.glDeleteFramebuffers(n, framebuffers);
+	}
+
+	public void glDeleteProgram (int program) {
+		profiler.calls[SwtLwjglGLProfiler.DELETE_PROGRAM]++;
+		gl.glDeleteProgram(program);
+	}
+
+	public void glDeleteRenderbuffers (int n, IntBuffer renderbuffers) {
+		profiler.calls[SwtLwjglGLProfiler.DELETE_RENDERBUFFERS]++;
+		gl.glDeleteRenderbuffers(n, renderbuffers);
+	}
+
+	public void glDeleteShader (int shader) {
+		profiler.calls[SwtLwjglGLProfiler.DELETE_SHADER]++;
+		gl.glDeleteShader(shader);
+	}
+
+	public void glDeleteTextures (int n, IntBuffer textures) {
+		profiler.calls[SwtLwjglGLProfiler.DELETE_TEXTURES]++;
+		gl.glDeleteTextures(n, textures);
+	}
+
+	public void glDepthFunc (int func) {
+		profiler.calls[SwtLwjglGLProfiler.DEPTH_FUNC]++;
+		gl.glDepthFunc(func);
+	}
+
+	public void glDepthMask (boolean flag) {
+		profiler.calls[SwtLwjglGLProfiler.DEPTH_MASK]++;
+		gl.glDepthMask(flag);
+	}
+
+	public void glDepthRangef (float zNear, float zFar) {
+		profiler.calls[SwtLwjglGLProfiler.DEPTH_RANGEF]++;
+		gl.glDepthRangef(zNear, zFar);
+	}
+
+	public void glDetachShader (int program, int shader) {
+		profiler.calls[SwtLwjglGLProfiler.DETACH_SHADER]++;
+		gl.glDetachShader(program, shader);
+	}
+
+	public void glDisable (int cap) {
+		profiler.calls[SwtLwjglGLProfiler.DISABLE]++;
+		gl.glDisable(cap);
+	}
+
+	public void glDisableVertexAttribArray (int index) {
+		profiler.calls[SwtLwjglGLProfiler.DISABLE_VERTEX_ATTRIB_ARRAY]++;
+		gl.glDisableVertexAttribArray(index);
+	}
+
+	public void glDrawArrays (int mode, int first, int count) {
+		profiler.calls[SwtLwjglGLProfiler.DRAW_ARRAYS]++;
+		profiler.drawArrays(count);
+		gl.glDrawArrays(mode, first, count);
+	}
+
+	public void glDrawElements (int mode, int count, int type, Buffer indices) {
+		profiler.calls[SwtLwjglGLProfiler.DRAW_ELEMENTS]++;
+		profiler.drawElements(count);
+		gl.glDrawElements(mode, count, type, indices);
+	}
+
+	public void glEnable (int cap) {
+		profiler.calls[SwtLwjglGLProfiler.ENABLE]++;
+		gl.glEnable(cap);
+	}
+
+	public void glEnableVertexAttribArray (int index) {
+		profiler.calls[SwtLwjglGLProfiler.ENABLE_VERTEX_ATTRIB_ARRAY]++;
+		gl.glEnableVertexAttribArray(index);
+	}
+
+	public void glFinish () {
+		profiler.calls[SwtLwjglGLProfiler.FINISH]++;
+		gl.glFinish();
+	}
+
+	public void glFlush () {
+		profiler.calls[SwtLwjglGLProfiler.FLUSH]++;
+		gl.glFlush();
+	}
+
+	public void glFramebufferRenderbuffer (int target, int attachment, int renderbuffertarget, int renderbuffer) {
+		profiler.calls[SwtLwjglGLProfiler.FRAMEBUFFER_RENDERBUFFER]++;
+		gl.glFramebufferRenderbuffer(target, attachment, renderbuffertarget, renderbuffer);
+	}
+
+	public void glFramebufferTexture2D (int target, int attachment, int textarget, int texture, int level) {
+		profiler.calls[SwtLwjglGLProfiler.FRAMEBUFFER_TEXTURE2_D]++;
+		gl.glFramebufferTexture2D(target, attachment, textarget, texture, level);
+	}
+
+	public void glFrontFace (int mode) {
+		profiler.calls[SwtLwjglGLProfiler.FRONT_FACE]++;
+		gl.glFrontFace(mode);
+	}
+
+	public void glGenBuffers (int n, IntBuffer buffers) {
+		profiler.calls[SwtLwjglGLProfiler.GEN_BUFFERS]++;
+		gl.glGenBuffers(n, buffers);
+	}
+
+	public void glGenFramebuffers (int n, IntBuffer framebuffers) {
+		profiler.calls[SwtLwjglGLProfiler.GEN_FRAMEBUFFERS]++;
+		gl.glGenFramebuffers(n, framebuffers);
+	}
+
+	public void glGenRenderbuffers (int n, IntBuffer renderbuffers) {
+		profiler.calls[SwtLwjglGLProfiler.GEN_RENDERBUFFERS]++;
+		gl.glGenRenderbuffers(n, renderbuffers);
+	}
+
+	public void glGenTextures (int n, IntBuffer textures) {
+		profiler.calls[SwtLwjglGLProfiler.GEN_TEXTURES]++;
+		gl.glGenTextures(n, textures);
+	}
+
+	public void glGenerateMipmap (int target) {
+		profiler.calls[SwtLwjglGLProfiler.GENERATE_MIPMAP]++;
+		gl.glGenerateMipmap(target);
+	}
+
+	public String glGetActiveAttrib (int program, int index, IntBuffer size, Buffer type) {
+		profiler.calls[SwtLwjglGLProfiler.GET_ACTIVE_ATTRIB]++;
+		return gl.glGetActiveAttrib(program, index, size, type);
+	}
+
+	public String glGetActiveUniform (int program, int index, IntBuffer size, Buffer type) {
+		profiler.calls[SwtLwjglGLProfiler.GET_ACTIVE_UNIFORM]++;
+		return gl.glGetActiveUniform(program, index, size, type);
+	}
+
+	public void glGetAttachedShaders (int program, int maxcount, Buffer count, IntBuffer shaders) {
+		profiler.calls[SwtLwjglGLProfiler.GET_ATTACHED_SHADERS]++;
+		gl.glGetAttachedShaders(program, maxcount, count, shaders);
+	}
+
+	public int glGetAttribLocation (int program, String name) {
+		profiler.calls[SwtLwjglGLProfiler.GET_ATTRIB_LOCATION]++;
+		return gl.glGetAttribLocation(program, name);
+	}
+
+	public void glGetBooleanv (int pname, Buffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_BOOLEANV]++;
+		gl.glGetBooleanv(pname, params);
+	}
+
+	public void glGetBufferParameteriv (int target, int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_BUFFER_PARAMETERIV]++;
+		gl.glGetBufferParameteriv(target, pname, params);
+	}
+
+	public int glGetError () {
+		profiler.calls[SwtLwjglGLProfiler.GET_ERROR]++;
+		return gl.glGetError();
+	}
+
+	public void glGetFloatv (int pname, FloatBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_FLOATV]++;
+		gl.glGetFloatv(pname, params);
+	}
+
+	public void glGetFramebufferAttachmentParameteriv (int target, int attachment, int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_FRAMEBUFFER_ATTACHMENT_PARAMETERIV]++;
+		gl.glGetFramebufferAttachmentParameteriv(target, attachment, pname, params);
+	}
+
+	public void glGetIntegerv (int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_INTEGERV]++;
+		gl.glGetIntegerv(pname, params);
+	}
+
+	public String glGetProgramInfoLog (int program) {
+		profiler.calls[SwtLwjglGLProfiler.GET_PROGRAM_INFO_LOG]++;
+		return gl.glGetProgramInfoLog(program);
+	}
+
+	public void glGetProgramiv (int program, int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_PROGRAMIV]++;
+		gl.glGetProgramiv(program, pname, params);
+	}
+
+	public void glGetRenderbufferParameteriv (int target, int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_RENDERBUFFER_PARAMETERIV]++;
+		gl.glGetRenderbufferParameteriv(target, pname, params);
+	}
+
+	public String glGetShaderInfoLog (int shader) {
+		profiler.calls[SwtLwjglGLProfiler.GET_SHADER_INFO_LOG]++;
+		return gl.glGetShaderInfoLog(shader);
+	}
+
+	public void glGetShaderPrecisionFormat (int shadertype, int precisiontype, IntBuffer range, IntBuffer precision) {
+		profiler.calls[SwtLwjglGLProfiler.GET_SHADER_PRECISION_FORMAT]++;
+		gl.glGetShaderPrecisionFormat(shadertype, precisiontype, range, precision);
+	}
+
+	public void glGetShaderSource (int shader, int bufsize, Buffer length, String source) {
+		profiler.calls[SwtLwjglGLProfiler.GET_SHADER_SOURCE]++;
+		gl.glGetShaderSource(shader, bufsize, length, source);
+	}
+
+	public void glGetShaderiv (int shader, int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_SHADERIV]++;
+		gl.glGetShaderiv(shader, pname, params);
+	}
+
+	public String glGetString (int name) {
+		profiler.calls[SwtLwjglGLProfiler.GET_STRING]++;
+		return gl.glGetString(name);
+	}
+
+	public void glGetTexParameterfv (int target, int pname, FloatBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_TEX_PARAMETERFV]++;
+		gl.glGetTexParameterfv(target, pname, params);
+	}
+
+	public void glGetTexParameteriv (int target, int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_TEX_PARAMETERIV]++;
+		gl.glGetTexParameteriv(target, pname, params);
+	}
+
+	public int glGetUniformLocation (int program, String name) {
+		profiler.calls[SwtLwjglGLProfiler.GET_UNIFORM_LOCATION]++;
+		return gl.glGetUniformLocation(program, name);
+	}
+
+	public void glGetUniformfv (int program, int location, FloatBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_UNIFORMFV]++;
+		gl.glGetUniformfv(program, location, params);
+	}
+
+	public void glGetUniformiv (int program, int location, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_UNIFORMIV]++;
+		gl.glGetUniformiv(program, location, params);
+	}
+
+	public void glGetVertexAttribPointerv (int index, int pname, Buffer pointer) {
+		profiler.calls[SwtLwjglGLProfiler.GET_VERTEX_ATTRIB_POINTERV]++;
+		gl.glGetVertexAttribPointerv(index, pname, pointer);
+	}
+
+	public void glGetVertexAttribfv (int index, int pname, FloatBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_VERTEX_ATTRIBFV]++;
+		gl.glGetVertexAttribfv(index, pname, params);
+	}
+
+	public void glGetVertexAttribiv (int index, int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.GET_VERTEX_ATTRIBIV]++;
+		gl.glGetVertexAttribiv(index, pname, params);
+	}
+
+	public void glHint (int target, int mode) {
+		profiler.calls[SwtLwjglGLProfiler.HINT]++;
+		gl.glHint(target, mode);
+	}
+
+	public boolean glIsBuffer (int buffer) {
+		profiler.calls[SwtLwjglGLProfiler.IS_BUFFER]++;
+		return gl.glIsBuffer(buffer);
+	}
+
+	public boolean glIsEnabled (int cap) {
+		profiler.calls[SwtLwjglGLProfiler.IS_ENABLED]++;
+		return gl.glIsEnabled(cap);
+	}
+
+	public boolean glIsFramebuffer (int framebuffer) {
+		profiler.calls[SwtLwjglGLProfiler.IS_FRAMEBUFFER]++;
+		return gl.glIsFramebuffer(framebuffer);
+	}
+
+	public boolean glIsProgram (int program) {
+		profiler.calls[SwtLwjglGLProfiler.IS_PROGRAM]++;
+		return gl.glIsProgram(program);
+	}
+
+	public boolean glIsRenderbuffer (int renderbuffer) {
+		profiler.calls[SwtLwjglGLProfiler.IS_RENDERBUFFER]++;
+		return gl.glIsRenderbuffer(renderbuffer);
+	}
+
+	public boolean glIsShader (int shader) {
+		profiler.calls[SwtLwjglGLProfiler.IS_SHADER]++;
+		return gl.glIsShader(shader);
+	}
+
+	public boolean glIsTexture (int texture) {
+		profiler.calls[SwtLwjglGLProfiler.IS_TEXTURE]++;
+		return gl.glIsTexture(texture);
+	}
+
+	public void glLineWidth (float width) {
+		profiler.calls[SwtLwjglGLProfiler.LINE_WIDTH]++;
+		gl.glLineWidth(width);
+	}
+
+	public void glLinkProgram (int program) {
+		profiler.calls[SwtLwjglGLProfiler.LINK_PROGRAM]++;
+		gl.glLinkProgram(program);
+	}
+
+	public void glPixelStorei (int pname, int param) {
+		profiler.calls[SwtLwjglGLProfiler.PIXEL_STOREI]++;
+		gl.glPixelStorei(pname, param);
+	}
+
+	public void glPolygonOffset (float factor, float units) {
+		profiler.calls[SwtLwjglGLProfiler.POLYGON_OFFSET]++;
+		gl.glPolygonOffset(factor, units);
+	}
+
+	public void glReadPixels (int x, int y, int width, int height, int format, int type, Buffer pixels) {
+		profiler.calls[SwtLwjglGLProfiler.READ_PIXELS]++;
+		gl.glReadPixels(x, y, width, height, format, type, pixels);
+	}
+
+	public void glReleaseShaderCompiler () {
+		profiler.calls[SwtLwjglGLProfiler.RELEASE_SHADER_COMPILER]++;
+		gl.glReleaseShaderCompiler();
+	}
+
+	public void glRenderbufferStorage (int target, int internalformat, int width, int height) {
+		profiler.calls[SwtLwjglGLProfiler.RENDERBUFFER_STORAGE]++;
+		gl.glRenderbufferStorage(target, internalformat, width, height);
+	}
+
+	public void glSampleCoverage (float value, boolean invert) {
+		profiler.calls[SwtLwjglGLProfiler.SAMPLE_COVERAGE]++;
+		gl.glSampleCoverage(value, invert);
+	}
+
+	public void glScissor (int x, int y, int width, int height) {
+		profiler.calls[SwtLwjglGLProfiler.SCISSOR]++;
+		gl.glScissor(x, y, width, height);
+	}
+
+	public void glShaderBinary (int n, IntBuffer shaders, int binaryformat, Buffer binary, int length) {
+		profiler.calls[SwtLwjglGLProfiler.SHADER_BINARY]++;
+		gl.glShaderBinary(n, shaders, binaryformat, binary, length);
+	}
+
+	public void glShaderSource (int shader, String string) {
+		profiler.calls[SwtLwjglGLProfiler.SHADER_SOURCE]++;
+		gl.glShaderSource(shader, string);
+	}
+
+	public void glStencilFunc (int func, int ref, int mask) {
+		profiler.calls[SwtLwjglGLProfiler.STENCIL_FUNC]++;
+		gl.glStencilFunc(func, ref, mask);
+	}
+
+	public void glStencilFuncSeparate (int face, int func, int ref, int mask) {
+		profiler.calls[SwtLwjglGLProfiler.STENCIL_FUNC_SEPARATE]++;
+		gl.glStencilFuncSeparate(face, func, ref, mask);
+	}
+
+	public void glStencilMask (int mask) {
+		profiler.calls[SwtLwjglGLProfiler.STENCIL_MASK]++;
+		gl.glStencilMask(mask);
+	}
+
+	public void glStencilMaskSeparate (int face, int mask) {
+		profiler.calls[SwtLwjglGLProfiler.STENCIL_MASK_SEPARATE]++;
+		gl.glStencilMaskSeparate(face, mask);
+	}
+
+	public void glStencilOp (int fail, int zfail, int zpass) {
+		profiler.calls[SwtLwjglGLProfiler.STENCIL_OP]++;
+		gl.glStencilOp(fail, zfail, zpass);
+	}
+
+	public void glStencilOpSeparate (int face, int fail, int zfail, int zpass) {
+		profiler.calls[SwtLwjglGLProfiler.STENCIL_OP_SEPARATE]++;
+		gl.glStencilOpSeparate(face, fail, zfail, zpass);
+	}
+
+	public void glTexImage2D (int target, int level, int internalformat, int width, int height, int border, int format, int type, Buffer pixels) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_IMAGE2_D]++;
+		profiler.textureBytes += SwtLwjglGLProfiler.bytes(pixels);
+		gl.glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
+	}
+
+	public void glTexParameterf (int target, int pname, float param) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_PARAMETERF]++;
+		gl.glTexParameterf(target, pname, param);
+	}
+
+	public void glTexParameterfv (int target, int pname, FloatBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_PARAMETERFV]++;
+		gl.glTexParameterfv(target, pname, params);
+	}
+
+	public void glTexParameteri (int target, int pname, int param) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_PARAMETERI]++;
+		gl.glTexParameteri(target, pname, param);
+	}
+
+	public void glTexParameteriv (int target, int pname, IntBuffer params) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_PARAMETERIV]++;
+		gl.glTexParameteriv(target, pname, params);
+	}
+
+	public void glTexSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height, int format, int type, Buffer pixels) {
+		profiler.calls[SwtLwjglGLProfiler.TEX_SUB_IMAGE2_D]++;
+		profiler.textureBytes += SwtLwjglGLProfiler.bytes(pixels);
+		gl.glTexSubImage2D(target, level, xoffset, yoffset, width, height, format, type, pixels);
+	}
+
+	public void glUniform1f (int location, float x) {
+		profiler.calls[SwtLwjglGLProfiler.UNIFORM1F]++;
+		gl.glUniform1f(location, x);
+	}
+
+	public void glUniform1fv (int location, int count, FloatBuffer v) {
+		profiler.calls[SwtLwjglGLProfiler.UNIFORM1FV]++;
+		gl.glUniform1fv(location, count, v);
+	}
+
+	public void glUniform1i (int location, int x) {
+		profiler.calls[SwtLwjglGLProfiler.UNIFORM1I]++;
+		gl.glUniform1i(location, x);
+	}
+
+	public void glUniform1iv (int location, int count, IntBuffer v) {
+		profiler.calls[SwtLwjglGLProfiler.UNIFORM1IV]++;
+		gl.glUniform1iv(location, count, v);
+	}
+
+	public void glUniform2f (int location, float x, float y) {
+		profiler.calls[SwtLwjglGLProfiler.UNIFORM2F]++;
+		gl.glUniform2f(location, x, y);
+	}
+
+	public void glUniform2fv (int location, int count, FloatBuffer v) {
+		profiler.calls[SwtLwjglGLProfiler.UNIFORM2FV]++;
+		gl.glUniform2fv(location, count, v);
+	}
+
+	public void glUniform2i (int location, int x, int y) {
+		profiler.calls[SwtLwjglGLProfiler.UNIFORM2I]++;
+		gl.glUniform2i(location, x, y);
+	}
+
+	public void glUniform2iv (int location, int count, IntBuffer v) {
+		profiler.calls[SwtLwjglGLProfiler.UNIFORM2IV]++;
+		gl.glUniform2iv(location, count, v);
+	}
+
+	public void glUniform3f (int location, float x, float y, float z) {
+		profiler.calls[SwtLwjglGLProfiler.UNIFORM3F]++;
+		gl.glUniform3f(location, x, y, z);
+	}
+
+	public void glUniform3fv (int location, int count, FloatBuffer v) {
+		profiler.calls[SwtLwjglGLProfiler.UNIFORM3FV]++;
+		gl.glUniform3fv(location, count, v);
+	}
+
+	public void glUniform3i (int location, int x, int y, int z) {
+		profiler.calls[SwtLwjglGLProfiler.UNIFORM3I]++;
+		gl.glUniform3i(location, x, y, z);
+	}
+
+	public void glUniform3iv (int location, int count, IntBuffer v) {
+		profiler.calls[SwtLwjglGLProfiler.UNIFORM3IV]++;
+		gl.glUniform3iv(location, count, v);
+	}
+
+	public void glUniform4f (int location, float x, float y, float z, float w) {
+		profiler.calls[SwtLwjglGLProfiler.UNIFORM4F]++;
+		gl.glUniform4f(location, x, y, z, w);
+	}
+
+	public void glUniform4fv (int location, int count, FloatBuffer v) {
+		profiler.calls[SwtLwjglGLProfiler.UNIFORM4FV]++;
+		gl.glUniform4fv(location, count, v);
+	}
+
+	public void glUniform4i (int location, int x, int y, int z, int w) {
+		profiler.calls[SwtLwjglGLProfiler.UNIFORM4I]++;
+		gl.glUniform4i(location, x, y, z, w);
+	}
+
+	public void glUniform4iv (int location, int count, IntBuffer v) {
+		profiler.calls[SwtLwjglGLProfiler.UNIFORM4IV]++;
+		gl.glUniform4iv(location, count, v);
+	}
+
+	public void glUniformMatrix2fv (int location, int count, boolean transpose, FloatBuffer value) {
+		profiler.calls[SwtLwjglGLProfiler.UNIFORM_MATRIX2FV]++;
+		gl.glUniformMatrix2fv(location, count, transpose, value);
+	}
+
+	public void glUniformMatrix3fv (int location, int count, boolean transpose, FloatBuffer value) {
+		profiler.calls[SwtLwjglGLProfiler.UNIFORM_MATRIX3FV]++;
+		gl.glUniformMatrix3fv(location, count, transpose, value);
+	}
+
+	public void glUniformMatrix4fv (int location, int count, boolean transpose, FloatBuffer value) {
+		profiler.calls[SwtLwjglGLProfiler.UNIFORM_MATRIX4FV]++;
+		gl.glUniformMatrix4fv(location, count, transpose, value);
+	}
+
+	public void glUseProgram (int program) {
+		profiler.calls[SwtLwjglGLProfiler.USE_PROGRAM]++;
+		profiler.shaderSwitches++;
+		gl.glUseProgram(program);
+	}
+
+	public void glValidateProgram (int program) {
+		profiler.calls[SwtLwjglGLProfiler.VALIDATE_PROGRAM]++;
+		gl.glValidateProgram(program);
+	}
+
+	public void glVertexAttrib1f (int indx, float x) {
+		profiler.calls[SwtLwjglGLProfiler.VERTEX_ATTRIB1F]++;
+		gl.glVertexAttrib1f(indx, x);
+	}
+
+	public void glVertexAttrib1fv (int indx, FloatBuffer values) {
+		profiler.calls[SwtLwjglGLProfiler.VERTEX_ATTRIB1FV]++;
+		gl.glVertexAttrib1fv(indx, values);
+	}
+
+	public void glVertexAttrib2f (int indx, float x, float y) {
+		profiler.calls[SwtLwjglGLProfiler.VERTEX_ATTRIB2F]++;
+		gl.glVertexAttrib2f(indx, x, y);
+	}
+
+	public void glVertexAttrib2fv (int indx, FloatBuffer values) {
+		profiler.calls[SwtLwjglGLProfiler.VERTEX_ATTRIB2FV]++;
+		gl.glVertexAttrib2fv(indx, values);
+	}
+
+	public void glVertexAttrib3f (int indx, float x, float y, float z) {
+		profiler.calls[SwtLwjglGLProfiler.VERTEX_ATTRIB3F]++;
+		gl.glVertexAttrib3f(indx, x, y, z);
+	}
+
+	public void glVertexAttrib3fv (int indx, FloatBuffer values) {
+		profiler.calls[SwtLwjglGLProfiler.VERTEX_ATTRIB3FV]++;
+		gl.glVertexAttrib3fv(indx, values);
+	}
+
+	public void glVertexAttrib4f (int indx, float x, float y, float z, float w) {
+		profiler.calls[SwtLwjglGLProfiler.VERTEX_ATTRIB4F]++;
+		gl.glVertexAttrib4f(indx, x, y, z, w);
+	}
+
+	public void glVertexAttrib4fv (int indx, FloatBuffer values) {
+		profiler.calls[SwtLwjglGLProfiler.VERTEX_ATTRIB4FV]++;
+		gl.glVertexAttrib4fv(indx, values);
+	}
+
+	public void glVertexAttribPointer (int indx, int size, int type, boolean normalized, int stride, Buffer buffer) {
+		profiler.calls[SwtLwjglGLProfiler.VERTEX_ATTRIB_POINTER]++;
+		gl.glVertexAttribPointer(indx, size, type, normalized, stride, buffer);
+	}
+
+	public void glViewport (int x, int y, int width, int height) {
+		profiler.calls[SwtLwjglGLProfiler.VIEWPORT]++;
+		gl.glViewport(x, y, width, height);
+	}
+
+	public void glDrawElements (int mode, int count, int type, int indices) {
+		profiler.calls[SwtLwjglGLProfiler.DRAW_ELEMENTS]++;
+		profiler.drawElements(count);
+		gl.glDrawElements(mode, count, type, indices);
+	}
+
+	public void glVertexAttribPointer (int indx, int size, int type, boolean normalized, int stride, int ptr) {
+		profiler.calls[SwtLwjglGLProfiler.VERTEX_ATTRIB_POINTER]++;
+		gl.glVertexAttribPointer(indx, size, type, normalized, stride, ptr);
+	}
+}
@@ -0,0 +1,608 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.nio.Buffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GLCommon;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** {@link GL20} installed into {@link com.badlogic.gdx.Gdx#gl} and {@link com.badlogic.gdx.Gdx#gl20} when thread local bindings are
+ * in use, see {@link SwtLwjglThreadBindings}. Every call is forwarded to the GL bound on the calling thread, {@link GLCommon}
+ * methods also work for canvases without GL 2.0.
+ * 
+ * @author Michal NkD Nikodim */
+final class LwjglThreadLocalGL20 implements GL20 {
+	private static GLCommon gl () {
+		GLCommon gl = SwtLwjglThreadBindings.current().gl;
+		if (gl == null) throw new GdxRuntimeException("No GL bound on thread " + Thread.currentThread().getName());
+		return gl;
+	}
+
+	/** Gdx.gl20 is never null once the bindings are installed, GL 1.x canvases end up here when they call GL 2.0 methods. */
+	private static GL20 gl20 () {
+		GL20 gl20 = SwtLwjglThreadBindings.current().gl20;
+		if (gl20 == null) {
+			throw new GdxRuntimeException("No GL 2.0 bound on thread " + Thread.currentThread().getName()
+				+ ", check Gdx.graphics.isGL20Available() instead of Gdx.gl20 != null");
+		}
+		return gl20;
+	}
+
+	public void glActiveTexture (int texture) {
+		gl().glActiveTexture(texture);
+	}
+
+	public void glAttachShader (int program, int shader) {
+		gl20().glAttachShader(program, shader);
+	}
+
+	public void glBindAttribLocation (int program, int index, String name) {
+		gl20().glBindAttribLocation(program, index, name);
+	}
+
+	public void glBindBuffer (int target, int buffer) {
+		gl20().glBindBuffer(target, buffer);
+	}
+
+	public void glBindFramebuffer (int target, int framebuffer) {
+		gl20().glBindFramebuffer(target, framebuffer);
+	}
+
+	public void glBindRenderbuffer (int target, int renderbuffer) {
+		gl20().glBindRenderbuffer(target, renderbuffer);
+	}
+
+	public void glBindTexture (int target, int texture) {
+		gl().glBindTexture(target, texture);
+	}
+
+	public void glBlendColor (float red, float green, float blue, float alpha) {
+		gl20().glBlendColor(red, green, blue, alpha);
+	}
+
+	public void glBlendEquation (int mode) {
+		gl20().glBlendEquation(mode);
+	}
+
+	public void glBlendEquationSeparate (int modeRGB, int modeAlpha) {
+		gl20().glBlendEquationSeparate(modeRGB, modeAlpha);
+	}
+
+	public void glBlendFunc (int sfactor, int dfactor) {
+		gl().glBlendFunc(sfactor, dfactor);
+	}
+
+	public void glBlendFuncSeparate (int srcRGB, int dstRGB, int srcAlpha, int dstAlpha) {
+		gl20().glBlendFuncSeparate(srcRGB, dstRGB, srcAlpha, dstAlpha);
+	}
+
+	public void glBufferData (int target, int size, Buffer data, int usage) {
+		gl20().glBufferData(target, size, data, usage);
+	}
+
+	public void glBufferSubData (int target, int offset, int size, Buffer data) {
+		gl20().glBufferSubData(target, offset, size, data);
+	}
+
+	public int glCheckFramebufferStatus (int target) {
+		return gl20().glCheckFramebufferStatus(target);
+	}
+
+	public void glClear (int mask) {
+		gl().glClear(mask);
+	}
+
+	public void glClearColor (float red, float green, float blue, float alpha) {
+		gl().glClearColor(red, green, blue, alpha);
+	}
+
+	public void glClearDepthf (float depth) {
+		gl().glClearDepthf(depth);
+	}
+
+	public void glClearStencil (int s) {
+		gl().glClearStencil(s);
+	}
+
+	public void glColorMask (boolean red, boolean green, boolean blue, boolean alpha) {
+		gl().glColorMask(red, green, blue, alpha);
+	}
+
+	public void glCompileShader (int shader) {
+		gl20().glCompileShader(shader);
+	}
+
+	public void glCompressedTexImage2D (int target, int level, int internalformat, int width, int height, int border, int imageSize, Buffer data) {
+		gl().glCompressedTexImage2D(target, level, internalformat, width, height, border, imageSize, data);
+	}
+
+	public void glCompressedTexSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height, int format, int imageSize, Buffer data) {
+		gl().glCompressedTexSubImage2D(target, level, xoffset, yoffset, width, height, format, imageSize, data);
+	}
+
+	public void glCopyTexImage2D (int target, int level, int internalformat, int x, int y, int width, int height, int border) {
+		gl().glCopyTexImage2D(target, level, internalformat, x, y, width, height, border);
+	}
+
+	public void glCopyTexSubImage2D (int target, int level, int xoffset, int yoffset, int x, int y, int width, int height) {
+		gl().glCopyTexSubImage2D(target, level, xoffset, yoffset, x, y, width, height);
+	}
+
+	public int glCreateProgram () {
+		return gl20().glCreateProgram();
+	}
+
+	public int glCreateShader (int type) {
+		return gl20().glCreateShader(type);
+	}
+
+	public void glCullFace (int mode) {
+		gl().glCullFace(mode);
+	}
+
+	public void glDeleteBuffers (int n, IntBuffer buffers) {
+		gl20().glDeleteBuffers(n, buffers);
+	}
+
+	public void glDeleteFramebuffers (int n, IntBuffer framebuffers) {
+		gl20().glDeleteFramebuffers(n, framebuffers);
+	}
+
+	public void glDeleteProgram (int program) {
+		gl20().glDeleteProgram(program);
+	}
+
+	public void glDeleteRenderbuffers (int n, IntBuffer renderbuffers) {
+		gl20().glDeleteRenderbuffers(n, renderbuffers);
+	}
+
+	public void glDeleteShader (int shader) {
+		gl20().glDeleteShader(shader);
+	}
+
+	public void glDeleteTextures (int n, IntBuffer textures) {
+		gl().glDeleteTextures(n, textures);
+	}
+
+	public void glDepthFunc (int func) {
+		gl().glDepthFunc(func);
+	}
+
+	public void glDepthMask (boolean flag) {
+		gl().glDepthMask(flag);
+	}
+
+	public void glDepthRangef (float zNear, float zFar) {
+		gl().glDepthRangef(zNear, zFar);
+	}
+
+	public void glDetachShader (int program, int shader) {
+		gl20().glDetachShader(program, shader);
+	}
+
+	public void glDisable (int cap) {
+		gl().glDisable(cap);
+	}
+
+	public void glDisableVertexAttribArray (int index) {
+		gl20().glDisableVertexAttribArray(index);
+	}
+
+	public void glDrawArrays (int mode, int first, int count) {
+		gl().glDrawArrays(mode, first, count);
+	}
+
+	public void glDrawElements (int mode, int count, int type, Buffer indices) {
+		gl().glDrawElements(mode, count, type, indices);
+	}
+
+	public void glEnable (int cap) {
+		gl().glEnable(cap);
+	}
+
+	public void glEnableVertexAttribArray (int index) {
+		gl20().glEnableVertexAttribArray(index);
+	}
+
+	public void glFinish () {
+		gl().glFinish();
+	}
+
+	public void glFlush () {
+		gl().glFlush();
+	}
+
+	public void glFramebufferRenderbuffer (int target, int attachment, int renderbuffertarget, int renderbuffer) {
+		gl20().glFramebufferRenderbuffer(target, attachment, renderbuffertarget, renderbuffer);
+	}
+
+	public void glFramebufferTexture2D (int target, int attachment, int textarget, int texture, int level) {
+		gl20().glFramebufferTexture2D(target, attachment, textarget, texture, level);
+	}
+
+	public void glFrontFace (int mode) {
+		gl().glFrontFace(mode);
+	}
+
+	public void glGenBuffers (int n, IntBuffer buffers) {
+		gl20().glGenBuffers(n, buffers);
+	}
+
+	public void glGenFramebuffers (int n, IntBuffer framebuffers) {
+		gl20().glGenFramebuffers(n, framebuffers);
+	}
+
+	public void glGenRenderbuffers (int n, IntBuffer renderbuffers) {
+		gl20().glGenRenderbuffers(n, renderbuffers);
+	}
+
+	public void glGenTextures (int n, IntBuffer textures) {
+		gl().glGenTextures(n, textures);
+	}
+
+	public void glGenerateMipmap (int target) {
+		gl20().glGenerateMipmap(target);
+	}
+
+	public String glGetActiveAttrib (int program, int index, IntBuffer size, Buffer type) {
+		return gl20().glGetActiveAttrib(program, index, size, type);
+	}
+
+	public String glGetActiveUniform (int program, int index, IntBuffer size, Buffer type) {
+		return gl20().glGetActiveUniform(program, index, size, type);
+	}
+
+	public void glGetAttachedShaders (int program, int maxcount, Buffer count, IntBuffer shaders) {
+		gl20().glGetAttachedShaders(program, maxcount, count, shaders);
+	}
+
+	public int glGetAttribLocation (int program, String name) {
+		return gl20().glGetAttribLocation(program, name);
+	}
+
+	public void glGetBooleanv (int pname, Buffer params) {
+		gl20().glGetBooleanv(pname, params);
+	}
+
+	public void glGetBufferParameteriv (int target, int pname, IntBuffer params) {
+		gl20().glGetBufferParameteriv(target, pname, params);
+	}
+
+	public int glGetError () {
+		return gl().glGetError();
+	}
+
+	public void glGetFloatv (int pname, FloatBuffer params) {
+		gl20().glGetFloatv(pname, params);
+	}
+
+	public void glGetFramebufferAttachmentParameteriv (int target, int attachment, int pname, IntBuffer params) {
+		gl20().glGetFramebufferAttachmentParameteriv(target, attachment, pname, params);
+	}
+
+	public void glGetIntegerv (int pname, IntBuffer params) {
+		gl().glGetIntegerv(pname, params);
+	}
+
+	public String glGetProgramInfoLog (int program) {
+		return gl20().glGetProgramInfoLog(program);
+	}
+
+	public void glGetProgramiv (int program, int pname, IntBuffer params) {
+		gl20().glGetProgramiv(program, pname, params);
+	}
+
+	public void glGetRenderbufferParameteriv (int target, int pname, IntBuffer params) {
+		gl20().glGetRenderbufferParameteriv(target, pname, params);
+	}
+
+	public String glGetShaderInfoLog (int shader) {
+		return gl20().glGetShaderInfoLog(shader);
+	}
+
+	public void glGetShaderPrecisionFormat (int shadertype, int precisiontype, IntBuffer range, IntBuffer precision) {
+		gl20().glGetShaderPrecisionFormat(shadertype, precisiontype, range, precision);
+	}
+
+	public void glGetShaderSource (int shader, int bufsize, Buffer length, String source) {
+		throw new UnsupportedOperationException("unsupported, won't implement.");
+	}
+
+	public void glGetShaderiv (int shader, int pname, IntBuffer params) {
+		gl20().glGetShaderiv(shader, pname, params);
+	}
+
+	public String glGetString (int name) {
+		return gl().glGetString(name);
+	}
+
+	public void glGetTexParameterfv (int target, int pname, FloatBuffer params) {
+		gl20().glGetTexParameterfv(target, pname, params);
+	}
+
+	public void glGetTexParameteriv (int target, int pname, IntBuffer params) {
+		gl20().glGetTexParameteriv(target, pname, params);
+	}
+
+	public int glGetUniformLocation (int program, String name) {
+		return gl20().glGetUniformLocation(program, name);
+	}
+
+	public void glGetUniformfv (int program, int location, FloatBuffer params) {
+		gl20().glGetUniformfv(program, location, params);
+	}
+
+	public void glGetUniformiv (int program, int location, IntBuffer params) {
+		gl20().glGetUniformiv(program, location, params);
+	}
+
+	public void glGetVertexAttribPointerv (int index, int pname, Buffer pointer) {
+		gl20().glGetVertexAttribPointerv(index, pname, pointer);
+	}
+
+	public void glGetVertexAttribfv (int index, int pname, FloatBuffer params) {
+		gl20().glGetVertexAttribfv(index, pname, params);
+	}
+
+	public void glGetVertexAttribiv (int index, int pname, IntBuffer params) {
+		gl20().glGetVertexAttribiv(index, pname, params);
+	}
+
+	public void glHint (int target, int mode) {
+		gl().glHint(target, mode);
+	}
+
+	public boolean glIsBuffer (int buffer) {
+		return gl20().glIsBuffer(buffer);
+	}
+
+	public boolean glIsEnabled (int cap) {
+		return gl20().glIsEnabled(cap);
+	}
+
+	public boolean glIsFramebuffer (int framebuffer) {
+		return gl20().glIsFramebuffer(framebuffer);
+	}
+
+	public boolean glIsProgram (int program) {
+		return gl20().glIsProgram(program);
+	}
+
+	public boolean glIsRenderbuffer (int renderbuffer) {
+		return gl20().glIsRenderbuffer(renderbuffer);
+	}
+
+	public boolean glIsShader (int shader) {
+		return gl20().glIsShader(shader);
+	}
+
+	public boolean glIsTexture (int texture) {
+		return gl20().glIsTexture(texture);
+	}
+
+	public void glLineWidth (float width) {
+		gl().glLineWidth(width);
+	}
+
+	public void glLinkProgram (int program) {
+		gl20().glLinkProgram(program);
+	}
+
+	public void glPixelStorei (int pname, int param) {
+		gl().glPixelStorei(pname, param);
+	}
+
+	public void glPolygonOffset (float factor, float units) {
+		gl().glPolygonOffset(factor, units);
+	}
+
+	public void glReadPixels (int x, int y, int width, int height, int format, int type, Buffer pixels) {
+		gl().glReadPixels(x, y, width, height, format, type, pixels);
+	}
+
+	public void glReleaseShaderCompiler () {
+		gl20().glReleaseShaderCompiler();
+	}
+
+	public void glRenderbufferStorage (int target, int internalformat, int width, int height) {
+		gl20().glRenderbufferStorage(target, internalformat, width, height);
+	}
+
+	public void glSampleCoverage (float value, boolean invert) {
+		gl20().glSampleCoverage(value, invert);
+	}
+
+	public void glScissor (int x, int y, int width, int height) {
+		gl().glScissor(x, y, width, height);
+	}
+
+	public void glShaderBinary (int n, IntBuffer shaders, int binaryformat, Buffer binary, int length) {
+		gl20().glShaderBinary(n, shaders, binaryformat, binary, length);
+	}
+
+	public void glShaderSource (int shader, String string) {
+		gl20().glShaderSource(shader, string);
+	}
+
+	public void glStencilFunc (int func, int ref, int mask) {
+		gl().glStencilFunc(func, ref, mask);
+	}
+
+	public void glStencilFuncSeparate (int face, int func, int ref, int mask) {
+		gl20().glStencilFuncSeparate(face, func, ref, mask);
+	}
+
+	public void glStencilMask (int mask) {
+		gl().glStencilMask(mask);
+	}
+
+	public void glStencilMaskSeparate (int face, int mask) {
+		gl20().glStencilMaskSeparate(face, mask);
+	}
+
+	public void glStencilOp (int fail, int zfail, int zpass) {
+		gl().glStencilOp(fail, zfail, zpass);
+	}
+
+	public void glStencilOpSeparate (int face, int fail, int zfail, int zpass) {
+		gl20().glStencilOpSeparate(face, fail, zfail, zpass);
+	}
+
+	public void glTexImage2D (int target, int level, int internalformat, int width, int height, int border, int format, int type, Buffer pixels) {
+		gl().glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
+	}
+
+	public void glTexParameterf (int target, int pname, float param) {
+		gl().glTexParameterf(target, pname, param);
+	}
+
+	public void glTexParameterfv (int target, int pname, FloatBuffer params) {
+		gl20().glTexParameterfv(target, pname, params);
+	}
+
+	public void glTexParameteri (int target, int pname, int param) {
+		gl20().glTexParameteri(target, pname, param);
+	}
+
+	public void glTexParameteriv (int target, int pname, IntBuffer params) {
+		gl20().glTexParameteriv(target, pname, params);
+	}
+
+	public void glTexSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height, int format, int type, Buffer pixels) {
+		gl().glTexSubImage2D(target, level, xoffset, yoffset, width, height, format, type, pixels);
+	}
+
+	public void glUniform1f (int location, float x) {
+		gl20().glUniform1f(location, x);
+	}
+
+	public void glUniform1fv (int location, int count, FloatBuffer v) {
+		gl20().glUniform1fv(location, count, v);
+	}
+
+	public void glUniform1i (int location, int x) {
+		gl20().glUniform1i(location, x);
+	}
+
+	public void glUniform1iv (int location, int count, IntBuffer v) {
+		gl20().glUniform1iv(location, count, v);
+	}
+
+	public void glUniform2f (int location, float x, float y) {
+		gl20().glUniform2f(location, x, y);
+	}
+
+	public void glUniform2fv (int location, int count, FloatBuffer v) {
+		gl20().glUniform2fv(location, count, v);
+	}
+
+	public void glUniform2i (int location, int x, int y) {
+		gl20().glUniform2i(location, x, y);
+	}
+
+	public void glUniform2iv (int location, int count, IntBuffer v) {
+		gl20().glUniform2iv(location, count, v);
+	}
+
+	public void glUniform3f (int location, float x, float y, float z) {
+		gl20().glUniform3f(location, x, y, z);
+	}
+
+	public void glUniform3fv (int location, int count, FloatBuffer v) {
+		gl20().glUniform3fv(location, count, v);
+	}
+
+	public void glUniform3i (int location, int x, int y, int z) {
+		gl20().glUniform3i(location, x, y, z);
+	}
+
+	public void glUniform3iv (int location, int count, IntBuffer v) {
+		gl20().glUniform3iv(location, count, v);
+	}
+
+	public void glUniform4f (int location, float x, float y, float z, float w) {
+		gl20().glUniform4f(location, x, y, z, w);
+	}
+
+	public void glUniform4fv (int location, int count, FloatBuffer v) {
+		gl20().glUniform4fv(location, count, v);
+	}
+
+	public void glUniform4i (int location, int x, int y, int z, int w) {
+		gl20().glUniform4i(location, x, y, z, w);
+	}
+
+	public void glUniform4iv (int location, int count, IntBuffer v) {
+		gl20().glUniform4iv(location, count, v);
+	}
+
+	public void glUniformMatrix2fv (int location, int count, boolean transpose, FloatBuffer value) {
+		gl20().glUniformMatrix2fv(location, count, transpose, value);
+	}
+
+	public void glUniformMatrix3fv (int location, int count, boolean transpose, FloatBuffer value) {
+		gl20().glUniformMatrix3fv(location, count, transpose, value);
+	}
+
+	public void glUniformMatrix4fv (int location, int count, boolean transpose, FloatBuffer value) {
+		gl20().glUniformMatrix4fv(location, count, transpose, value);
+	}
+
+	public void glUseProgram (int program) {
+		gl20().glUseProgram(program);
+	}
+
+	public void glValidateProgram (int program) {
+		gl20().glValidateProgram(program);
+	}
+
+	public void glVertexAttrib1f (int indx, float x) {
+		gl20().glVertexAttrib1f(indx, x);
+	}
+
+	public void glVertexAttrib1fv (int indx, FloatBuffer values) {
+		gl20().glVertexAttrib1fv(indx, values);
+	}
+
+	public void glVertexAttrib2f (int indx, float x, float y) {
+		gl20().glVertexAttrib2f(indx, x, y);
+	}
+
+	public void glVertexAttrib2fv (int indx, FloatBuffer values) {
+		gl20().glVertexAttrib2fv(indx, values);
+	}
+
+	public void glVertexAttrib3f (int indx, float x, float y, float z) {
+		gl20().glVertexAttrib3f(indx, x, y, z);
+	}
+
+	public void glVertexAttrib3fv (int indx, FloatBuffer values) {
+		gl20().glVertexAttrib3fv(indx, values);
+	}
+
+	public void glVertexAttrib4f (int indx, float x, float y, float z, float w) {
+		gl20().glVertexAttrib4f(indx, x, y, z, w);
+	}
+
+	public void glVertexAttrib4fv (int indx, FloatBuffer values) {
+		gl20().glVertexAttrib4fv(indx, values);
+	}
+
+	public void glVertexAttribPointer (int indx, int size, int type, boolean normalized, int stride, Buffer buffer) {
+		gl20().glVertexAttribPointer(indx, size, type, normalized, stride, buffer);
+	}
+
+	public void glViewport (int x, int y, int width, int height) {
+		gl().glViewport(x, y, width, height);
+	}
+
+	public void glDrawElements (int mode, int count, int type, int indices) {
+		gl20().glDrawElements(mode, count, type, indices);
+	}
+
+	public void glVertexAttribPointer (int indx, int size, int type, boolean normalized, int stride, int ptr) {
+		gl20().glVertexAttribPointer(indx, size, type, normalized, stride, ptr);
+	}
+}
@@ -1,292 +1,479 @@
-package com.badlogic.gdx.backends.lwjgl.swt;
-
-import java.util.HashMap;
-import java.util.Map;
-
-import org.eclipse.swt.events.DisposeEvent;
-import org.eclipse.swt.events.DisposeListener;
-import org.eclipse.swt.widgets.Composite;
-
-import com.badlogic.gdx.Application;
-import com.badlogic.gdx.ApplicationListener;
-import com.badlogic.gdx.Audio;
-import com.badlogic.gdx.Files;
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Graphics;
-import com.badlogic.gdx.Input;
-import com.badlogic.gdx.LifecycleListener;
-import com.badlogic.gdx.Net;
-import com.badlogic.gdx.Preferences;
-import com.badlogic.gdx.backends.lwjgl.LwjglClipboard;
-import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
-import com.badlogic.gdx.backends.lwjgl.LwjglNativesLoader;
-import com.badlogic.gdx.backends.lwjgl.LwjglPreferences;
-import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.Clipboard;
-
-/**
- * @author Michal NkD Nikodim
- *
- */
-public class SwtLwjglApplication implements Application {
-
-    private static int instanceCount = 0;
-
-    public static SwtLwjglApplication createCanvas(final Composite parent, final ApplicationListener applicationListener, SwtLwjglConfig config) {
-        if (instanceCount == 0) {
-            LwjglNativesLoader.load();
-            Gdx.files = new LwjglFiles();
-        }
-        instanceCount++;
-        return new SwtLwjglApplication(parent, applicationListener, config);
-    }
-
-    private final SwtLwjglGraphics graphics;
-    private final SwtInput input;
-    private final ApplicationListener applicationListener;
-    private final Map<String, Preferences> preferences = new HashMap<String, Preferences>();
-    private final Clipboard clipboard = new LwjglClipboard();
-    private final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
-    private final Array<Runnable> runnables = new Array<Runnable>();
-    private final Array<Runnable> executedRunnables = new Array<Runnable>();
-
-    private int logLevel = LOG_INFO;
-    private boolean running = true;
-
-    private SwtLwjglApplication(final Composite parent, final ApplicationListener applicationListener, SwtLwjglConfig config) {
-        this.graphics = new SwtLwjglGraphics(parent, config);
-        this.input = new SwtInput(graphics.getGlCanvas());
-        this.applicationListener = applicationListener;
-        Gdx.app = this;
-        Gdx.graphics = graphics;
-        Gdx.input = input;
-
-        graphics.getGlCanvas().addDisposeListener(new DisposeListener() {
-            
-            @Override
-            public void widgetDisposed(DisposeEvent e) {
-                running = false;
-                bindAllGdxObjects();
-                applicationListener.pause();
-                applicationListener.dispose();
-                for (LifecycleListener l : lifecycleListeners) {
-                    l.pause();
-                    l.dispose();
-                }
-            }
-        });
-        
-        graphics.getGlCanvas().getDisplay().asyncExec(new Runnable() {
-            @Override
-            public void run() {
-                bindAllGdxObjects();
-                applicationListener.create();
-                applicationListener.resize(graphics.getWidth(), graphics.getHeight());
-                Gdx.gl.glViewport(0, 0, graphics.getWidth(), graphics.getHeight());
-                graphics.isResized(); //clear resized flag
-                graphics.requestRendering();
-                graphics.getGlCanvas().forceFocus();
-            }
-        });
-
-        graphics.getGlCanvas().getDisplay().asyncExec(new Runnable() {
-            @Override
-            public void run() {
-                if (running && !graphics.getGlCanvas().isDisposed()) mainLoop();
-                if (running && !graphics.getGlCanvas().isDisposed()) graphics.getGlCanvas().getDisplay().asyncExec(this);
-            }
-        });
-    }
-
-    private void mainLoop() {
-        boolean shouldRender = false;
-        
-        bindAllGdxObjects();
-
-        //graphics.setCurrent();
-        if (graphics.isResized()) {
-            Gdx.gl.glViewport(0, 0, graphics.getWidth(), graphics.getHeight());
-            applicationListener.resize(graphics.getWidth(), graphics.getHeight());
-            shouldRender = true;
-        }
-
-        synchronized (runnables) {
-            executedRunnables.clear();
-            executedRunnables.addAll(runnables);
-            runnables.clear();
-        }
-
-        for (int i = 0; i < executedRunnables.size; i++) {
-            shouldRender = true;
-            executedRunnables.get(i).run(); // calls out to random app code that could do anything ...
-        }
-
-        // If one of the runnables set running to false, for example after an exit().
-        if (!running) return;
-
-        shouldRender |= graphics.shouldRender();
-        input.processEvents();
-        if (shouldRender) {
-            graphics.updateTime();
-            applicationListener.render();
-            graphics.swapBuffer();
-        }
-    }
-
-    private void bindAllGdxObjects(){
-        Gdx.app = SwtLwjglApplication.this;
-        Gdx.graphics = graphics;
-        Gdx.input = input;
-        graphics.setCurrent();
-    }
-    
-    @Override
-    public ApplicationListener getApplicationListener() {
-        return applicationListener;
-    }
-
-    @Override
-    public Graphics getGraphics() {
-        return graphics;
-    }
-
-    @Override
-    public Audio getAudio() {
-        return null;
-    }
-
-    @Override
-    public Input getInput() {
-        return input;
-    }
-
-    @Override
-    public Files getFiles() {
-        return Gdx.files;
-    }
-
-    @Override
-    public Net getNet() {
-        return null;
-    }
-
-    @Override
-    public ApplicationType getType() {
-        return ApplicationType.Desktop;
-    }
-
-    @Override
-    public int getVersion() {
-        return 0;
-    }
-
-    @Override
-    public long getJavaHeap() {
-        return Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
-    }
-
-    @Override
-    public long getNativeHeap() {
-        return getJavaHeap();
-    }
-
-    @Override
-    public Preferences getPreferences(String name) {
-        if (preferences.containsKey(name)) {
-            return preferences.get(name);
-        } else {
-            Preferences prefs = new LwjglPreferences(name);
-            preferences.put(name, prefs);
-            return prefs;
-        }
-    }
-
-    @Override
-    public Clipboard getClipboard() {
-        return clipboard;
-    }
-
-    @Override
-    public void postRunnable(Runnable runnable) {
-        synchronized (runnables) {
-            runnables.add(runnable);
-            Gdx.graphics.requestRendering();
-        }
-    }
-
-    @Override
-    public void exit() {
-        postRunnable(new Runnable() {
-            @Override
-            public void run() {
-                running = false;
-            }
-        });
-    }
-
-    @Override
-    public void addLifecycleListener(LifecycleListener listener) {
-        synchronized (lifecycleListeners) {
-            lifecycleListeners.add(listener);
-        }
-
-    }
-
-    @Override
-    public void removeLifecycleListener(LifecycleListener listener) {
-        synchronized (lifecycleListeners) {
-            lifecycleListeners.removeValue(listener, true);
-        }
-
-    }
-
-    @Override
-    public void debug(String tag, String message) {
-        if (logLevel >= LOG_DEBUG) {
-            System.out.println(tag + ": " + message);
-        }
-    }
-
-    @Override
-    public void debug(String tag, String message, Throwable exception) {
-        if (logLevel >= LOG_DEBUG) {
-            System.out.println(tag + ": " + message);
-            exception.printStackTrace(System.out);
-        }
-    }
-
-    public void log(String tag, String message) {
-        if (logLevel >= LOG_INFO) {
-            System.out.println(tag + ": " + message);
-        }
-    }
-
-    @Override
-    public void log(String tag, String message, Exception exception) {
-        if (logLevel >= LOG_INFO) {
-            System.out.println(tag + ": " + message);
-            exception.printStackTrace(System.out);
-        }
-    }
-
-    @Override
-    public void error(String tag, String message) {
-        if (logLevel >= LOG_ERROR) {
-            System.err.println(tag + ": " + message);
-        }
-    }
-
-    @Override
-    public void error(String tag, String message, Throwable exception) {
-        if (logLevel >= LOG_ERROR) {
-            System.err.println(tag + ": " + message);
-            exception.printStackTrace(System.err);
-        }
-    }
-
-    @Override
-    public void setLogLevel(int logLevel) {
-        this.logLevel = logLevel;
-    }
-
-}
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.swt.events.DisposeEvent;
+import org.eclipse.swt.events.DisposeListener;
+import org.eclipse.swt.widgets.Composite;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationListener;
+import com.badlogic.gdx.Audio;
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.LifecycleListener;
+import com.badlogic.gdx.Net;
+import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.backends.lwjgl.LwjglClipboard;
+import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
+import com.badlogic.gdx.backends.lwjgl.LwjglNativesLoader;
+import com.badlogic.gdx.backends.lwjgl.LwjglPreferences;
+import com.badlogic.gdx.backends.lwjgl.swt.SwtLwjglFrameStats.Phase;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Clipboard;
+
+/**
+ * @author Michal NkD Nikodim
+ *
+ */
+public class SwtLwjglApplication implements Application {
+
+    private static int instanceCount = 0;
+
+    public static SwtLwjglApplication createCanvas(final Composite parent, final ApplicationListener applicationListener, SwtLwjglConfig config) {
+        initialize();
+        return new SwtLwjglApplication(parent, applicationListener, config);
+    }
+
+    /**
+     * Loads the natives and sets {@link Gdx#files} before the first application, canvas or offscreen, is created.
+     */
+    static synchronized void initialize() {
+        if (instanceCount == 0) {
+            LwjglNativesLoader.load();
+            Gdx.files = new LwjglFiles();
+        }
+        instanceCount++;
+    }
+
+    private final SwtLwjglFrameScheduler scheduler;
+    private final SwtLwjglGraphics graphics;
+    private final SwtInput input;
+    private final SwtLwjglRenderThread renderThread;
+    private final ApplicationListener applicationListener;
+    private final Map<String, Preferences> preferences = new HashMap<String, Preferences>();
+    private final Clipboard clipboard = new LwjglClipboard();
+    private final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
+    private final SwtLwjglRunnableQueue runnables = new SwtLwjglRunnableQueue();
+    private final SwtLwjglRunnableQueue priorityRunnables = new SwtLwjglRunnableQueue();
+    private volatile long runnableBudget;
+    private volatile int runnableBudgetCount;
+    private volatile int runnableBacklog = 0;
+    private volatile long runnableCarryOver = 0;
+
+    private int logLevel = LOG_INFO;
+    private volatile boolean running = true;
+    private volatile boolean created = false;
+
+    private SwtLwjglApplication(final Composite parent, final ApplicationListener applicationListener, SwtLwjglConfig config) {
+        this.scheduler = new SwtLwjglFrameScheduler(parent.getDisplay(), new Runnable() {
+            @Override
+            public void run() {
+                if (!created || !running || graphics.getGlCanvas().isDisposed()) return;
+                if (renderThread != null) {
+                    renderThread.requestFrame();
+                } else {
+                    mainLoop();
+                }
+            }
+        });
+        this.graphics = new SwtLwjglGraphics(parent, config, scheduler);
+        // render thread mode is known once the canvas context exists, canvases falling back to the UI thread keep the statics
+        if (graphics.isRenderThreadMode()) SwtLwjglThreadBindings.install();
+        this.input = new SwtInput(graphics);
+        input.setCoalesceMouseMoves(config.coalesceMouseMoves);
+        this.applicationListener = applicationListener;
+        setRunnableBudget(config.runnableBudget);
+        setRunnableBudgetCount(config.runnableBudgetCount);
+        bindGdxObjects();
+
+        if (graphics.isRenderThreadMode()) {
+            renderThread = new SwtLwjglRenderThread(this, graphics, config, new Runnable() {
+                @Override
+                public void run() {
+                    createApplicationListener();
+                }
+            }, new Runnable() {
+                @Override
+                public void run() {
+                    if (running) mainLoop();
+                }
+            }, new Runnable() {
+                @Override
+                public void run() {
+                    disposeApplicationListener();
+                }
+            });
+            graphics.setRenderThread(renderThread);
+        } else {
+            renderThread = null;
+        }
+
+        graphics.getGlCanvas().addDisposeListener(new DisposeListener() {
+            
+            @Override
+            public void widgetDisposed(DisposeEvent e) {
+                running = false;
+                scheduler.dispose();
+                if (renderThread != null) {
+                    renderThread.shutdown();
+                } else {
+                    disposeApplicationListener();
+                }
+                graphics.releaseCurrent();
+            }
+        });
+        
+        graphics.getGlCanvas().getDisplay().asyncExec(new Runnable() {
+            @Override
+            public void run() {
+                if (graphics.getGlCanvas().isDisposed()) return;
+                if (renderThread != null) {
+                    renderThread.start();
+                } else {
+                    createApplicationListener();
+                }
+                graphics.getGlCanvas().forceFocus();
+            }
+        });
+    }
+
+    private void createApplicationListener() {
+        bindAllGdxObjects();
+        applicationListener.create();
+        applicationListener.resize(graphics.getWidth(), graphics.getHeight());
+        Gdx.gl.glViewport(0, 0, graphics.getWidth(), graphics.getHeight());
+        graphics.isResized(); //clear resized flag
+        created = true;
+        graphics.requestRendering();
+    }
+
+    private void disposeApplicationListener() {
+        bindAllGdxObjects();
+        applicationListener.pause();
+        applicationListener.dispose();
+        for (LifecycleListener l : lifecycleListeners) {
+            l.pause();
+            l.dispose();
+        }
+        graphics.disposeTextureStreamers();
+        graphics.getReadback().dispose();
+    }
+
+    private void mainLoop() {
+        boolean shouldRender = false;
+        SwtLwjglFrameStats stats = graphics.getFrameStats();
+        long frameStart = System.nanoTime();
+        
+        bindAllGdxObjects();
+
+        //graphics.setCurrent();
+        if (graphics.isResized()) {
+            Gdx.gl.glViewport(0, 0, graphics.getWidth(), graphics.getHeight());
+            applicationListener.resize(graphics.getWidth(), graphics.getHeight());
+            shouldRender = true;
+        }
+
+        long phaseStart = System.nanoTime();
+        shouldRender |= executeRunnables();
+        shouldRender |= graphics.updateTextureStreamers();
+        graphics.getReadback().update();
+        graphics.updateFrameRecorder();
+        long now = System.nanoTime();
+        stats.record(Phase.Runnables, now - phaseStart, now);
+
+        // If one of the runnables set running to false, for example after an exit().
+        if (!running) return;
+
+        shouldRender |= graphics.shouldRender();
+        phaseStart = now;
+        input.processEvents();
+        now = System.nanoTime();
+        stats.record(Phase.Input, now - phaseStart, now);
+        if (shouldRender && !graphics.isRenderingSuspended()) {
+            graphics.updateTime();
+            phaseStart = now;
+            applicationListener.render();
+            now = System.nanoTime();
+            stats.record(Phase.Render, now - phaseStart, now);
+            phaseStart = now;
+            graphics.swapBuffer();
+            now = System.nanoTime();
+            stats.record(Phase.Swap, now - phaseStart, now);
+            if (graphics.isProfiling()) graphics.getProfiler().endFrame();
+        }
+        stats.record(Phase.Frame, now - frameStart, now);
+
+        // next frame is scheduled only when rendering continuously, otherwise the UI thread sleeps until the next wakeup
+        if (running && graphics.isContinuousRendering()) scheduler.scheduleNextFrame();
+    }
+
+    /**
+     * Runs the priority lane completely, then regular runnables in FIFO order until the per frame budget is used up. Only
+     * runnables queued before this frame are executed, runnables posted by them wait for the next one. Whatever does not fit
+     * stays queued and the next frame is requested right away.
+     * 
+     * @return whether any runnable was executed
+     */
+    private boolean executeRunnables() {
+        boolean executed = false;
+        for (int i = priorityRunnables.size(); i > 0 && running; i--) {
+            Runnable runnable = priorityRunnables.poll();
+            if (runnable == null) break;
+            executed = true;
+            runnable.run(); // calls out to random app code that could do anything ...
+        }
+
+        long budget = runnableBudget;
+        long start = budget > 0 ? System.nanoTime() : 0;
+        int count = runnables.size();
+        if (runnableBudgetCount > 0 && count > runnableBudgetCount) count = runnableBudgetCount;
+        for (int i = count; i > 0 && running; i--) {
+            Runnable runnable = runnables.poll();
+            if (runnable == null) break;
+            executed = true;
+            runnable.run();
+            if (budget > 0 && System.nanoTime() - start >= budget) break;
+        }
+
+        runnableBacklog = runnables.size();
+        runnableCarryOver = runnables.getOldestAge();
+        if (runnableBacklog > 0) scheduler.wake();
+        return executed;
+    }
+
+    private void bindAllGdxObjects(){
+        // GL objects to bind are known after setCurrent, profiling switches there
+        graphics.setCurrent();
+        bindGdxObjects();
+    }
+
+    private void bindGdxObjects() {
+        if (SwtLwjglThreadBindings.isInstalled()) {
+            SwtLwjglThreadBindings.bind(this, graphics, input, graphics.getGLCommon(), graphics.getGL20());
+        } else if (Gdx.app != this || Gdx.graphics != graphics || Gdx.input != input) {
+            Gdx.app = SwtLwjglApplication.this;
+            Gdx.graphics = graphics;
+            Gdx.input = input;
+        }
+    }
+    
+    @Override
+    public ApplicationListener getApplicationListener() {
+        return applicationListener;
+    }
+
+    @Override
+    public Graphics getGraphics() {
+        return graphics;
+    }
+
+    @Override
+    public Audio getAudio() {
+        return null;
+    }
+
+    @Override
+    public Input getInput() {
+        return input;
+    }
+
+    @Override
+    public Files getFiles() {
+        return Gdx.files;
+    }
+
+    @Override
+    public Net getNet() {
+        return null;
+    }
+
+    @Override
+    public ApplicationType getType() {
+        return ApplicationType.Desktop;
+    }
+
+    @Override
+    public int getVersion() {
+        return 0;
+    }
+
+    @Override
+    public long getJavaHeap() {
+        return Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+    }
+
+    @Override
+    public long getNativeHeap() {
+        return getJavaHeap();
+    }
+
+    @Override
+    public Preferences getPreferences(String name) {
+        if (preferences.containsKey(name)) {
+            return preferences.get(name);
+        } else {
+            Preferences prefs = new LwjglPreferences(name);
+            preferences.put(name, prefs);
+            return prefs;
+        }
+    }
+
+    @Override
+    public Clipboard getClipboard() {
+        return clipboard;
+    }
+
+    @Override
+    public void postRunnable(Runnable runnable) {
+        runnables.add(runnable);
+        scheduler.wake(); // executed runnables always trigger rendering, no need to go through graphics
+    }
+
+    /**
+     * Posts a latency critical runnable. The priority lane is executed completely at the start of the next frame, before regular
+     * runnables and without any budget.
+     */
+    public void postPriorityRunnable(Runnable runnable) {
+        priorityRunnables.add(runnable);
+        scheduler.wake();
+    }
+
+    /**
+     * @param milliseconds time per frame for executing posted runnables, runnables which do not fit carry over to the next frame.
+     *            0 means no limit. At least one runnable is executed per frame.
+     */
+    public void setRunnableBudget(float milliseconds) {
+        this.runnableBudget = (long) (Math.max(0, milliseconds) * 1000000);
+    }
+
+    public float getRunnableBudget() {
+        return runnableBudget / 1000000f;
+    }
+
+    /**
+     * @param count maximal number of posted runnables executed per frame, 0 means no limit
+     */
+    public void setRunnableBudgetCount(int count) {
+        this.runnableBudgetCount = Math.max(0, count);
+    }
+
+    public int getRunnableBudgetCount() {
+        return runnableBudgetCount;
+    }
+
+    /**
+     * @return number of posted runnables waiting for execution, priority lane included
+     */
+    public int getRunnableQueueDepth() {
+        return runnables.size() + priorityRunnables.size();
+    }
+
+    /**
+     * @return number of runnables carried over to the next frame at the end of the last frame
+     */
+    public int getRunnableBacklog() {
+        return runnableBacklog;
+    }
+
+    /**
+     * @return how long the oldest carried over runnable had been waiting at the end of the last frame, in milliseconds
+     */
+    public float getRunnableCarryOverTime() {
+        return runnableCarryOver / 1000000f;
+    }
+
+    /**
+     * @return moving average of the time between {@link #postRunnable(Runnable)} and execution of the runnable, in milliseconds
+     */
+    public float getAverageRunnableLatency() {
+        return runnables.getAverageLatency() / 1000000f;
+    }
+
+    /**
+     * @return longest time between {@link #postRunnable(Runnable)} and execution since the last call of this method, in
+     *         milliseconds
+     */
+    public float getMaxRunnableLatency() {
+        return runnables.getAndResetMaxLatency() / 1000000f;
+    }
+
+    @Override
+    public void exit() {
+        postRunnable(new Runnable() {
+            @Override
+            public void run() {
+                running = false;
+            }
+        });
+    }
+
+    @Override
+    public void addLifecycleListener(LifecycleListener listener) {
+        synchronized (lifecycleListeners) {
+            lifecycleListeners.add(listener);
+        }
+
+    }
+
+    @Override
+    public void removeLifecycleListener(LifecycleListener listener) {
+        synchronized (lifecycleListeners) {
+            lifecycleListeners.removeValue(listener, true);
+        }
+
+    }
+
+    @Override
+    public void debug(String tag, String message) {
+        if (logLevel >= LOG_DEBUG) {
+            System.out.println(tag + ": " + message);
+        }
+    }
+
+    @Override
+    public void debug(String tag, String message, Throwable exception) {
+        if (logLevel >= LOG_DEBUG) {
+            System.out.println(tag + ": " + message);
+            exception.printStackTrace(System.out);
+        }
+    }
+
+    public void log(String tag, String message) {
+        if (logLevel >= LOG_INFO) {
+            System.out.println(tag + ": " + message);
+        }
+    }
+
+    @Override
+    public void log(String tag, String message, Exception exception) {
+        if (logLevel >= LOG_INFO) {
+            System.out.println(tag + ": " + message);
+            exception.printStackTrace(System.out);
+        }
+    }
+
+    @Override
+    public void error(String tag, String message) {
+        if (logLevel >= LOG_ERROR) {
+            System.err.println(tag + ": " + message);
+        }
+    }
+
+    @Override
+    public void error(String tag, String message, Throwable exception) {
+        if (logLevel >= LOG_ERROR) {
+            System.err.println(tag + ": " + message);
+            exception.printStackTrace(System.err);
+        }
+    }
+
+    @Override
+    public void setLogLevel(int logLevel) {
+        this.logLevel = logLevel;
+    }
+
+}
@@ -1,34 +1,64 @@
-package com.badlogic.gdx.backends.lwjgl.swt;
-
-import com.badlogic.gdx.Graphics;
-
-/**
- * @author Michal NkD Nikodim
- *
- */
-public class SwtLwjglConfig {
-
-    /** whether to attempt to use OpenGL ES 2.0. Note GL2 may not be available even if this is true. default: false **/
-    public boolean useGL20 = true;
-    /** number of bits per color channel **/
-    public int r = 8, g = 8, b = 8, a = 8;
-    /** number of bits for depth and stencil buffer **/
-    public int depth = 16, stencil = 0;
-    /** number of samples for MSAA **/
-    public int samples = 4;
-    /** whether to enable vsync, can be changed at runtime via {@link Graphics#setVSync(boolean)} **/
-    public boolean vSyncEnabled = true;
-
-    public SwtLwjglConfig() {
-        //explicit empty constructor
-    }
-
-    public SwtLwjglConfig(final boolean useGL20) {
-        this.useGL20 = useGL20;
-    }
-
-    public SwtLwjglConfig(final boolean useGL20, final boolean vSyncEnabled) {
-        this.useGL20 = useGL20;
-        this.vSyncEnabled = vSyncEnabled;
-    }
-}
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import com.badlogic.gdx.Graphics;
+
+/**
+ * @author Michal NkD Nikodim
+ *
+ */
+public class SwtLwjglConfig {
+
+    /** whether to attempt to use OpenGL ES 2.0. Note GL2 may not be available even if this is true. default: false **/
+    public boolean useGL20 = true;
+    /** number of bits per color channel **/
+    public int r = 8, g = 8, b = 8, a = 8;
+    /** number of bits for depth and stencil buffer **/
+    public int depth = 16, stencil = 0;
+    /** number of samples for MSAA **/
+    public int samples = 4;
+    /** name of the group of canvases sharing textures, buffers, shaders and other GL objects, objects created by one canvas of the group are usable in all of them and live until the last canvas of the group is disposed. Canvases of one group must use the same color, depth, stencil and sample settings. Canvases rendering on their own thread (see {@link #renderThread}) render through a context which does not share. null means no sharing, default: null **/
+    public String shareGroup = null;
+    /** whether to enable vsync, can be changed at runtime via {@link Graphics#setVSync(boolean)} **/
+    public boolean vSyncEnabled = true;
+    /** whether vsync should let late frames tear instead of stalling a whole refresh (adaptive vsync), applied only where the driver supports it, can be changed at runtime via {@link SwtLwjglGraphics#setAdaptiveVSync(boolean)} **/
+    public boolean adaptiveVSync = false;
+    /** target framerate while the canvas shell is active, 0 means no limit, can be changed at runtime via {@link SwtLwjglGraphics#setForegroundFps(int)}. default: 0 **/
+    public int foregroundFps = 0;
+    /** target framerate while the canvas shell is not active, 0 means no limit, -1 means not render continuously, can be changed at runtime via {@link SwtLwjglGraphics#setBackgroundFps(int)} **/
+    public int backgroundFps = 60;
+    /** target framerate while the canvas is hidden, minimized or scrolled out of view, 0 means no limit, -1 means not render at all, can be changed at runtime via {@link SwtLwjglGraphics#setHiddenFps(int)} **/
+    public int hiddenFps = -1;
+    /** expected duration of one frame in milliseconds, used to share the UI thread among canvases of one display, 0 means the measured average is used, can be changed at runtime via {@link SwtLwjglGraphics#setFrameBudget(float)} **/
+    public float frameBudget = 0;
+    /** time per frame in milliseconds for executing posted runnables, the rest carries over to the next frame, 0 means no limit, can be changed at runtime via {@link SwtLwjglApplication#setRunnableBudget(float)} **/
+    public float runnableBudget = 0;
+    /** maximal number of posted runnables executed per frame, 0 means no limit, can be changed at runtime via {@link SwtLwjglApplication#setRunnableBudgetCount(int)} **/
+    public int runnableBudgetCount = 0;
+    /** whether the canvas renders on its own thread into an offscreen context, the UI thread only presents finished frames. Gdx.app, Gdx.graphics, Gdx.input, Gdx.gl and Gdx.gl20 become thread local once such canvas exists, Gdx.gl20 is then never null, even for canvases without GL 2.0, use Gdx.graphics.isGL20Available() to tell. Requires GL 2.0, pbuffers, framebuffer objects and pixel buffer objects, otherwise the canvas renders on the UI thread. MSAA is not available in this mode. default: false **/
+    public boolean renderThread = false;
+    /** whether the frame phase statistics of the canvas are registered as MBean in the platform MBean server, see {@link SwtLwjglFrameStats} **/
+    public boolean frameStatsMBean = true;
+    /** whether GL calls are counted per frame from the start, can be changed at runtime via {@link SwtLwjglGraphics#setProfiling(boolean)} **/
+    public boolean profiling = false;
+    /** whether redundant binds and state changes are skipped by the GL 2.0 wrapper, can be changed at runtime via {@link SwtLwjglGraphics#setStateCache(boolean)} **/
+    public boolean stateCache = false;
+    /** whether consecutive mouse move and drag events are merged into one event per frame, can be changed at runtime via {@link SwtInput#setCoalesceMouseMoves(boolean)} **/
+    public boolean coalesceMouseMoves = false;
+    /** pixel buffer objects of {@link SwtLwjglGraphics#readPixelsAsync(int, int, int, int, SwtLwjglReadback.Listener)}, reads are rejected while all of them are in flight **/
+    public int readbackSlots = 3;
+    /** pixel buffers handed to readback listeners and not released yet, finished reads wait while all of them are out **/
+    public int readbackBuffers = 4;
+
+    public SwtLwjglConfig() {
+        //explicit empty constructor
+    }
+
+    public SwtLwjglConfig(final boolean useGL20) {
+        this.useGL20 = useGL20;
+    }
+
+    public SwtLwjglConfig(final boolean useGL20, final boolean vSyncEnabled) {
+        this.useGL20 = useGL20;
+        this.vSyncEnabled = vSyncEnabled;
+    }
+}
@@ -0,0 +1,77 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.swt.opengl.GLCanvas;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Canvases whose contexts share textures, buffers, shaders and other GL objects, see {@link SwtLwjglConfig#shareGroup}. A new
+ * canvas shares with any live member, the driver keeps the shared objects alive as long as one context of the group exists, so
+ * members can be disposed in any order. The group is forgotten with its last member, a canvas created later under the same name
+ * starts a new group with fresh objects.
+ *
+ * @author Michal NkD Nikodim
+ *
+ */
+final class SwtLwjglContextGroup {
+
+    private static final Map<String, SwtLwjglContextGroup> groups = new HashMap<String, SwtLwjglContextGroup>();
+
+    private final String name;
+    private final Array<GLCanvas> members = new Array<GLCanvas>();
+
+    private SwtLwjglContextGroup(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return group of the name, created when there is none
+     */
+    static SwtLwjglContextGroup get(String name) {
+        synchronized (groups) {
+            SwtLwjglContextGroup group = groups.get(name);
+            if (group == null) {
+                group = new SwtLwjglContextGroup(name);
+                groups.put(name, group);
+            }
+            return group;
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * @return canvas a new member shares its context with, null for the first member
+     */
+    GLCanvas getShareContext() {
+        synchronized (groups) {
+            for (GLCanvas canvas : members) {
+                if (!canvas.isDisposed()) return canvas;
+            }
+            return null;
+        }
+    }
+
+    void join(GLCanvas canvas) {
+        synchronized (groups) {
+            members.add(canvas);
+            // a group emptied between get() and join() was already forgotten
+            if (groups.get(name) != this) groups.put(name, this);
+        }
+    }
+
+    /**
+     * Removes the canvas, called when it is disposed. The group is forgotten with its last member.
+     */
+    void leave(GLCanvas canvas) {
+        synchronized (groups) {
+            members.removeValue(canvas, true);
+            if (members.size == 0 && groups.get(name) == this) groups.remove(name);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.widgets.Display;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * One scheduler per {@link Display}, shared by all canvases created on it. Frames of all canvases which requested one run in a
+ * single ordered pass per tick: the focused canvas first, then canvases which had to skip previous ticks, then the remaining
+ * ones in creation order. A tick has a time budget of the shortest frame period among the canvases. Once the budget is used up,
+ * canvases whose {@link SwtLwjglFrameScheduler#getFrameCost() frame cost} does not fit skip the tick and run in the next one,
+ * which starts when the budget of the skipped tick has elapsed. The focused canvas, the first frame run in a tick and a canvas
+ * which skipped the previous tick never skip, so a canvas costing more than the whole budget still renders every other tick.
+ * <p>
+ * Like the per canvas scheduler before it, the display sleeps in its event loop while no canvas requested a frame. Early and
+ * skipped frames are parked with a single {@link Display#timerExec(int, Runnable)} for the nearest deadline.
+ *
+ * @author Michal NkD Nikodim
+ *
+ */
+final class SwtLwjglDisplayScheduler {
+
+    private static final String DATA_KEY = SwtLwjglDisplayScheduler.class.getName();
+
+    /** frames may start this much before their deadline, timerExec has only millisecond resolution **/
+    static final long FRAME_SLACK = 1000000L;
+    private static final long DEFAULT_TICK_BUDGET = 1000000000L / 60;
+
+    private static final Comparator<SwtLwjglFrameScheduler> PRIORITY = new Comparator<SwtLwjglFrameScheduler>() {
+        @Override
+        public int compare(SwtLwjglFrameScheduler o1, SwtLwjglFrameScheduler o2) {
+            if (o1.focused != o2.focused) return o1.focused ? -1 : 1;
+            return o2.skippedTicks - o1.skippedTicks; // stable sort keeps creation order for the rest
+        }
+    };
+
+    /**
+     * @return scheduler of the display, created on first use. Must be called on the UI thread.
+     */
+    static SwtLwjglDisplayScheduler get(final Display display) {
+        SwtLwjglDisplayScheduler scheduler = (SwtLwjglDisplayScheduler) display.getData(DATA_KEY);
+        if (scheduler == null) {
+            scheduler = new SwtLwjglDisplayScheduler(display);
+            display.setData(DATA_KEY, scheduler);
+        }
+        return scheduler;
+    }
+
+    private final Display display;
+    private final AtomicBoolean tickPending = new AtomicBoolean(false);
+
+    // UI thread only
+    private final Array<SwtLwjglFrameScheduler> canvases = new Array<SwtLwjglFrameScheduler>();
+    private final Array<SwtLwjglFrameScheduler> pass = new Array<SwtLwjglFrameScheduler>();
+    private boolean timerArmed = false;
+
+    private final Runnable tickDispatch = new Runnable() {
+        @Override
+        public void run() {
+            tickPending.set(false);
+            tick();
+        }
+    };
+
+    private final Runnable timerDispatch = new Runnable() {
+        @Override
+        public void run() {
+            timerArmed = false;
+            tick();
+        }
+    };
+
+    private SwtLwjglDisplayScheduler(final Display display) {
+        this.display = display;
+    }
+
+    void register(SwtLwjglFrameScheduler canvas) {
+        canvases.add(canvas);
+    }
+
+    void unregister(SwtLwjglFrameScheduler canvas) {
+        canvases.removeValue(canvas, true);
+        if (canvases.size > 0 || display.isDisposed()) return;
+        if (timerArmed) display.timerExec(-1, timerDispatch);
+        timerArmed = false;
+        display.setData(DATA_KEY, null);
+    }
+
+    /**
+     * Schedules a tick on the UI thread. Can be called from any thread, {@link Display#asyncExec(Runnable)} wakes the display
+     * when it is sleeping.
+     */
+    void wake() {
+        if (!tickPending.compareAndSet(false, true)) return;
+        try {
+            display.asyncExec(tickDispatch);
+        } catch (SWTException e) {
+            // display already disposed, there is nothing left to render into
+        }
+    }
+
+    private void tick() {
+        if (display.isDisposed()) return;
+        long now = System.nanoTime();
+        long tickBudget = Long.MAX_VALUE;
+
+        pass.clear();
+        for (int i = 0; i < canvases.size; i++) {
+            SwtLwjglFrameScheduler canvas = canvases.get(i);
+            if (canvas.wakeRequested.get()) pass.add(canvas);
+            long period = canvas.framePeriod;
+            if (period > 0 && period < tickBudget) tickBudget = period;
+        }
+        if (tickBudget == Long.MAX_VALUE) tickBudget = DEFAULT_TICK_BUDGET;
+        pass.sort(PRIORITY);
+
+        long nextDeadline = Long.MAX_VALUE;
+        boolean ranAny = false;
+        for (int i = 0; i < pass.size; i++) {
+            SwtLwjglFrameScheduler canvas = pass.get(i);
+            long wait = canvas.timeToFrame(now);
+            if (wait > FRAME_SLACK) {
+                if (now + wait < nextDeadline) nextDeadline = now + wait;
+                continue;
+            }
+            // first frame of the tick always runs, so every tick makes progress
+            long elapsed = System.nanoTime() - now;
+            if (ranAny && !canvas.focused && canvas.skippedTicks == 0 && elapsed + canvas.getFrameCost() > tickBudget) {
+                canvas.skippedTicks++;
+                // the skipped frame waits for the end of this tick instead of spinning the event loop
+                if (now + tickBudget < nextDeadline) nextDeadline = now + tickBudget;
+                continue;
+            }
+            canvas.runFrame(now);
+            ranAny = true;
+        }
+        pass.clear();
+
+        if (nextDeadline != Long.MAX_VALUE) {
+            long wait = nextDeadline - System.nanoTime();
+            display.timerExec(Math.max(0, (int) (wait / 1000000L)), timerDispatch);
+            timerArmed = true;
+        } else if (timerArmed) {
+            display.timerExec(-1, timerDispatch);
+            timerArmed = false;
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.ImageIO;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
+
+/**
+ * Records the frames presented by one canvas. Every {@link SwtLwjglGraphics#swapBuffer() swap} queues an asynchronous readback
+ * of the frame (see {@link SwtLwjglReadback}), the pixels are handed to a bounded pool of encoder threads which write a PNG
+ * sequence or a raw Y4M (YUV 4:2:0) stream. The GL thread only issues the readback and queues finished pixels.
+ * <p>
+ * When the encoders fall behind the {@link OverflowPolicy} decides: frames are dropped, or the GL thread waits for space in the
+ * encoder queue. Frames are also dropped when the GPU did not finish earlier readbacks yet. Y4M streams keep the size of the
+ * first frame, frames of another size are dropped.
+ *
+ * @author Michal NkD Nikodim
+ *
+ */
+public final class SwtLwjglFrameRecorder {
+
+    public enum Format {
+        /** frame-000000.png, frame-000001.png, ... in the output directory **/
+        PngSequence,
+        /** single YUV4MPEG2 file, 4:2:0 chroma **/
+        Y4M
+    }
+
+    public enum OverflowPolicy {
+        /** frames which do not fit into the encoder queue are dropped **/
+        DropFrames,
+        /** the GL thread waits until the encoder queue has space, slowing rendering down to the encoding speed **/
+        Block
+    }
+
+    private static final class Frame {
+        final ByteBuffer pixels;
+        final int width, height, index;
+
+        Frame(ByteBuffer pixels, int width, int height, int index) {
+            this.pixels = pixels;
+            this.width = width;
+            this.height = height;
+            this.index = index;
+        }
+    }
+
+    private static final Frame END = new Frame(null, 0, 0, -1);
+
+    private final SwtLwjglGraphics graphics;
+    private final Format format;
+    private final File output;
+    private final int fps;
+    private final OverflowPolicy policy;
+    private final SwtLwjglReadback readback;
+    private final LinkedBlockingQueue<Frame> queue;
+    private final Thread[] encoders;
+    private final CountDownLatch finished;
+
+    private final AtomicInteger captured = new AtomicInteger();
+    private final AtomicInteger dropped = new AtomicInteger();
+    private final AtomicInteger encoded = new AtomicInteger();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private volatile IOException error;
+    private volatile long startTime, stopTime;
+    private volatile boolean recording = false;
+
+    // GL thread only
+    private int nextIndex = 0;
+    private int width = -1, height = -1;
+
+    // Y4M frames are converted in parallel and written in order
+    private final Object writeLock = new Object();
+    private final IntMap<byte[]> converted = new IntMap<byte[]>();
+    private final ConcurrentLinkedQueue<byte[]> freeFrames = new ConcurrentLinkedQueue<byte[]>();
+    private OutputStream stream;
+    private int nextWrite = 0;
+
+    private final SwtLwjglReadback.Listener listener = new SwtLwjglReadback.Listener() {
+        @Override
+        public void pixelsRead(ByteBuffer pixels, int width, int height) {
+            queueFrame(pixels, width, height);
+        }
+    };
+
+    /**
+     * @param output directory for {@link Format#PngSequence}, file for {@link Format#Y4M}
+     * @param fps frame rate written into the Y4M header
+     * @param encoderThreads number of encoder threads
+     * @param queueCapacity frames waiting for an encoder at most
+     */
+    public SwtLwjglFrameRecorder(SwtLwjglGraphics graphics, Format format, File output, int fps, int encoderThreads,
+            int queueCapacity, OverflowPolicy policy) {
+        this.graphics = graphics;
+        this.format = format;
+        this.output = output;
+        this.fps = Math.max(1, fps);
+        this.policy = policy;
+        this.queue = new LinkedBlockingQueue<Frame>(Math.max(1, queueCapacity));
+        // frames held by the queue and the encoders plus the ones being read back
+        this.readback = new SwtLwjglReadback(graphics, 3, Math.max(1, queueCapacity) + Math.max(1, encoderThreads) + 1);
+        this.encoders = new Thread[Math.max(1, encoderThreads)];
+        this.finished = new CountDownLatch(encoders.length);
+    }
+
+    /**
+     * Starts the encoder threads and captures every frame presented from now on. Can be called once.
+     */
+    public void start() throws IOException {
+        if (startTime != 0) throw new GdxRuntimeException("Recorder was already started");
+        if (format == Format.PngSequence) {
+            if (!output.isDirectory() && !output.mkdirs()) throw new IOException("Couldn't create directory " + output);
+        } else {
+            stream = new BufferedOutputStream(new FileOutputStream(output), 1 << 16);
+        }
+        for (int i = 0; i < encoders.length; i++) {
+            encoders[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    encode();
+                }
+            }, "SwtLwjgl frame encoder " + i);
+            encoders[i].setDaemon(true);
+            encoders[i].start();
+        }
+        startTime = System.nanoTime();
+        recording = true;
+        graphics.setFrameRecorder(this);
+    }
+
+    /**
+     * Stops capturing, frames already queued are still encoded. Readbacks in flight are dropped. GL thread only.
+     */
+    public void stop() {
+        if (!recording) return;
+        recording = false;
+        stopTime = System.nanoTime();
+        graphics.setFrameRecorder(null);
+        readback.dispose();
+        for (int i = 0; i < encoders.length; i++) {
+            putUninterruptibly(END);
+        }
+    }
+
+    /**
+     * Waits for the encoders to finish after {@link #stop()}.
+     *
+     * @return whether all frames were written in time
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return finished.await(timeout, unit);
+    }
+
+    /**
+     * Delivers finished readbacks, called by the main loop also in frames which are not rendered. GL thread only.
+     */
+    void update() {
+        if (recording) readback.update();
+    }
+
+    /**
+     * Called before every swap of the canvas, with the finished frame still in the framebuffer. GL thread only.
+     */
+    void capture() {
+        if (!recording || graphics.getWidth() <= 0 || graphics.getHeight() <= 0) return;
+        readback.update();
+        captured.incrementAndGet();
+        // the whole frame, also when the application left another framebuffer bound
+        GL20 gl20 = graphics.getGL20();
+        if (gl20 != null) gl20.glBindFramebuffer(GL20.GL_FRAMEBUFFER, 0);
+        if (!readback.read(0, 0, graphics.getWidth(), graphics.getHeight(), listener)) dropped.incrementAndGet();
+    }
+
+    private void queueFrame(ByteBuffer pixels, int width, int height) {
+        if (!recording) {
+            readback.release(pixels);
+            return;
+        }
+        if (format == Format.Y4M) {
+            if (this.width < 0) {
+                this.width = width;
+                this.height = height;
+                writeHeader(width, height);
+            } else if (width != this.width || height != this.height) {
+                dropped.incrementAndGet();
+                readback.release(pixels);
+                return;
+            }
+        }
+        if (policy == OverflowPolicy.Block) {
+            putUninterruptibly(new Frame(pixels, width, height, nextIndex++));
+        } else if (queue.remainingCapacity() > 0) {
+            queue.add(new Frame(pixels, width, height, nextIndex++));
+        } else {
+            dropped.incrementAndGet();
+            readback.release(pixels);
+        }
+    }
+
+    private void putUninterruptibly(Frame frame) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(frame);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private void encode() {
+        BufferedImage image = null;
+        try {
+            while (true) {
+                Frame frame = queue.take();
+                if (frame == END) break;
+                try {
+                    if (error == null) {
+                        if (format == Format.PngSequence) {
+                            if (image == null || image.getWidth() != frame.width || image.getHeight() != frame.height) {
+                                image = new BufferedImage(frame.width, frame.height, BufferedImage.TYPE_INT_RGB);
+                            }
+                            writePng(frame, image);
+                        } else {
+                            writeInOrder(frame.index, toYuv(frame));
+                        }
+                        encoded.incrementAndGet();
+                    }
+                } catch (IOException e) {
+                    if (error == null) error = e;
+                } finally {
+                    readback.release(frame.pixels);
+                }
+            }
+        } catch (InterruptedException e) {
+            // recorder abandoned
+        } finally {
+            finished.countDown();
+            if (finished.getCount() == 0) closeStream();
+        }
+    }
+
+    private void writePng(Frame frame, BufferedImage image) throws IOException {
+        ByteBuffer pixels = frame.pixels;
+        int w = frame.width, h = frame.height;
+        int[] rgb = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        // GL rows go bottom to top, the alpha of the framebuffer is dropped like on the screen
+        for (int y = 0; y < h; y++) {
+            int row = (h - 1 - y) * w * 4;
+            for (int x = 0; x < w; x++) {
+                int i = row + x * 4;
+                rgb[y * w + x] = (pixels.get(i) & 0xff) << 16 | (pixels.get(i + 1) & 0xff) << 8 | (pixels.get(i + 2) & 0xff);
+            }
+        }
+        File file = new File(output, String.format("frame-%06d.png", frame.index));
+        if (!ImageIO.write(image, "png", file)) throw new IOException("No PNG writer available");
+        bytesWritten.addAndGet(file.length());
+    }
+
+    /**
+     * @return "FRAME" line and the Y, U and V planes, BT.601 full range like the C420jpeg tag
+     */
+    private byte[] toYuv(Frame frame) {
+        int w = frame.width, h = frame.height;
+        int cw = (w + 1) >> 1, ch = (h + 1) >> 1;
+        int header = 6;
+        int size = header + w * h + 2 * cw * ch;
+        byte[] yuv = freeFrames.poll();
+        if (yuv == null || yuv.length != size) yuv = new byte[size];
+        yuv[0] = 'F';
+        yuv[1] = 'R';
+        yuv[2] = 'A';
+        yuv[3] = 'M';
+        yuv[4] = 'E';
+        yuv[5] = '\n';
+        ByteBuffer pixels = frame.pixels;
+        int uOffset = header + w * h, vOffset = uOffset + cw * ch;
+        for (int y = 0; y < h; y++) {
+            int row = (h - 1 - y) * w * 4;
+            for (int x = 0; x < w; x++) {
+                int i = row + x * 4;
+                int r = pixels.get(i) & 0xff, g = pixels.get(i + 1) & 0xff, b = pixels.get(i + 2) & 0xff;
+                yuv[header + y * w + x] = (byte) ((77 * r + 150 * g + 29 * b + 128) >> 8);
+            }
+        }
+        // chroma sited in the center of every 2x2 block, as C420jpeg says, is the average of its pixels; blocks at odd edges
+        // repeat the last row or column
+        for (int cy = 0; cy < ch; cy++) {
+            int row0 = (h - 1 - 2 * cy) * w * 4;
+            int row1 = (h - 1 - Math.min(2 * cy + 1, h - 1)) * w * 4;
+            for (int cx = 0; cx < cw; cx++) {
+                int x0 = 2 * cx * 4, x1 = Math.min(2 * cx + 1, w - 1) * 4;
+                int r = 0, g = 0, b = 0;
+                for (int k = 0; k < 4; k++) {
+                    int i = ((k & 2) == 0 ? row0 : row1) + ((k & 1) == 0 ? x0 : x1);
+                    r += pixels.get(i) & 0xff;
+                    g += pixels.get(i + 1) & 0xff;
+                    b += pixels.get(i + 2) & 0xff;
+                }
+                r = (r + 2) >> 2;
+                g = (g + 2) >> 2;
+                b = (b + 2) >> 2;
+                int c = cy * cw + cx;
+                yuv[uOffset + c] = (byte) Math.max(0, Math.min(255, ((-43 * r - 85 * g + 128 * b + 128) >> 8) + 128));
+                yuv[vOffset + c] = (byte) Math.max(0, Math.min(255, ((128 * r - 107 * g - 21 * b + 128) >> 8) + 128));
+            }
+        }
+        return yuv;
+    }
+
+    private void writeHeader(int width, int height) {
+        byte[] header = ("YUV4MPEG2 W" + width + " H" + height + " F" + fps + ":1 Ip A1:1 C420jpeg\n").getBytes();
+        synchronized (writeLock) {
+            try {
+                stream.write(header);
+                bytesWritten.addAndGet(header.length);
+            } catch (IOException e) {
+                if (error == null) error = e;
+            }
+        }
+    }
+
+    private void writeInOrder(int index, byte[] frame) throws IOException {
+        synchronized (writeLock) {
+            converted.put(index, frame);
+            byte[] next;
+            while ((next = converted.remove(nextWrite)) != null) {
+                stream.write(next);
+                bytesWritten.addAndGet(next.length);
+                freeFrames.add(next);
+                nextWrite++;
+            }
+        }
+    }
+
+    private void closeStream() {
+        if (stream == null) return;
+        synchronized (writeLock) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                if (error == null) error = e;
+            }
+        }
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * @return number of presented frames since {@link #start()}
+     */
+    public int getCapturedFrames() {
+        return captured.get();
+    }
+
+    /**
+     * @return number of frames dropped because the GPU, the encoders or the frame size did not allow recording them
+     */
+    public int getDroppedFrames() {
+        return dropped.get();
+    }
+
+    public int getEncodedFrames() {
+        return encoded.get();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    /**
+     * @return captured frames per second since {@link #start()}
+     */
+    public float getCaptureRate() {
+        return rate(captured.get());
+    }
+
+    /**
+     * @return encoded frames per second since {@link #start()}
+     */
+    public float getEncodeRate() {
+        return rate(encoded.get());
+    }
+
+    /**
+     * @return first write error, encoding stops after it
+     */
+    public IOException getError() {
+        return error;
+    }
+
+    private float rate(int frames) {
+        if (startTime == 0) return 0;
+        long end = recording ? System.nanoTime() : stopTime;
+        long elapsed = end - startTime;
+        return elapsed > 0 ? frames * 1000000000f / elapsed : 0;
+    }
+}
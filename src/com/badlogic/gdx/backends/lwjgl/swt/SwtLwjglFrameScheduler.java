@@ -0,0 +1,132 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Frame scheduling state of one canvas. Frames are run by the {@link SwtLwjglDisplayScheduler} shared by all canvases of the
+ * display, nothing is queued on the SWT UI thread while the canvas is idle. A frame is requested by {@link #wake()} (rendering
+ * request, posted runnable, input, resize or paint), requests arriving before the frame runs are coalesced into that one frame.
+ * <p>
+ * With a target frame rate the frame starts are placed on a fixed timeline (previous deadline + period), so timer latency does
+ * not accumulate into drift. The UI thread is never blocked while waiting for a deadline.
+ *
+ * @author Michal NkD Nikodim
+ *
+ */
+final class SwtLwjglFrameScheduler {
+
+    private final SwtLwjglDisplayScheduler displayScheduler;
+    private final Runnable frame;
+    private volatile boolean disposed = false;
+
+    final AtomicBoolean wakeRequested = new AtomicBoolean(false);
+    volatile long framePeriod = 0;
+    volatile boolean focused = false;
+    private volatile boolean continuousSuspended = false;
+    private volatile long frameBudget = 0;
+    private volatile long averageFrameTime = 0;
+
+    // UI thread only
+    private long nextFrameStart = System.nanoTime();
+    int skippedTicks = 0;
+
+    /**
+     * Must be called on the UI thread of the display.
+     */
+    SwtLwjglFrameScheduler(final Display display, final Runnable frame) {
+        this.displayScheduler = SwtLwjglDisplayScheduler.get(display);
+        this.frame = frame;
+        displayScheduler.register(this);
+    }
+
+    /**
+     * Requests one frame. Can be called from any thread.
+     */
+    void wake() {
+        if (disposed) return;
+        wakeRequested.set(true);
+        displayScheduler.wake();
+    }
+
+    /**
+     * Schedules the next frame of continuous rendering. Ignored while the target frame rate is negative, explicit
+     * {@link #wake()} calls still run frames in that case.
+     */
+    void scheduleNextFrame() {
+        if (!continuousSuspended) wake();
+    }
+
+    /**
+     * @param fps maximal number of frame starts per second, 0 means no limit, negative value suspends continuous rendering
+     */
+    void setTargetFps(int fps) {
+        framePeriod = fps > 0 ? 1000000000L / fps : 0;
+        continuousSuspended = fps < 0;
+        wake();
+    }
+
+    /**
+     * @param focused focused canvas runs first in every tick and never skips a tick
+     */
+    void setFocused(boolean focused) {
+        this.focused = focused;
+    }
+
+    /**
+     * @param nanos expected duration of one frame, the shared scheduler uses it to decide whether the frame still fits into the
+     *            current tick. 0 means the measured average is used.
+     */
+    void setFrameBudget(long nanos) {
+        this.frameBudget = Math.max(0, nanos);
+    }
+
+    long getFrameBudget() {
+        return frameBudget;
+    }
+
+    /**
+     * @return exponential moving average of the frame duration in nanoseconds
+     */
+    long getAverageFrameTime() {
+        return averageFrameTime;
+    }
+
+    long getFrameCost() {
+        long budget = frameBudget;
+        return budget > 0 ? budget : averageFrameTime;
+    }
+
+    /**
+     * Must be called on the UI thread.
+     */
+    void dispose() {
+        if (disposed) return;
+        disposed = true;
+        displayScheduler.unregister(this);
+    }
+
+    /**
+     * @return nanoseconds until the next frame may start, 0 or less when it is due
+     */
+    long timeToFrame(long now) {
+        return framePeriod > 0 ? nextFrameStart - now : 0;
+    }
+
+    void runFrame(long now) {
+        wakeRequested.set(false);
+        skippedTicks = 0;
+        if (disposed) return;
+        long period = framePeriod;
+        if (period > 0) {
+            // next deadline follows from the previous one, not from the actual start of this frame. When more than a period
+            // behind (idle canvas, long frame) the timeline restarts instead of rendering a burst of frames to catch up.
+            nextFrameStart = now - nextFrameStart > period ? now + period : nextFrameStart + period;
+        }
+        long start = System.nanoTime();
+        frame.run();
+        long duration = System.nanoTime() - start;
+        averageFrameTime = averageFrameTime == 0 ? duration : averageFrameTime + (duration - averageFrameTime) / 8;
+    }
+}
@@ -0,0 +1,243 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Durations of the frame phases of one canvas. Every phase is recorded into a log scaled histogram (8 buckets per power of two,
+ * below 13% error) covering the last 5 to 10 seconds, older values roll out window by window. Recording is allocation free and
+ * costs a few array writes, statistics are computed on demand.
+ * <p>
+ * Values are recorded on the thread running the frames of the canvas and can be read from any thread, reads concurrent with
+ * recording may be off by the frames being recorded.
+ *
+ * @author Michal NkD Nikodim
+ *
+ */
+public final class SwtLwjglFrameStats {
+
+    /** Measured parts of a frame **/
+    public enum Phase {
+        /** posted runnables **/
+        Runnables,
+        /** input event processing **/
+        Input,
+        /** {@link com.badlogic.gdx.ApplicationListener#render()} **/
+        Render,
+        /** buffer swap, readback of the frame when rendering on a render thread **/
+        Swap,
+        /** whole frame including the context switch and resize handling **/
+        Frame
+    }
+
+    /** Attributes of the per canvas MBean registered under {@link SwtLwjglFrameStats#OBJECT_NAME_PREFIX} **/
+    public interface SwtLwjglFrameStatsMXBean {
+        /** median duration per phase in milliseconds **/
+        Map<String, Float> getP50();
+
+        Map<String, Float> getP95();
+
+        Map<String, Float> getP99();
+
+        Map<String, Float> getMax();
+
+        /** number of recorded frames per phase **/
+        Map<String, Long> getCount();
+
+        int getFramesPerSecond();
+
+        void reset();
+    }
+
+    public static final String OBJECT_NAME_PREFIX = "com.badlogic.gdx.backends.lwjgl.swt:type=FrameStats,canvas=";
+
+    private static final long WINDOW = 5000000000L;
+    private static final int LINEAR_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int BUCKETS = LINEAR_BUCKETS + (63 - 4) * (1 << SUB_BUCKET_BITS);
+    private static final Phase[] PHASES = Phase.values();
+
+    private static final class Histogram {
+        // two windows, recording goes into the current one and both are read
+        private final int[][] counts = new int[2][BUCKETS];
+        private final long[] max = new long[2];
+        private volatile int current = 0;
+
+        void record(long nanos) {
+            int window = current;
+            counts[window][bucket(nanos)]++;
+            if (nanos > max[window]) max[window] = nanos;
+        }
+
+        void rotate() {
+            int next = 1 - current;
+            Arrays.fill(counts[next], 0);
+            max[next] = 0;
+            current = next;
+        }
+
+        long count() {
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                count += counts[0][i] + counts[1][i];
+            }
+            return count;
+        }
+
+        long percentile(float percentile) {
+            long count = count();
+            if (count == 0) return 0;
+            long rank = (long) Math.ceil(count * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[0][i] + counts[1][i];
+                if (seen >= rank) return Math.min(upperBound(i), max());
+            }
+            return max();
+        }
+
+        long max() {
+            return Math.max(max[0], max[1]);
+        }
+    }
+
+    private final Histogram[] histograms = new Histogram[PHASES.length];
+    private final SwtLwjglGraphics graphics;
+    private volatile boolean resetRequested = false;
+
+    // recording thread only
+    private long windowStart = System.nanoTime();
+
+    SwtLwjglFrameStats(SwtLwjglGraphics graphics) {
+        this.graphics = graphics;
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new Histogram();
+        }
+    }
+
+    /**
+     * Records one phase of the current frame. Frame thread only.
+     *
+     * @param now current {@link System#nanoTime()}, rolls the window when it is over
+     */
+    void record(Phase phase, long nanos, long now) {
+        if (resetRequested) {
+            resetRequested = false;
+            for (Histogram histogram : histograms) {
+                histogram.rotate();
+                histogram.rotate();
+            }
+            windowStart = now;
+        } else if (now - windowStart > WINDOW) {
+            for (Histogram histogram : histograms) {
+                histogram.rotate();
+            }
+            windowStart = now;
+        }
+        histograms[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * @param percentile 0 to 100
+     * @return duration of the phase in milliseconds which the given percentage of recent frames did not exceed, 0 without data
+     */
+    public float getPercentile(Phase phase, float percentile) {
+        return histograms[phase.ordinal()].percentile(percentile) / 1000000f;
+    }
+
+    /**
+     * @return longest recent duration of the phase in milliseconds
+     */
+    public float getMax(Phase phase) {
+        return histograms[phase.ordinal()].max() / 1000000f;
+    }
+
+    /**
+     * @return number of recent frames which went through the phase
+     */
+    public long getCount(Phase phase) {
+        return histograms[phase.ordinal()].count();
+    }
+
+    /**
+     * Clears all histograms before the next recorded value. Can be called from any thread.
+     */
+    public void reset() {
+        resetRequested = true;
+    }
+
+    SwtLwjglFrameStatsMXBean createMBean() {
+        return new SwtLwjglFrameStatsMXBean() {
+            @Override
+            public Map<String, Float> getP50() {
+                return percentiles(50);
+            }
+
+            @Override
+            public Map<String, Float> getP95() {
+                return percentiles(95);
+            }
+
+            @Override
+            public Map<String, Float> getP99() {
+                return percentiles(99);
+            }
+
+            @Override
+            public Map<String, Float> getMax() {
+                Map<String, Float> result = new LinkedHashMap<String, Float>();
+                for (Phase phase : PHASES) {
+                    result.put(phase.name(), SwtLwjglFrameStats.this.getMax(phase));
+                }
+                return result;
+            }
+
+            @Override
+            public Map<String, Long> getCount() {
+                Map<String, Long> result = new LinkedHashMap<String, Long>();
+                for (Phase phase : PHASES) {
+                    result.put(phase.name(), SwtLwjglFrameStats.this.getCount(phase));
+                }
+                return result;
+            }
+
+            @Override
+            public int getFramesPerSecond() {
+                return graphics.getFramesPerSecond();
+            }
+
+            @Override
+            public void reset() {
+                SwtLwjglFrameStats.this.reset();
+            }
+
+            private Map<String, Float> percentiles(float percentile) {
+                Map<String, Float> result = new LinkedHashMap<String, Float>();
+                for (Phase phase : PHASES) {
+                    result.put(phase.name(), getPercentile(phase, percentile));
+                }
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Durations under 16 microseconds (1024 ns units) get a bucket each, longer ones 8 buckets per power of two.
+     */
+    static int bucket(long nanos) {
+        long value = nanos >> 10;
+        if (value < LINEAR_BUCKETS) return (int) Math.max(0, value);
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >> (exponent - SUB_BUCKET_BITS)) & ((1 << SUB_BUCKET_BITS) - 1);
+        return Math.min(BUCKETS - 1, LINEAR_BUCKETS + ((exponent - 4) << SUB_BUCKET_BITS) + sub);
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < LINEAR_BUCKETS) return (long) (bucket + 1) << 10;
+        int exponent = ((bucket - LINEAR_BUCKETS) >> SUB_BUCKET_BITS) + 4;
+        int sub = (bucket - LINEAR_BUCKETS) & ((1 << SUB_BUCKET_BITS) - 1);
+        long value = ((long) ((1 << SUB_BUCKET_BITS) + sub + 1)) << (exponent - SUB_BUCKET_BITS);
+        return value << 10;
+    }
+}
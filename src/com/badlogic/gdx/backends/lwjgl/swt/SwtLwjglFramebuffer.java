@@ -0,0 +1,124 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.nio.ByteBuffer;
+
+import org.lwjgl.opengl.EXTFramebufferObject;
+import org.lwjgl.opengl.EXTPackedDepthStencil;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL14;
+import org.lwjgl.opengl.GLContext;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Framebuffer object standing in for the default framebuffer of offscreen contexts: RGBA8 color and, when requested, a depth or
+ * packed depth stencil renderbuffer. All methods must be called with the owning context current.
+ *
+ * @author Michal NkD Nikodim
+ *
+ */
+final class SwtLwjglFramebuffer {
+
+    private final int depth, stencil;
+    private int framebuffer, colorBuffer, depthBuffer;
+    private int width, height;
+
+    /**
+     * @param depth bits of the depth buffer, 0 for none
+     * @param stencil bits of the stencil buffer, 0 for none
+     */
+    SwtLwjglFramebuffer(int depth, int stencil) {
+        this.depth = depth;
+        this.stencil = stencil;
+    }
+
+    /**
+     * @return whether the current context supports framebuffer objects
+     */
+    static boolean isSupported() {
+        return GLContext.getCapabilities().GL_EXT_framebuffer_object;
+    }
+
+    boolean isCreated() {
+        return framebuffer != 0;
+    }
+
+    /**
+     * @return handle of the framebuffer object, 0 before {@link #create(int, int)}
+     */
+    int getHandle() {
+        return framebuffer;
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    int getHeight() {
+        return height;
+    }
+
+    void create(int width, int height) {
+        framebuffer = EXTFramebufferObject.glGenFramebuffersEXT();
+        colorBuffer = EXTFramebufferObject.glGenRenderbuffersEXT();
+        if (depth > 0 || stencil > 0) depthBuffer = EXTFramebufferObject.glGenRenderbuffersEXT();
+        allocate(width, height);
+
+        EXTFramebufferObject.glBindFramebufferEXT(EXTFramebufferObject.GL_FRAMEBUFFER_EXT, framebuffer);
+        EXTFramebufferObject.glFramebufferRenderbufferEXT(EXTFramebufferObject.GL_FRAMEBUFFER_EXT,
+                EXTFramebufferObject.GL_COLOR_ATTACHMENT0_EXT, EXTFramebufferObject.GL_RENDERBUFFER_EXT, colorBuffer);
+        if (depthBuffer != 0) {
+            EXTFramebufferObject.glFramebufferRenderbufferEXT(EXTFramebufferObject.GL_FRAMEBUFFER_EXT,
+                    EXTFramebufferObject.GL_DEPTH_ATTACHMENT_EXT, EXTFramebufferObject.GL_RENDERBUFFER_EXT, depthBuffer);
+        }
+        if (depthBuffer != 0 && stencil > 0) {
+            EXTFramebufferObject.glFramebufferRenderbufferEXT(EXTFramebufferObject.GL_FRAMEBUFFER_EXT,
+                    EXTFramebufferObject.GL_STENCIL_ATTACHMENT_EXT, EXTFramebufferObject.GL_RENDERBUFFER_EXT, depthBuffer);
+        }
+        int status = EXTFramebufferObject.glCheckFramebufferStatusEXT(EXTFramebufferObject.GL_FRAMEBUFFER_EXT);
+        if (status != EXTFramebufferObject.GL_FRAMEBUFFER_COMPLETE_EXT) {
+            throw new GdxRuntimeException("Offscreen framebuffer is not complete, status: " + status);
+        }
+    }
+
+    /**
+     * Reallocates the renderbuffers when the size changed, their content is undefined afterwards.
+     */
+    void resize(int width, int height) {
+        if (framebuffer != 0 && (width != this.width || height != this.height)) allocate(width, height);
+    }
+
+    private void allocate(int width, int height) {
+        this.width = width;
+        this.height = height;
+        EXTFramebufferObject.glBindRenderbufferEXT(EXTFramebufferObject.GL_RENDERBUFFER_EXT, colorBuffer);
+        EXTFramebufferObject.glRenderbufferStorageEXT(EXTFramebufferObject.GL_RENDERBUFFER_EXT, GL11.GL_RGBA8, width, height);
+        if (depthBuffer != 0) {
+            int format = stencil > 0 ? EXTPackedDepthStencil.GL_DEPTH24_STENCIL8_EXT : GL14.GL_DEPTH_COMPONENT24;
+            EXTFramebufferObject.glBindRenderbufferEXT(EXTFramebufferObject.GL_RENDERBUFFER_EXT, depthBuffer);
+            EXTFramebufferObject.glRenderbufferStorageEXT(EXTFramebufferObject.GL_RENDERBUFFER_EXT, format, width, height);
+        }
+        EXTFramebufferObject.glBindRenderbufferEXT(EXTFramebufferObject.GL_RENDERBUFFER_EXT, 0);
+    }
+
+    void bind() {
+        EXTFramebufferObject.glBindFramebufferEXT(EXTFramebufferObject.GL_FRAMEBUFFER_EXT, framebuffer);
+    }
+
+    /**
+     * Reads the whole framebuffer as RGBA, rows bottom to top, into the buffer starting at its position.
+     */
+    void read(ByteBuffer pixels) {
+        bind();
+        GL11.glReadPixels(0, 0, width, height, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, pixels);
+    }
+
+    void delete() {
+        if (framebuffer == 0) return;
+        EXTFramebufferObject.glBindFramebufferEXT(EXTFramebufferObject.GL_FRAMEBUFFER_EXT, 0);
+        EXTFramebufferObject.glDeleteFramebuffersEXT(framebuffer);
+        EXTFramebufferObject.glDeleteRenderbuffersEXT(colorBuffer);
+        if (depthBuffer != 0) EXTFramebufferObject.glDeleteRenderbuffersEXT(depthBuffer);
+        framebuffer = colorBuffer = depthBuffer = 0;
+    }
+}
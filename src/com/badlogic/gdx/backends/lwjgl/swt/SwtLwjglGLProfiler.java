@@ -0,0 +1,414 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GL call counters of one canvas, filled by the profiling GL wrappers which {@link SwtLwjglGraphics#setProfiling(boolean)}
+ * binds in place of the plain LWJGL ones. Counters are collected during a frame and published as the statistics of the last
+ * frame when it ends, the getters always describe the last finished frame.
+ * <p>
+ * Counting runs on the thread rendering the canvas, getters can be called from any thread.
+ *
+ * @author Michal NkD Nikodim
+ *
+ */
+public final class SwtLwjglGLProfiler {
+
+    /** names of the counted GL entry points in ascending order, the profiling wrappers count into the index of their entry point **/
+    static final String[] ENTRY_POINTS = {
+        "glActiveTexture", "glAlphaFunc", "glAttachShader", "glBindAttribLocation", "glBindBuffer", "glBindFramebuffer",
+        "glBindRenderbuffer", "glBindTexture", "glBlendColor", "glBlendEquation", "glBlendEquationSeparate", "glBlendFunc",
+        "glBlendFuncSeparate", "glBufferData", "glBufferSubData", "glCheckFramebufferStatus", "glClear", "glClearColor",
+        "glClearDepthf", "glClearStencil", "glClientActiveTexture", "glClipPlanef", "glColor4f", "glColor4ub", "glColorMask",
+        "glColorPointer", "glCompileShader", "glCompressedTexImage2D", "glCompressedTexSubImage2D", "glCopyTexImage2D",
+        "glCopyTexSubImage2D", "glCreateProgram", "glCreateShader", "glCullFace", "glDeleteBuffers", "glDeleteFramebuffers",
+        "glDeleteProgram", "glDeleteRenderbuffers", "glDeleteShader", "glDeleteTextures", "glDepthFunc", "glDepthMask",
+        "glDepthRangef", "glDetachShader", "glDisable", "glDisableClientState", "glDisableVertexAttribArray", "glDrawArrays",
+        "glDrawElements", "glEnable", "glEnableClientState", "glEnableVertexAttribArray", "glFinish", "glFlush", "glFogf",
+        "glFogfv", "glFramebufferRenderbuffer", "glFramebufferTexture2D", "glFrontFace", "glFrustumf", "glGenBuffers",
+        "glGenFramebuffers", "glGenRenderbuffers", "glGenTextures", "glGenerateMipmap", "glGetActiveAttrib",
+        "glGetActiveUniform", "glGetAttachedShaders", "glGetAttribLocation", "glGetBooleanv", "glGetBufferParameteriv",
+        "glGetClipPlanef", "glGetError", "glGetFixedv", "glGetFloatv", "glGetFramebufferAttachmentParameteriv",
+        "glGetIntegerv", "glGetLightfv", "glGetLightxv", "glGetMaterialfv", "glGetMaterialxv", "glGetPointerv",
+        "glGetProgramInfoLog", "glGetProgramiv", "glGetRenderbufferParameteriv", "glGetShaderInfoLog",
+        "glGetShaderPrecisionFormat", "glGetShaderSource", "glGetShaderiv", "glGetString", "glGetTexEnviv", "glGetTexEnvxv",
+        "glGetTexParameterfv", "glGetTexParameteriv", "glGetTexParameterxv", "glGetUniformLocation", "glGetUniformfv",
+        "glGetUniformiv", "glGetVertexAttribPointerv", "glGetVertexAttribfv", "glGetVertexAttribiv", "glHint", "glIsBuffer",
+        "glIsEnabled", "glIsFramebuffer", "glIsProgram", "glIsRenderbuffer", "glIsShader", "glIsTexture", "glLightModelf",
+        "glLightModelfv", "glLightf", "glLightfv", "glLineWidth", "glLinkProgram", "glLoadIdentity", "glLoadMatrixf",
+        "glLogicOp", "glMaterialf", "glMaterialfv", "glMatrixMode", "glMultMatrixf", "glMultiTexCoord4f", "glNormal3f",
+        "glNormalPointer", "glOrthof", "glPixelStorei", "glPointParameterf", "glPointParameterfv", "glPointSize",
+        "glPointSizePointerOES", "glPolygonMode", "glPolygonOffset", "glPopMatrix", "glPushMatrix", "glReadPixels",
+        "glReleaseShaderCompiler", "glRenderbufferStorage", "glRotatef", "glSampleCoverage", "glScalef", "glScissor",
+        "glShadeModel", "glShaderBinary", "glShaderSource", "glStencilFunc", "glStencilFuncSeparate", "glStencilMask",
+        "glStencilMaskSeparate", "glStencilOp", "glStencilOpSeparate", "glTexCoordPointer", "glTexEnvf", "glTexEnvfv",
+        "glTexEnvi", "glTexEnviv", "glTexImage2D", "glTexParameterf", "glTexParameterfv", "glTexParameteri",
+        "glTexParameteriv", "glTexSubImage2D", "glTranslatef", "glUniform1f", "glUniform1fv", "glUniform1i", "glUniform1iv",
+        "glUniform2f", "glUniform2fv", "glUniform2i", "glUniform2iv", "glUniform3f", "glUniform3fv", "glUniform3i",
+        "glUniform3iv", "glUniform4f", "glUniform4fv", "glUniform4i", "glUniform4iv", "glUniformMatrix2fv",
+        "glUniformMatrix3fv", "glUniformMatrix4fv", "glUseProgram", "glValidateProgram", "glVertexAttrib1f",
+        "glVertexAttrib1fv", "glVertexAttrib2f", "glVertexAttrib2fv", "glVertexAttrib3f", "glVertexAttrib3fv",
+        "glVertexAttrib4f", "glVertexAttrib4fv", "glVertexAttribPointer", "glVertexPointer", "glViewport"
+    };
+
+    // indices of the entry points, resolved by name so adding or renaming an entry point can not shift the counters
+    static final int ACTIVE_TEXTURE = index("glActiveTexture");
+    static final int ALPHA_FUNC = index("glAlphaFunc");
+    static final int ATTACH_SHADER = index("glAttachShader");
+    static final int BIND_ATTRIB_LOCATION = index("glBindAttribLocation");
+    static final int BIND_BUFFER = index("glBindBuffer");
+    static final int BIND_FRAMEBUFFER = index("glBindFramebuffer");
+    static final int BIND_RENDERBUFFER = index("glBindRenderbuffer");
+    static final int BIND_TEXTURE = index("glBindTexture");
+    static final int BLEND_COLOR = index("glBlendColor");
+    static final int BLEND_EQUATION = index("glBlendEquation");
+    static final int BLEND_EQUATION_SEPARATE = index("glBlendEquationSeparate");
+    static final int BLEND_FUNC = index("glBlendFunc");
+    static final int BLEND_FUNC_SEPARATE = index("glBlendFuncSeparate");
+    static final int BUFFER_DATA = index("glBufferData");
+    static final int BUFFER_SUB_DATA = index("glBufferSubData");
+    static final int CHECK_FRAMEBUFFER_STATUS = index("glCheckFramebufferStatus");
+    static final int CLEAR = index("glClear");
+    static final int CLEAR_COLOR = index("glClearColor");
+    static final int CLEAR_DEPTHF = index("glClearDepthf");
+    static final int CLEAR_STENCIL = index("glClearStencil");
+    static final int CLIENT_ACTIVE_TEXTURE = index("glClientActiveTexture");
+    static final int CLIP_PLANEF = index("glClipPlanef");
+    static final int COLOR4F = index("glColor4f");
+    static final int COLOR4UB = index("glColor4ub");
+    static final int COLOR_MASK = index("glColorMask");
+    static final int COLOR_POINTER = index("glColorPointer");
+    static final int COMPILE_SHADER = index("glCompileShader");
+    static final int COMPRESSED_TEX_IMAGE2_D = index("glCompressedTexImage2D");
+    static final int COMPRESSED_TEX_SUB_IMAGE2_D = index("glCompressedTexSubImage2D");
+    static final int COPY_TEX_IMAGE2_D = index("glCopyTexImage2D");
+    static final int COPY_TEX_SUB_IMAGE2_D = index("glCopyTexSubImage2D");
+    static final int CREATE_PROGRAM = index("glCreateProgram");
+    static final int CREATE_SHADER = index("glCreateShader");
+    static final int CULL_FACE = index("glCullFace");
+    static final int DELETE_BUFFERS = index("glDeleteBuffers");
+    static final int DELETE_FRAMEBUFFERS = index("glDeleteFramebuffers");
+    static final int DELETE_PROGRAM = index("glDeleteProgram");
+    static final int DELETE_RENDERBUFFERS = index("glDeleteRenderbuffers");
+    static final int DELETE_SHADER = index("glDeleteShader");
+    static final int DELETE_TEXTURES = index("glDeleteTextures");
+    static final int DEPTH_FUNC = index("glDepthFunc");
+    static final int DEPTH_MASK = index("glDepthMask");
+    static final int DEPTH_RANGEF = index("glDepthRangef");
+    static final int DETACH_SHADER = index("glDetachShader");
+    static final int DISABLE = index("glDisable");
+    static final int DISABLE_CLIENT_STATE = index("glDisableClientState");
+    static final int DISABLE_VERTEX_ATTRIB_ARRAY = index("glDisableVertexAttribArray");
+    static final int DRAW_ARRAYS = index("glDrawArrays");
+    static final int DRAW_ELEMENTS = index("glDrawElements");
+    static final int ENABLE = index("glEnable");
+    static final int ENABLE_CLIENT_STATE = index("glEnableClientState");
+    static final int ENABLE_VERTEX_ATTRIB_ARRAY = index("glEnableVertexAttribArray");
+    static final int FINISH = index("glFinish");
+    static final int FLUSH = index("glFlush");
+    static final int FOGF = index("glFogf");
+    static final int FOGFV = index("glFogfv");
+    static final int FRAMEBUFFER_RENDERBUFFER = index("glFramebufferRenderbuffer");
+    static final int FRAMEBUFFER_TEXTURE2_D = index("glFramebufferTexture2D");
+    static final int FRONT_FACE = index("glFrontFace");
+    static final int FRUSTUMF = index("glFrustumf");
+    static final int GEN_BUFFERS = index("glGenBuffers");
+    static final int GEN_FRAMEBUFFERS = index("glGenFramebuffers");
+    static final int GEN_RENDERBUFFERS = index("glGenRenderbuffers");
+    static final int GEN_TEXTURES = index("glGenTextures");
+    static final int GENERATE_MIPMAP = index("glGenerateMipmap");
+    static final int GET_ACTIVE_ATTRIB = index("glGetActiveAttrib");
+    static final int GET_ACTIVE_UNIFORM = index("glGetActiveUniform");
+    static final int GET_ATTACHED_SHADERS = index("glGetAttachedShaders");
+    static final int GET_ATTRIB_LOCATION = index("glGetAttribLocation");
+    static final int GET_BOOLEANV = index("glGetBooleanv");
+    static final int GET_BUFFER_PARAMETERIV = index("glGetBufferParameteriv");
+    static final int GET_CLIP_PLANEF = index("glGetClipPlanef");
+    static final int GET_ERROR = index("glGetError");
+    static final int GET_FIXEDV = index("glGetFixedv");
+    static final int GET_FLOATV = index("glGetFloatv");
+    static final int GET_FRAMEBUFFER_ATTACHMENT_PARAMETERIV = index("glGetFramebufferAttachmentParameteriv");
+    static final int GET_INTEGERV = index("glGetIntegerv");
+    static final int GET_LIGHTFV = index("glGetLightfv");
+    static final int GET_LIGHTXV = index("glGetLightxv");
+    static final int GET_MATERIALFV = index("glGetMaterialfv");
+    static final int GET_MATERIALXV = index("glGetMaterialxv");
+    static final int GET_POINTERV = index("glGetPointerv");
+    static final int GET_PROGRAM_INFO_LOG = index("glGetProgramInfoLog");
+    static final int GET_PROGRAMIV = index("glGetProgramiv");
+    static final int GET_RENDERBUFFER_PARAMETERIV = index("glGetRenderbufferParameteriv");
+    static final int GET_SHADER_INFO_LOG = index("glGetShaderInfoLog");
+    static final int GET_SHADER_PRECISION_FORMAT = index("glGetShaderPrecisionFormat");
+    static final int GET_SHADER_SOURCE = index("glGetShaderSource");
+    static final int GET_SHADERIV = index("glGetShaderiv");
+    static final int GET_STRING = index("glGetString");
+    static final int GET_TEX_ENVIV = index("glGetTexEnviv");
+    static final int GET_TEX_ENVXV = index("glGetTexEnvxv");
+    static final int GET_TEX_PARAMETERFV = index("glGetTexParameterfv");
+    static final int GET_TEX_PARAMETERIV = index("glGetTexParameteriv");
+    static final int GET_TEX_PARAMETERXV = index("glGetTexParameterxv");
+    static final int GET_UNIFORM_LOCATION = index("glGetUniformLocation");
+    static final int GET_UNIFORMFV = index("glGetUniformfv");
+    static final int GET_UNIFORMIV = index("glGetUniformiv");
+    static final int GET_VERTEX_ATTRIB_POINTERV = index("glGetVertexAttribPointerv");
+    static final int GET_VERTEX_ATTRIBFV = index("glGetVertexAttribfv");
+    static final int GET_VERTEX_ATTRIBIV = index("glGetVertexAttribiv");
+    static final int HINT = index("glHint");
+    static final int IS_BUFFER = index("glIsBuffer");
+    static final int IS_ENABLED = index("glIsEnabled");
+    static final int IS_FRAMEBUFFER = index("glIsFramebuffer");
+    static final int IS_PROGRAM = index("glIsProgram");
+    static final int IS_RENDERBUFFER = index("glIsRenderbuffer");
+    static final int IS_SHADER = index("glIsShader");
+    static final int IS_TEXTURE = index("glIsTexture");
+    static final int LIGHT_MODELF = index("glLightModelf");
+    static final int LIGHT_MODELFV = index("glLightModelfv");
+    static final int LIGHTF = index("glLightf");
+    static final int LIGHTFV = index("glLightfv");
+    static final int LINE_WIDTH = index("glLineWidth");
+    static final int LINK_PROGRAM = index("glLinkProgram");
+    static final int LOAD_IDENTITY = index("glLoadIdentity");
+    static final int LOAD_MATRIXF = index("glLoadMatrixf");
+    static final int LOGIC_OP = index("glLogicOp");
+    static final int MATERIALF = index("glMaterialf");
+    static final int MATERIALFV = index("glMaterialfv");
+    static final int MATRIX_MODE = index("glMatrixMode");
+    static final int MULT_MATRIXF = index("glMultMatrixf");
+    static final int MULTI_TEX_COORD4F = index("glMultiTexCoord4f");
+    static final int NORMAL3F = index("glNormal3f");
+    static final int NORMAL_POINTER = index("glNormalPointer");
+    static final int ORTHOF = index("glOrthof");
+    static final int PIXEL_STOREI = index("glPixelStorei");
+    static final int POINT_PARAMETERF = index("glPointParameterf");
+    static final int POINT_PARAMETERFV = index("glPointParameterfv");
+    static final int POINT_SIZE = index("glPointSize");
+    static final int POINT_SIZE_POINTER_OES = index("glPointSizePointerOES");
+    static final int POLYGON_MODE = index("glPolygonMode");
+    static final int POLYGON_OFFSET = index("glPolygonOffset");
+    static final int POP_MATRIX = index("glPopMatrix");
+    static final int PUSH_MATRIX = index("glPushMatrix");
+    static final int READ_PIXELS = index("glReadPixels");
+    static final int RELEASE_SHADER_COMPILER = index("glReleaseShaderCompiler");
+    static final int RENDERBUFFER_STORAGE = index("glRenderbufferStorage");
+    static final int ROTATEF = index("glRotatef");
+    static final int SAMPLE_COVERAGE = index("glSampleCoverage");
+    static final int SCALEF = index("glScalef");
+    static final int SCISSOR = index("glScissor");
+    static final int SHADE_MODEL = index("glShadeModel");
+    static final int SHADER_BINARY = index("glShaderBinary");
+    static final int SHADER_SOURCE = index("glShaderSource");
+    static final int STENCIL_FUNC = index("glStencilFunc");
+    static final int STENCIL_FUNC_SEPARATE = index("glStencilFuncSeparate");
+    static final int STENCIL_MASK = index("glStencilMask");
+    static final int STENCIL_MASK_SEPARATE = index("glStencilMaskSeparate");
+    static final int STENCIL_OP = index("glStencilOp");
+    static final int STENCIL_OP_SEPARATE = index("glStencilOpSeparate");
+    static final int TEX_COORD_POINTER = index("glTexCoordPointer");
+    static final int TEX_ENVF = index("glTexEnvf");
+    static final int TEX_ENVFV = index("glTexEnvfv");
+    static final int TEX_ENVI = index("glTexEnvi");
+    static final int TEX_ENVIV = index("glTexEnviv");
+    static final int TEX_IMAGE2_D = index("glTexImage2D");
+    static final int TEX_PARAMETERF = index("glTexParameterf");
+    static final int TEX_PARAMETERFV = index("glTexParameterfv");
+    static final int TEX_PARAMETERI = index("glTexParameteri");
+    static final int TEX_PARAMETERIV = index("glTexParameteriv");
+    static final int TEX_SUB_IMAGE2_D = index("glTexSubImage2D");
+    static final int TRANSLATEF = index("glTranslatef");
+    static final int UNIFORM1F = index("glUniform1f");
+    static final int UNIFORM1FV = index("glUniform1fv");
+    static final int UNIFORM1I = index("glUniform1i");
+    static final int UNIFORM1IV = index("glUniform1iv");
+    static final int UNIFORM2F = index("glUniform2f");
+    static final int UNIFORM2FV = index("glUniform2fv");
+    static final int UNIFORM2I = index("glUniform2i");
+    static final int UNIFORM2IV = index("glUniform2iv");
+    static final int UNIFORM3F = index("glUniform3f");
+    static final int UNIFORM3FV = index("glUniform3fv");
+    static final int UNIFORM3I = index("glUniform3i");
+    static final int UNIFORM3IV = index("glUniform3iv");
+    static final int UNIFORM4F = index("glUniform4f");
+    static final int UNIFORM4FV = index("glUniform4fv");
+    static final int UNIFORM4I = index("glUniform4i");
+    static final int UNIFORM4IV = index("glUniform4iv");
+    static final int UNIFORM_MATRIX2FV = index("glUniformMatrix2fv");
+    static final int UNIFORM_MATRIX3FV = index("glUniformMatrix3fv");
+    static final int UNIFORM_MATRIX4FV = index("glUniformMatrix4fv");
+    static final int USE_PROGRAM = index("glUseProgram");
+    static final int VALIDATE_PROGRAM = index("glValidateProgram");
+    static final int VERTEX_ATTRIB1F = index("glVertexAttrib1f");
+    static final int VERTEX_ATTRIB1FV = index("glVertexAttrib1fv");
+    static final int VERTEX_ATTRIB2F = index("glVertexAttrib2f");
+    static final int VERTEX_ATTRIB2FV = index("glVertexAttrib2fv");
+    static final int VERTEX_ATTRIB3F = index("glVertexAttrib3f");
+    static final int VERTEX_ATTRIB3FV = index("glVertexAttrib3fv");
+    static final int VERTEX_ATTRIB4F = index("glVertexAttrib4f");
+    static final int VERTEX_ATTRIB4FV = index("glVertexAttrib4fv");
+    static final int VERTEX_ATTRIB_POINTER = index("glVertexAttribPointer");
+    static final int VERTEX_POINTER = index("glVertexPointer");
+    static final int VIEWPORT = index("glViewport");
+
+    // current frame, rendering thread only
+    final int[] calls = new int[ENTRY_POINTS.length];
+    int drawCalls;
+    long vertices;
+    long indices;
+    int textureBinds;
+    int shaderSwitches;
+    long bufferBytes;
+    long textureBytes;
+
+    // last finished frame
+    private final int[] lastCalls = new int[ENTRY_POINTS.length];
+    private volatile int lastTotalCalls;
+    private volatile int lastDrawCalls;
+    private volatile long lastVertices;
+    private volatile long lastIndices;
+    private volatile int lastTextureBinds;
+    private volatile int lastShaderSwitches;
+    private volatile long lastBufferBytes;
+    private volatile long lastTextureBytes;
+
+    SwtLwjglGLProfiler() {
+    }
+
+    private static int index(String entryPoint) {
+        int index = Arrays.binarySearch(ENTRY_POINTS, entryPoint);
+        if (index < 0) throw new IllegalStateException("Unknown GL entry point " + entryPoint);
+        return index;
+    }
+
+    void drawArrays(int count) {
+        drawCalls++;
+        vertices += count;
+    }
+
+    void drawElements(int count) {
+        drawCalls++;
+        indices += count;
+    }
+
+    /**
+     * Publishes the counters of the finished frame and starts counting the next one. Rendering thread only.
+     */
+    void endFrame() {
+        int total = 0;
+        synchronized (lastCalls) {
+            for (int i = 0; i < calls.length; i++) {
+                total += calls[i];
+                lastCalls[i] = calls[i];
+            }
+        }
+        Arrays.fill(calls, 0);
+        lastTotalCalls = total;
+        lastDrawCalls = drawCalls;
+        lastVertices = vertices;
+        lastIndices = indices;
+        lastTextureBinds = textureBinds;
+        lastShaderSwitches = shaderSwitches;
+        lastBufferBytes = bufferBytes;
+        lastTextureBytes = textureBytes;
+        drawCalls = 0;
+        vertices = 0;
+        indices = 0;
+        textureBinds = 0;
+        shaderSwitches = 0;
+        bufferBytes = 0;
+        textureBytes = 0;
+    }
+
+    /**
+     * @return number of all GL calls in the last frame
+     */
+    public int getCalls() {
+        return lastTotalCalls;
+    }
+
+    /**
+     * @param entryPoint GL function name as in {@link com.badlogic.gdx.graphics.GL20}, for example "glBindTexture"
+     * @return number of calls of the entry point in the last frame, overloads are counted together
+     */
+    public int getCalls(String entryPoint) {
+        int index = Arrays.binarySearch(ENTRY_POINTS, entryPoint);
+        if (index < 0) return 0;
+        synchronized (lastCalls) {
+            return lastCalls[index];
+        }
+    }
+
+    /**
+     * @return entry points called in the last frame with their call counts, in alphabetical order
+     */
+    public Map<String, Integer> getCallsPerEntryPoint() {
+        Map<String, Integer> result = new LinkedHashMap<String, Integer>();
+        synchronized (lastCalls) {
+            for (int i = 0; i < lastCalls.length; i++) {
+                if (lastCalls[i] > 0) result.put(ENTRY_POINTS[i], lastCalls[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return number of glDrawArrays and glDrawElements calls in the last frame
+     */
+    public int getDrawCalls() {
+        return lastDrawCalls;
+    }
+
+    /**
+     * @return number of vertices submitted by glDrawArrays in the last frame
+     */
+    public long getVertices() {
+        return lastVertices;
+    }
+
+    /**
+     * @return number of indices submitted by glDrawElements in the last frame
+     */
+    public long getIndices() {
+        return lastIndices;
+    }
+
+    public int getTextureBinds() {
+        return lastTextureBinds;
+    }
+
+    /**
+     * @return number of glUseProgram calls in the last frame
+     */
+    public int getShaderSwitches() {
+        return lastShaderSwitches;
+    }
+
+    /**
+     * @return bytes uploaded by glBufferData and glBufferSubData in the last frame
+     */
+    public long getBufferBytes() {
+        return lastBufferBytes;
+    }
+
+    /**
+     * @return bytes uploaded by glTexImage2D, glTexSubImage2D and their compressed variants in the last frame
+     */
+    public long getTextureBytes() {
+        return lastTextureBytes;
+    }
+
+    static long bytes(Buffer buffer) {
+        if (buffer == null) return 0;
+        int remaining = buffer.remaining();
+        if (buffer instanceof ByteBuffer) return remaining;
+        if (buffer instanceof ShortBuffer || buffer instanceof CharBuffer) return remaining << 1;
+        if (buffer instanceof DoubleBuffer || buffer instanceof LongBuffer) return (long) remaining << 3;
+        return (long) remaining << 2;
+    }
+}
@@ -1,310 +1,1010 @@
-package com.badlogic.gdx.backends.lwjgl.swt;
-
-import java.util.concurrent.atomic.AtomicBoolean;
-
-import org.eclipse.swt.SWT;
-import org.eclipse.swt.events.ControlAdapter;
-import org.eclipse.swt.events.ControlEvent;
-import org.eclipse.swt.layout.GridData;
-import org.eclipse.swt.layout.GridLayout;
-import org.eclipse.swt.opengl.GLCanvas;
-import org.eclipse.swt.opengl.GLData;
-import org.eclipse.swt.widgets.Composite;
-import org.lwjgl.LWJGLException;
-import org.lwjgl.opengl.GLContext;
-
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Graphics;
-import com.badlogic.gdx.graphics.GL10;
-import com.badlogic.gdx.graphics.GL11;
-import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.GLCommon;
-
-/**
- * @author Michal NkD Nikodim
- *
- */
-public class SwtLwjglGraphics implements Graphics {
-    static int major, minor;
-
-    private final GLCanvas glCanvas;
-    private final AtomicBoolean glCanvasResizeFlag = new AtomicBoolean(false);
-    private final BufferFormat bufferFormat;
-
-    private GLCommon gl;
-    private LwjglGL10 gl10;
-    private LwjglGL11 gl11;
-    private LwjglGL20 gl20;
-
-    private String extensions;
-    private volatile boolean isContinuous = true;
-    private volatile boolean requestRendering = false;
-
-    float deltaTime = 0;
-    long frameStart = 0;
-    int frames = 0;
-    int fps;
-    long lastTime = System.nanoTime();
-
-    boolean vsync;
-
-    SwtLwjglGraphics(final Composite parent, final SwtLwjglConfig config) {
-        this.vsync = config.vSyncEnabled;
-
-        GLData glData = new GLData();
-        glData.redSize = config.r;
-        glData.greenSize = config.g;
-        glData.blueSize = config.b;
-        glData.alphaSize = config.a;
-        glData.depthSize = config.depth;
-        glData.stencilSize = config.stencil;
-        glData.samples = config.samples;
-        glData.doubleBuffer = true;
-        glCanvas = new GLCanvas(parent, SWT.FLAT, glData);
-        if (parent.getLayout() instanceof GridLayout) glCanvas.setLayoutData(new GridData(GridData.FILL, GridData.FILL, true, true));
-        glCanvas.addControlListener(new ControlAdapter() {
-            @Override
-            public void controlResized(ControlEvent e) {
-                glCanvasResizeFlag.set(true);
-            }
-        });
-        setCurrent();
-        String version = org.lwjgl.opengl.GL11.glGetString(GL11.GL_VERSION);
-        major = Integer.parseInt("" + version.charAt(0));
-        minor = Integer.parseInt("" + version.charAt(2));
-
-        if (config.useGL20 && (major >= 2 || version.contains("2.1"))) { // special case for MESA, wtf...
-            // FIXME add check whether gl 2.0 is supported
-            gl20 = new LwjglGL20();
-            gl = gl20;
-        } else {
-            gl20 = null;
-            if (major == 1 && minor < 5) {
-                gl10 = new LwjglGL10();
-            } else {
-                gl11 = new LwjglGL11();
-                gl10 = gl11;
-            }
-            gl = gl10;
-        }
-
-        Gdx.gl = gl;
-        Gdx.gl10 = gl10;
-        Gdx.gl11 = gl11;
-        Gdx.gl20 = gl20;
-
-        bufferFormat = new BufferFormat(config.r, config.g, config.b, config.a, config.depth, config.stencil, config.samples, false);
-
-    }
-
-    /**
-     * @return the glCanvas
-     */
-    final GLCanvas getGlCanvas() {
-        return glCanvas;
-    }
-
-    boolean isResized() {
-        return glCanvasResizeFlag.getAndSet(false);
-    }
-
-    void setCurrent() {
-        if (!glCanvas.isDisposed()) {
-            glCanvas.setCurrent();
-            try {
-                GLContext.useContext(glCanvas);
-                Gdx.gl = gl;
-                Gdx.gl10 = gl10;
-                Gdx.gl11 = gl11;
-                Gdx.gl20 = gl20;
-            } catch (LWJGLException e) {
-                throw new RuntimeException(e);
-            }
-        }
-    }
-
-    void swapBuffer() {
-        if (!glCanvas.isDisposed()) glCanvas.swapBuffers();
-    }
-
-    @Override
-    public int getWidth() {
-        if (glCanvas.isDisposed()) return 1;
-        int w = glCanvas.getSize().x - glCanvas.getBorderWidth() * 2;
-        return Math.max(1, w);
-    }
-
-    @Override
-    public int getHeight() {
-        if (glCanvas.isDisposed()) return 1;
-        int h = glCanvas.getSize().y - glCanvas.getBorderWidth() * 2;
-        return Math.max(1, h);
-    }
-
-    @Override
-    public float getDeltaTime() {
-        return deltaTime;
-    }
-
-    @Override
-    public float getRawDeltaTime() {
-        return deltaTime;
-    }
-
-    @Override
-    public int getFramesPerSecond() {
-        return fps;
-    }
-
-    void updateTime() {
-        long time = System.nanoTime();
-        deltaTime = (time - lastTime) / 1000000000.0f;
-        lastTime = time;
-
-        if (time - frameStart >= 1000000000) {
-            fps = frames;
-            frames = 0;
-            frameStart = time;
-        }
-        frames++;
-    }
-
-    @Override
-    public GraphicsType getType() {
-        return GraphicsType.LWJGL;
-    }
-
-    @Override
-    public float getPpiX() {
-        if (glCanvas.isDisposed()) return 0;
-        return glCanvas.getDisplay().getDPI().x;
-    }
-
-    @Override
-    public float getPpiY() {
-        if (glCanvas.isDisposed()) return 0;
-        return glCanvas.getDisplay().getDPI().x;
-    }
-
-    @Override
-    public float getPpcX() {
-        return getPpiX() / 2.54f;
-    }
-
-    @Override
-    public float getPpcY() {
-        return getPpiY() / 2.54f;
-    }
-
-    @Override
-    public float getDensity() {
-        return getPpiX() / 160.0f;
-    }
-
-    @Override
-    public boolean supportsDisplayModeChange() {
-        return false;
-    }
-
-    @Override
-    public DisplayMode[] getDisplayModes() {
-        return null;
-    }
-
-    @Override
-    public DisplayMode getDesktopDisplayMode() {
-        return null;
-    }
-
-    @Override
-    public boolean setDisplayMode(DisplayMode displayMode) {
-        return false;
-    }
-
-    @Override
-    public boolean setDisplayMode(int width, int height, boolean fullscreen) {
-        return false;
-    }
-
-    @Override
-    public void setTitle(String title) {
-        //nothing
-    }
-
-    @Override
-    public void setVSync(boolean vsync) {
-        this.vsync = vsync;
-    }
-
-    @Override
-    public BufferFormat getBufferFormat() {
-        return bufferFormat;
-    }
-
-    @Override
-    public boolean supportsExtension(String extension) {
-        if (extensions == null) extensions = Gdx.gl.glGetString(GL10.GL_EXTENSIONS);
-        return extensions.contains(extension);
-    }
-
-    @Override
-    public void setContinuousRendering(boolean isContinuous) {
-        this.isContinuous = isContinuous;
-
-    }
-
-    @Override
-    public boolean isContinuousRendering() {
-        return isContinuous;
-    }
-
-    @Override
-    public void requestRendering() {
-        synchronized (this) {
-            requestRendering = true;
-        }
-    }
-
-    public boolean shouldRender() {
-        synchronized (this) {
-            boolean rq = requestRendering;
-            requestRendering = false;
-            return rq || isContinuous;
-        }
-    }
-
-    @Override
-    public boolean isFullscreen() {
-        return false;
-    }
-
-    @Override
-    public boolean isGL11Available() {
-        return gl11 != null;
-    }
-
-    @Override
-    public boolean isGL20Available() {
-        return gl20 != null;
-    }
-
-    @Override
-    public GLCommon getGLCommon() {
-        return gl;
-    }
-
-    @Override
-    public GL10 getGL10() {
-        return gl10;
-    }
-
-    @Override
-    public GL11 getGL11() {
-        return gl11;
-    }
-
-    @Override
-    public GL20 getGL20() {
-        return gl20;
-    }
-}
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import static org.lwjgl.opengl.GL11.glFlush;
+
+import java.lang.management.ManagementFactory;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.ObjectName;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.ControlAdapter;
+import org.eclipse.swt.events.ControlEvent;
+import org.eclipse.swt.events.DisposeEvent;
+import org.eclipse.swt.events.DisposeListener;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.opengl.GLCanvas;
+import org.eclipse.swt.opengl.GLData;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.LWJGLException;
+import org.lwjgl.opengl.ARBES3Compatibility;
+import org.lwjgl.opengl.ARBTextureCompressionBPTC;
+import org.lwjgl.opengl.ARBTextureCompressionRGTC;
+import org.lwjgl.opengl.ContextCapabilities;
+import org.lwjgl.opengl.EXTTextureCompressionS3TC;
+import org.lwjgl.opengl.EXTTextureSRGB;
+import org.lwjgl.opengl.GL13;
+import org.lwjgl.opengl.GLContext;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.GL11;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GLCommon;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * @author Michal NkD Nikodim
+ *
+ */
+public class SwtLwjglGraphics implements Graphics {
+
+    /** How buffer swaps are synchronized with the display, see {@link SwtLwjglGraphics#getSwapMode()} **/
+    public enum SwapMode {
+        /** swap interval 0, buffers are swapped immediately and frames may tear **/
+        Immediate,
+        /** swap interval 1, swaps wait for the vertical blank **/
+        VSync,
+        /** swap interval -1, swaps wait for the vertical blank unless the frame is late, late frames tear instead of stalling **/
+        Adaptive,
+        /** vsync requested but swap control is not available, frames are paced to the display refresh rate in software **/
+        Software,
+        /** vsync disabled but swap control is not available, the driver default applies **/
+        DriverDefault
+    }
+
+    /** Visibility of the canvas, see {@link SwtLwjglGraphics#getVisibility()} **/
+    public enum Visibility {
+        /** canvas is visible and its shell is active **/
+        Foreground,
+        /** canvas is visible but its shell is not active **/
+        Background,
+        /** canvas is hidden, its shell is minimized or the canvas is scrolled or clipped out of view **/
+        Hidden
+    }
+
+    /** Notified on the UI thread whenever the {@link Visibility} of the canvas changes **/
+    public interface VisibilityListener {
+        void visibilityChanged(Visibility visibility);
+    }
+
+    static int major, minor;
+
+    private static final ThreadLocal<SwtLwjglGraphics> currentGraphics = new ThreadLocal<SwtLwjglGraphics>();
+    private static final AtomicLong contextSwitches = new AtomicLong();
+    private static final AtomicLong skippedContextSwitches = new AtomicLong();
+    private static final AtomicInteger canvasCount = new AtomicInteger();
+
+    private final GLCanvas glCanvas;
+    private final SwtLwjglFrameScheduler scheduler;
+    private final AtomicBoolean glCanvasResizeFlag = new AtomicBoolean(false);
+    private final BufferFormat bufferFormat;
+    private final boolean renderThreadMode;
+    private final SwtLwjglContextGroup contextGroup;
+    private SwtLwjglRenderThread renderThread;
+    private volatile int width = 1, height = 1;
+    private final int ppi;
+    private final SwtLwjglFrameStats frameStats = new SwtLwjglFrameStats(this);
+    private ObjectName frameStatsName;
+
+    private GLCommon gl;
+    private LwjglGL10 gl10;
+    private LwjglGL11 gl11;
+    private LwjglGL20 gl20;
+
+    // GL bound to Gdx and returned by the getters, the profiling wrappers while profiling
+    private GLCommon boundGl;
+    private GL10 boundGl10;
+    private GL11 boundGl11;
+    private GL20 boundGl20;
+    private final SwtLwjglGLProfiler profiler = new SwtLwjglGLProfiler();
+    private volatile boolean profilingRequested = false;
+    private boolean profiling = false;
+    private volatile boolean stateCacheRequested = false;
+
+    private final SwtLwjglReadback readback;
+    private volatile SwtLwjglFrameRecorder frameRecorder;
+    private final Array<SwtLwjglTextureStreamer> textureStreamers = new Array<SwtLwjglTextureStreamer>();
+    private String extensions;
+    private int[] compressedFormats;
+    private volatile boolean isContinuous = true;
+    private volatile boolean requestRendering = false;
+
+    float deltaTime = 0;
+    long frameStart = 0;
+    int frames = 0;
+    int fps;
+    long lastTime = System.nanoTime();
+
+    boolean vsync;
+    boolean adaptiveVSync;
+    private volatile boolean swapIntervalDirty = false;
+    private volatile SwapMode swapMode = SwapMode.DriverDefault;
+    private final SwtLwjglSwapControl swapControl;
+    private final int refreshRate;
+
+    private static final int[] SHELL_EVENTS = { SWT.Activate, SWT.Deactivate, SWT.Iconify, SWT.Deiconify };
+    private static final int[] ANCESTOR_EVENTS = { SWT.Show, SWT.Hide, SWT.Move, SWT.Resize };
+
+    private volatile int foregroundFps;
+    private volatile int backgroundFps;
+    private volatile int hiddenFps;
+    private volatile Visibility visibility;
+    private VisibilityListener visibilityListener;
+    private boolean shellActive;
+    private boolean visibilityCheckPending = false;
+
+    SwtLwjglGraphics(final Composite parent, final SwtLwjglConfig config, final SwtLwjglFrameScheduler scheduler) {
+        this.scheduler = scheduler;
+        this.vsync = config.vSyncEnabled;
+        this.adaptiveVSync = config.adaptiveVSync;
+        this.foregroundFps = config.foregroundFps;
+        this.backgroundFps = config.backgroundFps;
+        this.hiddenFps = config.hiddenFps;
+        setFrameBudget(config.frameBudget);
+
+        GLData glData = new GLData();
+        glData.redSize = config.r;
+        glData.greenSize = config.g;
+        glData.blueSize = config.b;
+        glData.alphaSize = config.a;
+        glData.depthSize = config.depth;
+        glData.stencilSize = config.stencil;
+        glData.samples = config.samples;
+        glData.doubleBuffer = true;
+        contextGroup = config.shareGroup != null ? SwtLwjglContextGroup.get(config.shareGroup) : null;
+        if (contextGroup != null) glData.shareContext = contextGroup.getShareContext();
+        glCanvas = new GLCanvas(parent, SWT.FLAT, glData);
+        if (contextGroup != null) contextGroup.join(glCanvas);
+        if (parent.getLayout() instanceof GridLayout) glCanvas.setLayoutData(new GridData(GridData.FILL, GridData.FILL, true, true));
+        glCanvas.addControlListener(new ControlAdapter() {
+            @Override
+            public void controlResized(ControlEvent e) {
+                updateSize();
+                glCanvasResizeFlag.set(true);
+                scheduler.wake();
+            }
+        });
+        glCanvas.addListener(SWT.Paint, new Listener() {
+            @Override
+            public void handleEvent(Event event) {
+                requestRendering(); // exposed canvas content has to be redrawn, even with non-continuous rendering
+            }
+        });
+        glCanvas.addListener(SWT.FocusIn, new Listener() {
+            @Override
+            public void handleEvent(Event event) {
+                scheduler.setFocused(true);
+            }
+        });
+        glCanvas.addListener(SWT.FocusOut, new Listener() {
+            @Override
+            public void handleEvent(Event event) {
+                scheduler.setFocused(false);
+            }
+        });
+        final Listener shellListener = new Listener() {
+            @Override
+            public void handleEvent(Event event) {
+                if (event.type == SWT.Activate) shellActive = true;
+                if (event.type == SWT.Deactivate) shellActive = false;
+                checkVisibility();
+            }
+        };
+        final Listener ancestorListener = new Listener() {
+            @Override
+            public void handleEvent(Event event) {
+                checkVisibility();
+            }
+        };
+        final Shell shell = glCanvas.getShell();
+        for (int type : SHELL_EVENTS) {
+            shell.addListener(type, shellListener);
+        }
+        final Array<Control> ancestors = new Array<Control>();
+        for (Control control = glCanvas; control != null; control = control.getParent()) {
+            ancestors.add(control);
+            for (int type : ANCESTOR_EVENTS) {
+                control.addListener(type, ancestorListener);
+            }
+        }
+        glCanvas.addDisposeListener(new DisposeListener() {
+            @Override
+            public void widgetDisposed(DisposeEvent e) {
+                if (!shell.isDisposed()) {
+                    for (int type : SHELL_EVENTS) {
+                        shell.removeListener(type, shellListener);
+                    }
+                }
+                for (Control control : ancestors) {
+                    if (control.isDisposed()) continue;
+                    for (int type : ANCESTOR_EVENTS) {
+                        control.removeListener(type, ancestorListener);
+                    }
+                }
+                unregisterFrameStats();
+                if (contextGroup != null) contextGroup.leave(glCanvas);
+            }
+        });
+        updateSize();
+        ppi = glCanvas.getDisplay().getDPI().x;
+        shellActive = glCanvas.getDisplay().getActiveShell() == shell;
+        visibility = computeVisibility();
+        updateTargetFps();
+        setCurrent();
+        String version = org.lwjgl.opengl.GL11.glGetString(GL11.GL_VERSION);
+        major = Integer.parseInt("" + version.charAt(0));
+        minor = Integer.parseInt("" + version.charAt(2));
+
+        if (config.useGL20 && (major >= 2 || version.contains("2.1"))) { // special case for MESA, wtf...
+            // FIXME add check whether gl 2.0 is supported
+            gl20 = new LwjglGL20();
+            gl = gl20;
+        } else {
+            gl20 = null;
+            if (major == 1 && minor < 5) {
+                gl10 = new LwjglGL10();
+            } else {
+                gl11 = new LwjglGL11();
+                gl10 = gl11;
+            }
+            gl = gl10;
+        }
+
+        profilingRequested = config.profiling;
+        stateCacheRequested = config.stateCache;
+        if (gl20 != null) gl20.setStateCache(stateCacheRequested);
+        if (gl20 != null) gl20.setSharedObjects(contextGroup != null);
+        updateBoundGl();
+        if (!SwtLwjglThreadBindings.isInstalled()) {
+            Gdx.gl = boundGl;
+            Gdx.gl20 = boundGl20;
+        }
+        Gdx.gl10 = boundGl10;
+        Gdx.gl11 = boundGl11;
+
+        // the render thread renders through GL 2.0 into a framebuffer object, without them the UI thread renders as usual
+        renderThreadMode = config.renderThread && gl20 != null && SwtLwjglRenderThread.isSupported();
+
+        compressedFormats = queryCompressedTextureFormats();
+        readback = new SwtLwjglReadback(this, config);
+        bufferFormat = new BufferFormat(config.r, config.g, config.b, config.a, config.depth, config.stencil, config.samples, false);
+
+        if (config.frameStatsMBean) registerFrameStats();
+        refreshRate = getDesktopRefreshRate();
+        swapControl = new SwtLwjglSwapControl(org.lwjgl.opengl.GL11.glGetString(GL11.GL_EXTENSIONS));
+        applySwapInterval();
+
+    }
+
+    /**
+     * @return the glCanvas
+     */
+    final GLCanvas getGlCanvas() {
+        return glCanvas;
+    }
+
+    boolean isResized() {
+        return glCanvasResizeFlag.getAndSet(false);
+    }
+
+    /**
+     * @return whether frames of this canvas should be rendered on a {@link SwtLwjglRenderThread}, decided once the canvas context
+     *         is known
+     */
+    boolean isRenderThreadMode() {
+        return renderThreadMode;
+    }
+
+    void setRenderThread(SwtLwjglRenderThread renderThread) {
+        this.renderThread = renderThread;
+    }
+
+    /**
+     * @return name of the group whose contexts share GL objects with this canvas, null when the canvas does not share, see
+     *         {@link SwtLwjglConfig#shareGroup}
+     */
+    public String getShareGroup() {
+        return contextGroup != null ? contextGroup.getName() : null;
+    }
+
+    /**
+     * Size is read on the UI thread only, render threads see the cached value.
+     */
+    private void updateSize() {
+        if (glCanvas.isDisposed()) return;
+        int border = glCanvas.getBorderWidth() * 2;
+        width = Math.max(1, glCanvas.getSize().x - border);
+        height = Math.max(1, glCanvas.getSize().y - border);
+    }
+
+    /**
+     * Makes the canvas context current on the calling thread and binds its GL objects to {@link Gdx}. On the render thread of the
+     * canvas its offscreen context is made current instead. Making a context current is an expensive driver round trip, it is
+     * skipped when the context is already current on this thread.
+     */
+    void setCurrent() {
+        boolean offscreen = renderThread != null && renderThread == Thread.currentThread();
+        if (!offscreen && glCanvas.isDisposed()) return;
+        if (makeCurrent(offscreen)) {
+            // whatever ran on this thread in between could have touched the context without going through the shadow state
+            if (gl20 != null) gl20.invalidateState();
+        }
+        if (profiling != profilingRequested) updateBoundGl();
+        if (gl20 != null && gl20.isStateCache() != stateCacheRequested) gl20.setStateCache(stateCacheRequested);
+        if (SwtLwjglThreadBindings.isInstalled()) {
+            // Gdx.gl and Gdx.gl20 are bound per thread by the application, GL 1.x stays on the UI thread
+            if (boundGl10 != null && (Gdx.gl10 != boundGl10 || Gdx.gl11 != boundGl11)) {
+                Gdx.gl10 = boundGl10;
+                Gdx.gl11 = boundGl11;
+            }
+        } else if (Gdx.gl != boundGl || Gdx.gl10 != boundGl10 || Gdx.gl11 != boundGl11 || Gdx.gl20 != boundGl20) {
+            Gdx.gl = boundGl;
+            Gdx.gl10 = boundGl10;
+            Gdx.gl11 = boundGl11;
+            Gdx.gl20 = boundGl20;
+        }
+    }
+
+    /**
+     * Makes the context current without touching the GL objects of the canvas, skipped when it is already current on this thread.
+     *
+     * @return whether the context was switched
+     */
+    private boolean makeCurrent(boolean offscreen) {
+        if (currentGraphics.get() == this) {
+            skippedContextSwitches.incrementAndGet();
+            return false;
+        }
+        // objects of a shared group changed in the previous context are visible to other contexts only after a flush
+        SwtLwjglGraphics previous = currentGraphics.get();
+        if (previous != null && previous.contextGroup != null) glFlush();
+        if (offscreen) {
+            renderThread.makeCurrent();
+        } else {
+            glCanvas.setCurrent();
+            try {
+                GLContext.useContext(glCanvas);
+            } catch (LWJGLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        currentGraphics.set(this);
+        contextSwitches.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Switches between the plain and the profiling GL objects, profiling wrappers are created on every switch so nothing of them
+     * is kept while profiling is off.
+     */
+    private void updateBoundGl() {
+        profiling = profilingRequested;
+        if (!profiling) {
+            boundGl = gl;
+            boundGl10 = gl10;
+            boundGl11 = gl11;
+            boundGl20 = gl20;
+        } else if (gl20 != null) {
+            boundGl20 = new LwjglProfiledGL20(gl20, profiler);
+            boundGl = boundGl20;
+        } else if (gl11 != null) {
+            LwjglProfiledGL11 profiled = new LwjglProfiledGL11(gl11, profiler);
+            boundGl11 = profiled;
+            boundGl10 = profiled;
+            boundGl = profiled;
+        } else {
+            boundGl10 = new LwjglProfiledGL10(gl10, profiler);
+            boundGl = boundGl10;
+        }
+    }
+
+    /**
+     * Framebuffer object which the render thread uses as default framebuffer, see {@link SwtLwjglRenderThread}.
+     */
+    void setDefaultFramebuffer(int framebuffer) {
+        gl20.defaultFramebuffer = framebuffer;
+    }
+
+    /**
+     * Forgets the context tracked as current on the calling thread, called when the canvas goes away.
+     */
+    void releaseCurrent() {
+        if (currentGraphics.get() == this) currentGraphics.remove();
+    }
+
+    /**
+     * Must be called by code which makes its own GL context current on a thread used by the backend, the next frame then switches
+     * back to the canvas context instead of trusting the tracked state.
+     */
+    public static void invalidateCurrentContext() {
+        currentGraphics.remove();
+    }
+
+    /**
+     * @return number of context switches done so far, by all canvases
+     */
+    public static long getContextSwitchCount() {
+        return contextSwitches.get();
+    }
+
+    /**
+     * @return number of context switches skipped so far because the context was already current, by all canvases
+     */
+    public static long getSkippedContextSwitchCount() {
+        return skippedContextSwitches.get();
+    }
+
+    void swapBuffer() {
+        SwtLwjglFrameRecorder recorder = frameRecorder;
+        if (recorder != null) recorder.capture();
+        if (renderThread != null) {
+            renderThread.publishFrame();
+            return;
+        }
+        if (glCanvas.isDisposed()) return;
+        if (swapIntervalDirty) applySwapInterval();
+        glCanvas.swapBuffers();
+    }
+
+    /**
+     * Draws the latest frame of the render thread into the canvas. UI thread only.
+     */
+    void presentFrame() {
+        if (glCanvas.isDisposed()) return;
+        // gl20, its shadow state and the profiling toggles belong to the render thread, presenting only makes plain GL calls
+        makeCurrent(false);
+        if (swapIntervalDirty) applySwapInterval();
+        if (renderThread.drawFrame(width, height)) glCanvas.swapBuffers();
+    }
+
+    /**
+     * Applies requested vsync to the current context, adaptive interval is preferred when requested and supported.
+     */
+    private void applySwapInterval() {
+        swapIntervalDirty = false;
+        if (renderThreadMode) {
+            // presenting must not block the UI thread, vsync is replaced by pacing the render thread to the refresh rate
+            boolean immediate = swapControl.setSwapInterval(0);
+            swapMode = vsync ? SwapMode.Software : immediate ? SwapMode.Immediate : SwapMode.DriverDefault;
+        } else if (vsync && adaptiveVSync && swapControl.isAdaptiveAvailable() && swapControl.setSwapInterval(-1)) {
+            swapMode = SwapMode.Adaptive;
+        } else if (swapControl.setSwapInterval(vsync ? 1 : 0)) {
+            swapMode = vsync ? SwapMode.VSync : SwapMode.Immediate;
+        } else {
+            swapMode = vsync ? SwapMode.Software : SwapMode.DriverDefault;
+        }
+        updateTargetFps();
+    }
+
+    private void registerFrameStats() {
+        try {
+            frameStatsName = new ObjectName(SwtLwjglFrameStats.OBJECT_NAME_PREFIX + canvasCount.incrementAndGet());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(frameStats.createMBean(), frameStatsName);
+        } catch (Exception e) {
+            // JMX not available or not permitted, statistics are still available through getFrameStats()
+            frameStatsName = null;
+        }
+    }
+
+    private void unregisterFrameStats() {
+        if (frameStatsName == null) return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(frameStatsName);
+        } catch (Exception e) {
+            // already gone
+        }
+        frameStatsName = null;
+    }
+
+    private static int getDesktopRefreshRate() {
+        try {
+            int frequency = org.lwjgl.opengl.Display.getDesktopDisplayMode().getFrequency();
+            if (frequency > 0) return frequency;
+        } catch (Throwable t) {
+            // no display mode information on this platform
+        }
+        return 60;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public float getDeltaTime() {
+        return deltaTime;
+    }
+
+    @Override
+    public float getRawDeltaTime() {
+        return deltaTime;
+    }
+
+    @Override
+    public int getFramesPerSecond() {
+        return fps;
+    }
+
+    void updateTime() {
+        long time = System.nanoTime();
+        deltaTime = (time - lastTime) / 1000000000.0f;
+        lastTime = time;
+
+        if (time - frameStart >= 1000000000) {
+            fps = frames;
+            frames = 0;
+            frameStart = time;
+        }
+        frames++;
+    }
+
+    @Override
+    public GraphicsType getType() {
+        return GraphicsType.LWJGL;
+    }
+
+    @Override
+    public float getPpiX() {
+        if (glCanvas.isDisposed()) return 0;
+        return ppi;
+    }
+
+    @Override
+    public float getPpiY() {
+        if (glCanvas.isDisposed()) return 0;
+        return ppi;
+    }
+
+    @Override
+    public float getPpcX() {
+        return getPpiX() / 2.54f;
+    }
+
+    @Override
+    public float getPpcY() {
+        return getPpiY() / 2.54f;
+    }
+
+    @Override
+    public float getDensity() {
+        return getPpiX() / 160.0f;
+    }
+
+    @Override
+    public boolean supportsDisplayModeChange() {
+        return false;
+    }
+
+    @Override
+    public DisplayMode[] getDisplayModes() {
+        return null;
+    }
+
+    @Override
+    public DisplayMode getDesktopDisplayMode() {
+        return null;
+    }
+
+    @Override
+    public boolean setDisplayMode(DisplayMode displayMode) {
+        return false;
+    }
+
+    @Override
+    public boolean setDisplayMode(int width, int height, boolean fullscreen) {
+        return false;
+    }
+
+    @Override
+    public void setTitle(String title) {
+        //nothing
+    }
+
+    /**
+     * @param fps target framerate while the canvas shell is active, 0 means no limit
+     */
+    public void setForegroundFps(int fps) {
+        this.foregroundFps = fps;
+        updateTargetFps();
+    }
+
+    public int getForegroundFps() {
+        return foregroundFps;
+    }
+
+    /**
+     * @param fps target framerate while the canvas shell is not active, 0 means no limit, -1 means not render continuously
+     */
+    public void setBackgroundFps(int fps) {
+        this.backgroundFps = fps;
+        updateTargetFps();
+    }
+
+    public int getBackgroundFps() {
+        return backgroundFps;
+    }
+
+    /**
+     * @param fps target framerate while the canvas is hidden, 0 means no limit, -1 means not render at all
+     */
+    public void setHiddenFps(int fps) {
+        this.hiddenFps = fps;
+        updateTargetFps();
+    }
+
+    public int getHiddenFps() {
+        return hiddenFps;
+    }
+
+    /**
+     * @param milliseconds expected duration of one frame of this canvas. Canvases sharing a display run their frames in one
+     *            pass per tick, a canvas whose budget does not fit into the rest of the tick skips it and runs first in the next
+     *            one. 0 means the measured average frame time is used.
+     */
+    public void setFrameBudget(float milliseconds) {
+        scheduler.setFrameBudget((long) (milliseconds * 1000000));
+    }
+
+    public float getFrameBudget() {
+        return scheduler.getFrameBudget() / 1000000f;
+    }
+
+    /**
+     * @return moving average of the frame duration in milliseconds, including posted runnables and input processing
+     */
+    public float getAverageFrameTime() {
+        return scheduler.getAverageFrameTime() / 1000000f;
+    }
+
+    /**
+     * @return durations of the frame phases of this canvas, also published as MBean when
+     *         {@link SwtLwjglConfig#frameStatsMBean} is set
+     */
+    public SwtLwjglFrameStats getFrameStats() {
+        return frameStats;
+    }
+
+    /**
+     * @param profiling whether GL calls of this canvas are counted, see {@link #getProfiler()}. Takes effect with the next frame,
+     *            Gdx.gl and the GL getters then return counting wrappers. Without profiling the plain GL objects are bound and
+     *            counting costs nothing.
+     */
+    public void setProfiling(boolean profiling) {
+        this.profilingRequested = profiling;
+        requestRendering();
+    }
+
+    public boolean isProfiling() {
+        return profiling;
+    }
+
+    /**
+     * @param enabled whether the GL 2.0 wrapper skips binds and state changes which would not change anything, see
+     *            {@link #getFilteredStateChanges()}. Takes effect with the next frame. Must stay off when the context is also
+     *            used by code calling LWJGL directly.
+     */
+    public void setStateCache(boolean enabled) {
+        this.stateCacheRequested = enabled;
+    }
+
+    public boolean isStateCache() {
+        return stateCacheRequested;
+    }
+
+    /**
+     * @return number of redundant GL calls skipped by the state cache so far, 0 without GL 2.0
+     */
+    public long getFilteredStateChanges() {
+        return gl20 != null ? gl20.getFilteredCalls() : 0;
+    }
+
+    /**
+     * @return GL call counters of the last frame rendered with profiling
+     */
+    public SwtLwjglGLProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Queues an asynchronous read of a framebuffer region, see {@link SwtLwjglReadback}. GL thread only.
+     *
+     * @return false when the read was rejected because readers fall behind
+     */
+    public boolean readPixelsAsync(int x, int y, int width, int height, SwtLwjglReadback.Listener listener) {
+        return readback.read(x, y, width, height, listener);
+    }
+
+    public SwtLwjglReadback getReadback() {
+        return readback;
+    }
+
+    void setFrameRecorder(SwtLwjglFrameRecorder recorder) {
+        this.frameRecorder = recorder;
+    }
+
+    /**
+     * Delivers frames the recorder read back, readbacks only wake the main loop so this runs without rendering. GL thread only.
+     */
+    void updateFrameRecorder() {
+        SwtLwjglFrameRecorder recorder = frameRecorder;
+        if (recorder != null) recorder.update();
+    }
+
+    void addTextureStreamer(SwtLwjglTextureStreamer streamer) {
+        textureStreamers.add(streamer);
+    }
+
+    void removeTextureStreamer(SwtLwjglTextureStreamer streamer) {
+        textureStreamers.removeValue(streamer, true);
+    }
+
+    /**
+     * Issues the pending uploads of all texture streamers of this canvas. GL thread only.
+     *
+     * @return whether any texture changed
+     */
+    boolean updateTextureStreamers() {
+        boolean uploaded = false;
+        for (int i = 0; i < textureStreamers.size; i++) {
+            uploaded |= textureStreamers.get(i).update();
+        }
+        return uploaded;
+    }
+
+    /**
+     * Disposes streamers the application did not dispose itself. GL thread only.
+     */
+    void disposeTextureStreamers() {
+        while (textureStreamers.size > 0) {
+            textureStreamers.peek().dispose();
+        }
+    }
+
+    public Visibility getVisibility() {
+        return visibility;
+    }
+
+    public void setVisibilityListener(VisibilityListener listener) {
+        this.visibilityListener = listener;
+    }
+
+    /**
+     * @return whether frames should skip rendering, the canvas is hidden and hidden framerate is negative
+     */
+    boolean isRenderingSuspended() {
+        return visibility == Visibility.Hidden && hiddenFps < 0;
+    }
+
+    /**
+     * Visibility is evaluated after pending events are processed, SWT sends some of the tracked events before the widget state
+     * changes.
+     */
+    private void checkVisibility() {
+        if (visibilityCheckPending || glCanvas.isDisposed()) return;
+        visibilityCheckPending = true;
+        glCanvas.getDisplay().asyncExec(new Runnable() {
+            @Override
+            public void run() {
+                visibilityCheckPending = false;
+                if (glCanvas.isDisposed()) return;
+                Visibility newVisibility = computeVisibility();
+                if (newVisibility == visibility) return;
+                Visibility oldVisibility = visibility;
+                visibility = newVisibility;
+                updateTargetFps();
+                if (oldVisibility == Visibility.Hidden) requestRendering(); // content was not rendered while hidden
+                if (visibilityListener != null) visibilityListener.visibilityChanged(newVisibility);
+            }
+        });
+    }
+
+    private Visibility computeVisibility() {
+        Shell shell = glCanvas.getShell();
+        if (shell.getMinimized() || !glCanvas.isVisible()) return Visibility.Hidden;
+        Display display = glCanvas.getDisplay();
+        Rectangle area = display.map(glCanvas, null, glCanvas.getClientArea());
+        for (Composite parent = glCanvas.getParent(); parent != null; parent = parent.getParent()) {
+            area = area.intersection(display.map(parent, null, parent.getClientArea()));
+            if (area.isEmpty()) return Visibility.Hidden;
+        }
+        return shellActive ? Visibility.Foreground : Visibility.Background;
+    }
+
+    private void updateTargetFps() {
+        int fps;
+        switch (visibility) {
+            case Foreground:
+                fps = foregroundFps;
+                break;
+            case Background:
+                fps = backgroundFps;
+                break;
+            default:
+                fps = hiddenFps;
+        }
+        if (swapMode == SwapMode.Software && fps >= 0 && (fps == 0 || fps > refreshRate)) fps = refreshRate;
+        scheduler.setTargetFps(fps);
+    }
+
+    @Override
+    public void setVSync(boolean vsync) {
+        this.vsync = vsync;
+        swapIntervalDirty = true;
+        requestRendering();
+    }
+
+    /**
+     * @param adaptive whether vsync should let late frames tear instead of waiting for the next vertical blank, used only
+     *            when vsync is enabled and the driver supports it
+     */
+    public void setAdaptiveVSync(boolean adaptive) {
+        this.adaptiveVSync = adaptive;
+        swapIntervalDirty = true;
+        requestRendering();
+    }
+
+    /**
+     * @return swap synchronization actually in effect for the canvas context
+     */
+    public SwapMode getSwapMode() {
+        return swapMode;
+    }
+
+    @Override
+    public BufferFormat getBufferFormat() {
+        return bufferFormat;
+    }
+
+    @Override
+    public boolean supportsExtension(String extension) {
+        if (extensions == null) extensions = Gdx.gl.glGetString(GL10.GL_EXTENSIONS);
+        return extensions.contains(extension);
+    }
+
+    /**
+     * @return sorted internal formats glCompressedTexImage2D accepts in the context of this canvas
+     */
+    public int[] getCompressedTextureFormats() {
+        return compressedFormats.clone();
+    }
+
+    public boolean supportsCompressedTextureFormat(int internalformat) {
+        return Arrays.binarySearch(compressedFormats, internalformat) >= 0;
+    }
+
+    /**
+     * Formats listed by the driver plus those of the supported compression extensions, drivers list only formats suitable for
+     * general use and often leave RGTC and BPTC out.
+     */
+    private static int[] queryCompressedTextureFormats() {
+        int count = org.lwjgl.opengl.GL11.glGetInteger(GL13.GL_NUM_COMPRESSED_TEXTURE_FORMATS);
+        IntBuffer listed = BufferUtils.createIntBuffer(Math.max(16, count));
+        if (count > 0) org.lwjgl.opengl.GL11.glGetInteger(GL13.GL_COMPRESSED_TEXTURE_FORMATS, listed);
+        int[] formats = new int[count + 26];
+        listed.get(formats, 0, count);
+        ContextCapabilities caps = GLContext.getCapabilities();
+        if (caps.GL_EXT_texture_compression_s3tc) {
+            count = addFormats(formats, count, EXTTextureCompressionS3TC.GL_COMPRESSED_RGB_S3TC_DXT1_EXT,
+                    EXTTextureCompressionS3TC.GL_COMPRESSED_RGBA_S3TC_DXT5_EXT);
+            if (caps.GL_EXT_texture_sRGB) {
+                count = addFormats(formats, count, EXTTextureSRGB.GL_COMPRESSED_SRGB_S3TC_DXT1_EXT,
+                        EXTTextureSRGB.GL_COMPRESSED_SRGB_ALPHA_S3TC_DXT5_EXT);
+            }
+        }
+        if (caps.OpenGL30 || caps.GL_ARB_texture_compression_rgtc || caps.GL_EXT_texture_compression_rgtc) {
+            count = addFormats(formats, count, ARBTextureCompressionRGTC.GL_COMPRESSED_RED_RGTC1,
+                    ARBTextureCompressionRGTC.GL_COMPRESSED_SIGNED_RG_RGTC2);
+        }
+        if (caps.GL_ARB_texture_compression_bptc) {
+            count = addFormats(formats, count, ARBTextureCompressionBPTC.GL_COMPRESSED_RGBA_BPTC_UNORM_ARB,
+                    ARBTextureCompressionBPTC.GL_COMPRESSED_RGB_BPTC_UNSIGNED_FLOAT_ARB);
+        }
+        if (caps.GL_ARB_ES3_compatibility) {
+            count = addFormats(formats, count, ARBES3Compatibility.GL_COMPRESSED_R11_EAC,
+                    ARBES3Compatibility.GL_COMPRESSED_SRGB8_ALPHA8_ETC2_EAC);
+        }
+        Arrays.sort(formats, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || formats[unique - 1] != formats[i]) formats[unique++] = formats[i];
+        }
+        return Arrays.copyOf(formats, unique);
+    }
+
+    private static int addFormats(int[] formats, int count, int first, int last) {
+        for (int format = first; format <= last; format++) {
+            formats[count++] = format;
+        }
+        return count;
+    }
+
+    @Override
+    public void setContinuousRendering(boolean isContinuous) {
+        this.isContinuous = isContinuous;
+        if (isContinuous) scheduler.wake();
+    }
+
+    @Override
+    public boolean isContinuousRendering() {
+        return isContinuous;
+    }
+
+    @Override
+    public void requestRendering() {
+        synchronized (this) {
+            requestRendering = true;
+        }
+        scheduler.wake();
+    }
+
+    /**
+     * Runs the main loop once more without forcing a rendering, for work polled every frame like fences of pending transfers.
+     * Can be called from any thread.
+     */
+    void wake() {
+        scheduler.wake();
+    }
+
+    public boolean shouldRender() {
+        synchronized (this) {
+            boolean rq = requestRendering;
+            requestRendering = false;
+            return rq || isContinuous;
+        }
+    }
+
+    @Override
+    public boolean isFullscreen() {
+        return false;
+    }
+
+    @Override
+    public boolean isGL11Available() {
+        return gl11 != null;
+    }
+
+    @Override
+    public boolean isGL20Available() {
+        return gl20 != null;
+    }
+
+    @Override
+    public GLCommon getGLCommon() {
+        return boundGl;
+    }
+
+    @Override
+    public GL10 getGL10() {
+        return boundGl10;
+    }
+
+    @Override
+    public GL11 getGL11() {
+        return boundGl11;
+    }
+
+    @Override
+    public GL20 getGL20() {
+        return boundGl20;
+    }
+}
@@ -0,0 +1,342 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.LWJGLException;
+import org.lwjgl.opengl.GLContext;
+import org.lwjgl.opengl.Pbuffer;
+import org.lwjgl.opengl.PixelFormat;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationListener;
+import com.badlogic.gdx.Audio;
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.LifecycleListener;
+import com.badlogic.gdx.Net;
+import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.backends.lwjgl.LwjglClipboard;
+import com.badlogic.gdx.backends.lwjgl.LwjglPreferences;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Clipboard;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Runs an {@link ApplicationListener} without any widget, for thumbnails and other batch rendering. The listener renders into a
+ * framebuffer object of a fixed size in its own pbuffer context, binding framebuffer 0 through {@link LwjglGL20} binds that
+ * framebuffer object, so application code sees it as the default framebuffer. Frames are rendered only by
+ * {@link #renderFrame()}, as fast as the caller asks for them, nothing is swapped and nothing waits for vsync. GLX pbuffers
+ * need no window, so this works on a virtual X server like Xvfb with a software renderer like Mesa llvmpipe.
+ * <p>
+ * The thread calling {@link #create(ApplicationListener, int, int, SwtLwjglConfig)} becomes the GL thread of the application,
+ * all methods except {@link #postRunnable(Runnable)} and {@link #exit()} must be called on it. There is no input,
+ * {@link Gdx#input} is left untouched and {@link #getInput()} returns null.
+ *
+ * @author Michal NkD Nikodim
+ *
+ */
+public class SwtLwjglOffscreenApplication implements Application {
+
+    public static SwtLwjglOffscreenApplication create(final ApplicationListener applicationListener, int width, int height,
+            SwtLwjglConfig config) {
+        SwtLwjglApplication.initialize();
+        return new SwtLwjglOffscreenApplication(applicationListener, width, height, config);
+    }
+
+    private final SwtLwjglOffscreenGraphics graphics;
+    private final LwjglGL20 gl20;
+    private final SwtLwjglFramebuffer framebuffer;
+    private final ApplicationListener applicationListener;
+    private final Map<String, Preferences> preferences = new HashMap<String, Preferences>();
+    private final Clipboard clipboard = new LwjglClipboard();
+    private final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
+    private final SwtLwjglRunnableQueue runnables = new SwtLwjglRunnableQueue();
+
+    private Pbuffer pbuffer;
+    private ByteBuffer pixels;
+    private int logLevel = LOG_INFO;
+    private volatile boolean running = true;
+
+    private SwtLwjglOffscreenApplication(final ApplicationListener applicationListener, int width, int height,
+            SwtLwjglConfig config) {
+        if (width <= 0 || height <= 0) throw new IllegalArgumentException("Size must be positive: " + width + "x" + height);
+        try {
+            pbuffer = new Pbuffer(1, 1, new PixelFormat(), null);
+        } catch (LWJGLException e) {
+            throw new GdxRuntimeException("Couldn't create the offscreen context", e);
+        }
+        makeCurrent();
+        if (!GLContext.getCapabilities().OpenGL20 || !SwtLwjglFramebuffer.isSupported()) {
+            pbuffer.destroy();
+            throw new GdxRuntimeException("Offscreen rendering needs OpenGL 2.0 and framebuffer objects");
+        }
+        this.gl20 = new LwjglGL20();
+        gl20.setStateCache(config.stateCache);
+        this.framebuffer = new SwtLwjglFramebuffer(config.depth, config.stencil);
+        framebuffer.create(width, height);
+        gl20.defaultFramebuffer = framebuffer.getHandle();
+        this.graphics = new SwtLwjglOffscreenGraphics(gl20, config, width, height);
+        this.applicationListener = applicationListener;
+
+        bindGdxObjects();
+        applicationListener.create();
+        applicationListener.resize(width, height);
+        gl20.glViewport(0, 0, width, height);
+    }
+
+    /**
+     * Makes the offscreen context current on the calling thread, which is skipped when it is current already.
+     */
+    private void makeCurrent() {
+        try {
+            if (pbuffer.isCurrent()) return;
+            pbuffer.makeCurrent();
+        } catch (LWJGLException e) {
+            throw new GdxRuntimeException(e);
+        }
+        // canvases rendering on this thread have to switch back to their own context
+        SwtLwjglGraphics.invalidateCurrentContext();
+        if (gl20 != null) gl20.invalidateState();
+    }
+
+    private void bindGdxObjects() {
+        if (SwtLwjglThreadBindings.isInstalled()) {
+            SwtLwjglThreadBindings.bind(this, graphics, null, gl20, gl20);
+        } else if (Gdx.app != this || Gdx.graphics != graphics || Gdx.gl != gl20) {
+            Gdx.app = this;
+            Gdx.graphics = graphics;
+            Gdx.gl = gl20;
+            Gdx.gl20 = gl20;
+        }
+    }
+
+    /**
+     * Executes posted runnables, renders one frame and reads it back.
+     *
+     * @return RGBA pixels of the frame, rows bottom to top, valid until the next call, or null after {@link #exit()}
+     */
+    public ByteBuffer renderFrame() {
+        int size = graphics.getWidth() * graphics.getHeight() * 4;
+        if (pixels == null || pixels.capacity() < size) pixels = BufferUtils.createByteBuffer(size);
+        pixels.clear();
+        pixels.limit(size);
+        return renderFrame(pixels) ? pixels : null;
+    }
+
+    /**
+     * Executes posted runnables, renders one frame and reads it into the buffer, starting at its position. The buffer must have
+     * room for width * height * 4 bytes.
+     *
+     * @return false when nothing was rendered because of {@link #exit()}
+     */
+    public boolean renderFrame(ByteBuffer pixels) {
+        if (!running) return false;
+        makeCurrent();
+        bindGdxObjects();
+        framebuffer.bind();
+        executeRunnables();
+        // If one of the runnables set running to false, for example after an exit().
+        if (!running) return false;
+        graphics.updateTime();
+        applicationListener.render();
+        framebuffer.read(pixels);
+        return true;
+    }
+
+    private void executeRunnables() {
+        for (int i = runnables.size(); i > 0 && running; i--) {
+            Runnable runnable = runnables.poll();
+            if (runnable == null) break;
+            runnable.run();
+        }
+    }
+
+    /**
+     * Changes the size of the framebuffer and notifies the listener.
+     */
+    public void resize(int width, int height) {
+        if (width <= 0 || height <= 0) throw new IllegalArgumentException("Size must be positive: " + width + "x" + height);
+        if (width == graphics.getWidth() && height == graphics.getHeight()) return;
+        makeCurrent();
+        bindGdxObjects();
+        framebuffer.resize(width, height);
+        graphics.setSize(width, height);
+        framebuffer.bind();
+        gl20.glViewport(0, 0, width, height);
+        applicationListener.resize(width, height);
+    }
+
+    /**
+     * Disposes the listener and destroys the offscreen context.
+     */
+    public void dispose() {
+        if (pbuffer == null) return;
+        running = false;
+        makeCurrent();
+        bindGdxObjects();
+        applicationListener.pause();
+        applicationListener.dispose();
+        for (LifecycleListener l : lifecycleListeners) {
+            l.pause();
+            l.dispose();
+        }
+        framebuffer.delete();
+        pbuffer.destroy();
+        pbuffer = null;
+        pixels = null;
+        if (SwtLwjglThreadBindings.isInstalled()) SwtLwjglThreadBindings.unbind();
+    }
+
+    @Override
+    public ApplicationListener getApplicationListener() {
+        return applicationListener;
+    }
+
+    @Override
+    public Graphics getGraphics() {
+        return graphics;
+    }
+
+    @Override
+    public Audio getAudio() {
+        return null;
+    }
+
+    @Override
+    public Input getInput() {
+        return null;
+    }
+
+    @Override
+    public Files getFiles() {
+        return Gdx.files;
+    }
+
+    @Override
+    public Net getNet() {
+        return null;
+    }
+
+    @Override
+    public ApplicationType getType() {
+        return ApplicationType.Desktop;
+    }
+
+    @Override
+    public int getVersion() {
+        return 0;
+    }
+
+    @Override
+    public long getJavaHeap() {
+        return Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+    }
+
+    @Override
+    public long getNativeHeap() {
+        return getJavaHeap();
+    }
+
+    @Override
+    public Preferences getPreferences(String name) {
+        if (preferences.containsKey(name)) {
+            return preferences.get(name);
+        } else {
+            Preferences prefs = new LwjglPreferences(name);
+            preferences.put(name, prefs);
+            return prefs;
+        }
+    }
+
+    @Override
+    public Clipboard getClipboard() {
+        return clipboard;
+    }
+
+    /**
+     * Runnables are executed at the start of the next {@link #renderFrame()}.
+     */
+    @Override
+    public void postRunnable(Runnable runnable) {
+        runnables.add(runnable);
+    }
+
+    @Override
+    public void exit() {
+        postRunnable(new Runnable() {
+            @Override
+            public void run() {
+                running = false;
+            }
+        });
+    }
+
+    @Override
+    public void addLifecycleListener(LifecycleListener listener) {
+        synchronized (lifecycleListeners) {
+            lifecycleListeners.add(listener);
+        }
+    }
+
+    @Override
+    public void removeLifecycleListener(LifecycleListener listener) {
+        synchronized (lifecycleListeners) {
+            lifecycleListeners.removeValue(listener, true);
+        }
+    }
+
+    @Override
+    public void debug(String tag, String message) {
+        if (logLevel >= LOG_DEBUG) {
+            System.out.println(tag + ": " + message);
+        }
+    }
+
+    @Override
+    public void debug(String tag, String message, Throwable exception) {
+        if (logLevel >= LOG_DEBUG) {
+            System.out.println(tag + ": " + message);
+            exception.printStackTrace(System.out);
+        }
+    }
+
+    public void log(String tag, String message) {
+        if (logLevel >= LOG_INFO) {
+            System.out.println(tag + ": " + message);
+        }
+    }
+
+    @Override
+    public void log(String tag, String message, Exception exception) {
+        if (logLevel >= LOG_INFO) {
+            System.out.println(tag + ": " + message);
+            exception.printStackTrace(System.out);
+        }
+    }
+
+    @Override
+    public void error(String tag, String message) {
+        if (logLevel >= LOG_ERROR) {
+            System.err.println(tag + ": " + message);
+        }
+    }
+
+    @Override
+    public void error(String tag, String message, Throwable exception) {
+        if (logLevel >= LOG_ERROR) {
+            System.err.println(tag + ": " + message);
+            exception.printStackTrace(System.err);
+        }
+    }
+
+    @Override
+    public void setLogLevel(int logLevel) {
+        this.logLevel = logLevel;
+    }
+
+}
@@ -0,0 +1,207 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.GL11;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GLCommon;
+
+/**
+ * Graphics of a {@link SwtLwjglOffscreenApplication}: fixed size, GL 2.0 only, no display and no vsync. Frames are rendered
+ * when the application asks for them, so rendering requests are ignored.
+ *
+ * @author Michal NkD Nikodim
+ *
+ */
+final class SwtLwjglOffscreenGraphics implements Graphics {
+
+    /** there is no screen, density dependent code gets the usual desktop value **/
+    private static final float PPI = 96;
+
+    private final LwjglGL20 gl20;
+    private final BufferFormat bufferFormat;
+    private String extensions;
+    private int width, height;
+
+    private float deltaTime = 0;
+    private long lastTime = System.nanoTime();
+    private long frameStart = System.nanoTime();
+    private int frames = 0;
+    private int fps;
+
+    SwtLwjglOffscreenGraphics(LwjglGL20 gl20, SwtLwjglConfig config, int width, int height) {
+        this.gl20 = gl20;
+        this.width = width;
+        this.height = height;
+        bufferFormat = new BufferFormat(8, 8, 8, 8, config.depth, config.stencil, 0, false);
+    }
+
+    void setSize(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    void updateTime() {
+        long time = System.nanoTime();
+        deltaTime = (time - lastTime) / 1000000000.0f;
+        lastTime = time;
+
+        if (time - frameStart >= 1000000000) {
+            fps = frames;
+            frames = 0;
+            frameStart = time;
+        }
+        frames++;
+    }
+
+    @Override
+    public boolean isGL11Available() {
+        return false;
+    }
+
+    @Override
+    public boolean isGL20Available() {
+        return true;
+    }
+
+    @Override
+    public GLCommon getGLCommon() {
+        return gl20;
+    }
+
+    @Override
+    public GL10 getGL10() {
+        return null;
+    }
+
+    @Override
+    public GL11 getGL11() {
+        return null;
+    }
+
+    @Override
+    public GL20 getGL20() {
+        return gl20;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public float getDeltaTime() {
+        return deltaTime;
+    }
+
+    @Override
+    public float getRawDeltaTime() {
+        return deltaTime;
+    }
+
+    @Override
+    public int getFramesPerSecond() {
+        return fps;
+    }
+
+    @Override
+    public GraphicsType getType() {
+        return GraphicsType.LWJGL;
+    }
+
+    @Override
+    public float getPpiX() {
+        return PPI;
+    }
+
+    @Override
+    public float getPpiY() {
+        return PPI;
+    }
+
+    @Override
+    public float getPpcX() {
+        return PPI / 2.54f;
+    }
+
+    @Override
+    public float getPpcY() {
+        return PPI / 2.54f;
+    }
+
+    @Override
+    public float getDensity() {
+        return PPI / 160.0f;
+    }
+
+    @Override
+    public boolean supportsDisplayModeChange() {
+        return false;
+    }
+
+    @Override
+    public DisplayMode[] getDisplayModes() {
+        return null;
+    }
+
+    @Override
+    public DisplayMode getDesktopDisplayMode() {
+        return null;
+    }
+
+    @Override
+    public boolean setDisplayMode(DisplayMode displayMode) {
+        return false;
+    }
+
+    @Override
+    public boolean setDisplayMode(int width, int height, boolean fullscreen) {
+        return false;
+    }
+
+    @Override
+    public void setTitle(String title) {
+        //nothing
+    }
+
+    @Override
+    public void setVSync(boolean vsync) {
+        //nothing, frames are never swapped
+    }
+
+    @Override
+    public BufferFormat getBufferFormat() {
+        return bufferFormat;
+    }
+
+    @Override
+    public boolean supportsExtension(String extension) {
+        if (extensions == null) extensions = gl20.glGetString(GL10.GL_EXTENSIONS);
+        return extensions.contains(extension);
+    }
+
+    @Override
+    public void setContinuousRendering(boolean isContinuous) {
+        //nothing
+    }
+
+    @Override
+    public boolean isContinuousRendering() {
+        return false;
+    }
+
+    @Override
+    public void requestRendering() {
+        //nothing
+    }
+
+    @Override
+    public boolean isFullscreen() {
+        return false;
+    }
+}
@@ -0,0 +1,193 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL21;
+import org.lwjgl.opengl.GLSync;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Asynchronous readback of the framebuffer of one canvas. A read copies the region into a pixel buffer object of a small ring
+ * and returns right away, the GPU performs the copy after the commands issued before it. At the start of later frames finished
+ * copies, found by polling their fences, are mapped, copied into a pooled direct buffer and handed to the listener on the GL
+ * thread. Nothing ever waits for the GPU.
+ * <p>
+ * Backpressure works in two places, see {@link SwtLwjglConfig#readbackSlots} and {@link SwtLwjglConfig#readbackBuffers}: a read
+ * is rejected while all pixel buffer objects are in flight, and a finished copy stays in its pixel buffer object while listeners
+ * hold all pooled buffers, which in turn rejects further reads. Listeners return buffers with {@link #release(ByteBuffer)}.
+ *
+ * @author Michal NkD Nikodim
+ *
+ */
+public final class SwtLwjglReadback {
+
+    /** Receives pixels of one read **/
+    public interface Listener {
+        /**
+         * Called on the GL thread of the canvas.
+         *
+         * @param pixels RGBA, rows bottom to top, belongs to the listener until passed to {@link SwtLwjglReadback#release(ByteBuffer)}
+         */
+        void pixelsRead(ByteBuffer pixels, int width, int height);
+    }
+
+    private static final class Slot {
+        int pbo;
+        int capacity;
+        GLSync fence;
+        Listener listener;
+        int width, height;
+        long frame;
+        ByteBuffer mapped;
+    }
+
+    private final SwtLwjglGraphics graphics;
+    private final int slotCount;
+    private final int bufferCount;
+    private final ConcurrentLinkedQueue<ByteBuffer> freeBuffers = new ConcurrentLinkedQueue<ByteBuffer>();
+    private final AtomicInteger buffersOut = new AtomicInteger();
+    private final AtomicInteger rejected = new AtomicInteger();
+
+    // GL thread only, slots in order of their reads
+    private final Array<Slot> idle = new Array<Slot>();
+    private final Array<Slot> inFlight = new Array<Slot>();
+    private long frame = 0;
+
+    SwtLwjglReadback(SwtLwjglGraphics graphics, SwtLwjglConfig config) {
+        this(graphics, config.readbackSlots, config.readbackBuffers);
+    }
+
+    SwtLwjglReadback(SwtLwjglGraphics graphics, int slotCount, int bufferCount) {
+        this.graphics = graphics;
+        this.slotCount = Math.max(1, slotCount);
+        this.bufferCount = Math.max(1, bufferCount);
+    }
+
+    /**
+     * Queues the read of a region of the framebuffer bound for reading. GL thread only, usually at the end of
+     * {@link com.badlogic.gdx.ApplicationListener#render()}.
+     *
+     * @return false when the read was rejected because earlier reads are still in flight or their pixels were not released
+     */
+    public boolean read(int x, int y, int width, int height, Listener listener) {
+        if (width <= 0 || height <= 0) throw new IllegalArgumentException("Region must not be empty");
+        Slot slot;
+        if (idle.size > 0) {
+            slot = idle.pop();
+        } else if (inFlight.size < slotCount) {
+            if (!SwtLwjglTextureStreamer.isSupported()) throw new GdxRuntimeException("Pixel buffer objects are not supported");
+            slot = new Slot();
+            slot.pbo = GL15.glGenBuffers();
+        } else {
+            rejected.incrementAndGet();
+            return false;
+        }
+        int size = width * height * 4;
+        GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, slot.pbo);
+        if (slot.capacity < size) {
+            GL15.glBufferData(GL21.GL_PIXEL_PACK_BUFFER, size, GL15.GL_STREAM_READ);
+            slot.capacity = size;
+        }
+        GL11.glReadPixels(x, y, width, height, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, 0L);
+        GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, 0);
+        slot.fence = SwtLwjglSync.fence();
+        slot.listener = listener;
+        slot.width = width;
+        slot.height = height;
+        slot.frame = frame;
+        inFlight.add(slot);
+        // delivery happens at the start of a later frame, which must run but does not have to render
+        graphics.wake();
+        return true;
+    }
+
+    /**
+     * Gives a buffer received by a {@link Listener} back to the pool. Can be called from any thread.
+     */
+    public void release(ByteBuffer pixels) {
+        freeBuffers.add(pixels);
+        buffersOut.decrementAndGet();
+        graphics.wake();
+    }
+
+    /**
+     * @return number of reads queued and not delivered yet
+     */
+    public int getPending() {
+        return inFlight.size;
+    }
+
+    /**
+     * @return number of reads rejected so far because of backpressure
+     */
+    public int getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Delivers finished reads in the order they were queued. GL thread only.
+     */
+    void update() {
+        frame++;
+        while (inFlight.size > 0) {
+            Slot slot = inFlight.first();
+            // without sync objects mapping waits for the copy, after the swap of its frame the copy is most likely done
+            boolean done = slot.fence != null ? SwtLwjglSync.isSignaled(slot.fence) : slot.frame < frame;
+            if (!done || buffersOut.get() >= bufferCount) break;
+            deliver(slot);
+            inFlight.removeIndex(0);
+            idle.add(slot);
+        }
+        if (inFlight.size > 0) graphics.wake();
+    }
+
+    private void deliver(Slot slot) {
+        int size = slot.width * slot.height * 4;
+        ByteBuffer pixels = freeBuffers.poll();
+        if (pixels == null || pixels.capacity() < size) pixels = BufferUtils.createByteBuffer(size);
+        pixels.clear();
+        pixels.limit(size);
+
+        GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, slot.pbo);
+        ByteBuffer mapped = GL15.glMapBuffer(GL21.GL_PIXEL_PACK_BUFFER, GL15.GL_READ_ONLY, slot.capacity, slot.mapped);
+        if (mapped == null) {
+            GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, 0);
+            throw new GdxRuntimeException("Couldn't map pixel buffer object " + slot.pbo);
+        }
+        slot.mapped = mapped;
+        mapped.clear().limit(size);
+        pixels.put(mapped);
+        pixels.flip();
+        GL15.glUnmapBuffer(GL21.GL_PIXEL_PACK_BUFFER);
+        GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, 0);
+
+        SwtLwjglSync.delete(slot.fence);
+        slot.fence = null;
+        Listener listener = slot.listener;
+        slot.listener = null;
+        buffersOut.incrementAndGet();
+        listener.pixelsRead(pixels, slot.width, slot.height);
+    }
+
+    /**
+     * Deletes the pixel buffer objects, reads in flight are dropped. GL thread only.
+     */
+    void dispose() {
+        for (Slot slot : inFlight) {
+            SwtLwjglSync.delete(slot.fence);
+            GL15.glDeleteBuffers(slot.pbo);
+        }
+        for (Slot slot : idle) {
+            GL15.glDeleteBuffers(slot.pbo);
+        }
+        inFlight.clear();
+        idle.clear();
+    }
+}
@@ -0,0 +1,260 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.badlogic.gdx.ApplicationListener;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Pool of worker threads for batch rendering, every worker owns a {@link SwtLwjglOffscreenApplication} with its own context and
+ * its own listener. Jobs are taken from one queue by whichever worker is free, so thumbnails and reports render concurrently and
+ * scale with the number of cores as far as the driver does. {@link SwtLwjglThreadBindings} are installed by the farm, the
+ * {@link com.badlogic.gdx.Gdx} statics then resolve to the application of the worker a job runs on.
+ * <p>
+ * Per worker statistics tell whether the pool is sized well: workers busy nearly all the time while jobs queue up call for more
+ * workers, a throughput which does not grow with more workers means the driver or the memory bandwidth is the limit.
+ *
+ * @author Michal NkD Nikodim
+ *
+ */
+public final class SwtLwjglRenderFarm {
+
+    /** Creates the listener of every worker **/
+    public interface ListenerFactory {
+        /**
+         * Called on the worker thread before its application is created.
+         */
+        ApplicationListener newListener(int worker);
+    }
+
+    /** Work done on a worker, usually preparing the listener and calling {@link SwtLwjglOffscreenApplication#renderFrame()} **/
+    public interface Job<T> {
+        /**
+         * Called on the GL thread of the application, the result must not reference the pixel buffer of the application.
+         */
+        T render(SwtLwjglOffscreenApplication application) throws Exception;
+    }
+
+    private static final Runnable STOP = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+
+    private final class Worker extends Thread {
+        private final int index;
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicLong busyTime = new AtomicLong();
+        private SwtLwjglOffscreenApplication application;
+
+        Worker(int index) {
+            super("SwtLwjgl render farm worker " + index);
+            setDaemon(true);
+            this.index = index;
+        }
+
+        @Override
+        public void run() {
+            try {
+                application = SwtLwjglOffscreenApplication.create(factory.newListener(index), width, height, config);
+            } catch (Throwable t) {
+                startupError.compareAndSet(null, t);
+                started.countDown();
+                stopped.countDown();
+                return;
+            }
+            started.countDown();
+            try {
+                while (true) {
+                    Runnable task = queue.take();
+                    if (task == STOP) break;
+                    long start = System.nanoTime();
+                    task.run();
+                    busyTime.addAndGet(System.nanoTime() - start);
+                }
+            } catch (InterruptedException e) {
+                // shut down right away, queued jobs are cancelled by shutdownNow()
+            } finally {
+                application.dispose();
+                stopped.countDown();
+            }
+        }
+    }
+
+    private final ListenerFactory factory;
+    private final int width, height;
+    private final SwtLwjglConfig config;
+    private final Worker[] workers;
+    private final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<Runnable>();
+    private final CountDownLatch started;
+    private final CountDownLatch stopped;
+    private final AtomicReference<Throwable> startupError = new AtomicReference<Throwable>();
+    private final long startTime = System.nanoTime();
+    private volatile boolean shutdown = false;
+
+    /**
+     * Starts the workers and waits until all of them created their application.
+     *
+     * @param workerCount number of workers, {@link Runtime#availableProcessors()} is a good start
+     * @param width width of the framebuffer of every worker
+     * @param height height of the framebuffer of every worker
+     */
+    public SwtLwjglRenderFarm(int workerCount, int width, int height, SwtLwjglConfig config, ListenerFactory factory) {
+        if (workerCount < 1) throw new IllegalArgumentException("workerCount must be positive");
+        this.factory = factory;
+        this.width = width;
+        this.height = height;
+        this.config = config;
+        this.started = new CountDownLatch(workerCount);
+        this.stopped = new CountDownLatch(workerCount);
+        // every worker needs its own Gdx bindings
+        SwtLwjglThreadBindings.install();
+        workers = new Worker[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new Worker(i);
+            workers[i].start();
+        }
+        try {
+            started.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Throwable error = startupError.get();
+        if (error != null || started.getCount() > 0) {
+            shutdown();
+            throw new GdxRuntimeException("Couldn't start the render farm", error);
+        }
+    }
+
+    /**
+     * Queues a job, it runs on the first free worker. Can be called from any thread.
+     *
+     * @return future of the result, fails with the exception thrown by the job
+     */
+    public <T> Future<T> submit(final Job<T> job) {
+        if (shutdown) throw new GdxRuntimeException("Render farm is shut down");
+        FutureTask<T> task = new FutureTask<T>(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                Worker worker = (Worker) Thread.currentThread();
+                try {
+                    T result = job.render(worker.application);
+                    worker.completed.incrementAndGet();
+                    return result;
+                } catch (Exception e) {
+                    worker.failed.incrementAndGet();
+                    throw e;
+                }
+            }
+        });
+        queue.add(task);
+        return task;
+    }
+
+    /**
+     * Lets the workers finish queued jobs, then disposes their applications. Can be called from any thread.
+     */
+    public void shutdown() {
+        if (shutdown) return;
+        shutdown = true;
+        for (int i = 0; i < workers.length; i++) {
+            queue.add(STOP);
+        }
+    }
+
+    /**
+     * Cancels queued jobs and interrupts the workers, jobs being rendered see the interrupt. Can be called from any thread.
+     */
+    public void shutdownNow() {
+        shutdown = true;
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+            if (task instanceof FutureTask) ((FutureTask<?>) task).cancel(false);
+        }
+        for (Worker worker : workers) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Waits until all workers disposed their applications after {@link #shutdown()}.
+     *
+     * @return false when the timeout elapsed before
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return stopped.await(timeout, unit);
+    }
+
+    public int getWorkerCount() {
+        return workers.length;
+    }
+
+    /**
+     * @return number of jobs waiting for a free worker
+     */
+    public int getQueuedJobs() {
+        int count = queue.size();
+        return shutdown ? Math.max(0, count - workers.length) : count;
+    }
+
+    /**
+     * @return number of jobs the worker finished successfully
+     */
+    public int getCompletedJobs(int worker) {
+        return workers[worker].completed.get();
+    }
+
+    /**
+     * @return number of jobs of the worker which threw an exception
+     */
+    public int getFailedJobs(int worker) {
+        return workers[worker].failed.get();
+    }
+
+    /**
+     * @return time the worker spent running jobs, in milliseconds
+     */
+    public float getBusyTime(int worker) {
+        return workers[worker].busyTime.get() / 1000000f;
+    }
+
+    /**
+     * @return fraction of the lifetime of the farm the worker spent running jobs, 0 to 1
+     */
+    public float getUtilization(int worker) {
+        long elapsed = System.nanoTime() - startTime;
+        return elapsed > 0 ? (float) workers[worker].busyTime.get() / elapsed : 0;
+    }
+
+    /**
+     * @return jobs finished by the worker per second of its busy time, the rate a single context sustains
+     */
+    public float getThroughput(int worker) {
+        Worker w = workers[worker];
+        long busy = w.busyTime.get();
+        return busy > 0 ? (w.completed.get() + w.failed.get()) * 1000000000f / busy : 0;
+    }
+
+    /**
+     * @return jobs finished by all workers per second since the farm was started
+     */
+    public float getThroughput() {
+        long elapsed = System.nanoTime() - startTime;
+        if (elapsed <= 0) return 0;
+        int jobs = 0;
+        for (Worker worker : workers) {
+            jobs += worker.completed.get() + worker.failed.get();
+        }
+        return jobs * 1000000000f / elapsed;
+    }
+}
@@ -0,0 +1,303 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.widgets.Display;
+import org.lwjgl.LWJGLException;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.Pbuffer;
+import org.lwjgl.opengl.PixelFormat;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Render thread of one canvas, see {@link SwtLwjglConfig#renderThread}. SWT allows the context of a
+ * {@link org.eclipse.swt.opengl.GLCanvas} to be made current and swapped only on the UI thread, so the render thread owns its
+ * own context (1x1 pbuffer) and renders into a framebuffer object of the canvas size. Binding framebuffer 0 through
+ * {@link LwjglGL20} binds that framebuffer object instead, so application code sees it as the default framebuffer.
+ * <p>
+ * Every finished frame is read back through the pixel buffer objects of a {@link SwtLwjglReadback}, so the render thread never
+ * waits for the copy, and handed over to the UI thread once the copy is done. The UI thread only uploads the latest frame into a
+ * texture of the canvas context, draws it and swaps. Frames the UI thread did not manage to present are dropped, the render
+ * thread never waits for the UI thread and vice versa. Frames are still requested by the {@link SwtLwjglFrameScheduler} of the
+ * canvas, so frame rate limits apply unchanged.
+ *
+ * @author Michal NkD Nikodim
+ *
+ */
+final class SwtLwjglRenderThread extends Thread {
+
+    private static final class Frame {
+        ByteBuffer pixels;
+        int width, height;
+    }
+
+    private final Application app;
+    private final SwtLwjglGraphics graphics;
+    private final Display display;
+    private final Runnable create;
+    private final Runnable frame;
+    private final Runnable dispose;
+    private final SwtLwjglFramebuffer framebuffer;
+    private final SwtLwjglReadback readback;
+
+    private final AtomicBoolean frameRequested = new AtomicBoolean(false);
+    private final AtomicBoolean presentPending = new AtomicBoolean(false);
+    private final AtomicReference<Frame> latestFrame = new AtomicReference<Frame>();
+    private final ConcurrentLinkedQueue<Frame> freeFrames = new ConcurrentLinkedQueue<Frame>();
+    private volatile boolean shutdown = false;
+
+    // render thread only
+    private Pbuffer pbuffer;
+    private boolean readbackRejected = false;
+
+    // UI thread only
+    private int texture;
+    private int textureWidth, textureHeight;
+
+    private final SwtLwjglReadback.Listener frameRead = new SwtLwjglReadback.Listener() {
+        @Override
+        public void pixelsRead(ByteBuffer pixels, int width, int height) {
+            Frame frame = freeFrames.poll();
+            if (frame == null) frame = new Frame();
+            frame.pixels = pixels;
+            frame.width = width;
+            frame.height = height;
+            // a frame the UI thread did not present yet is replaced by this one
+            Frame skipped = latestFrame.getAndSet(frame);
+            if (skipped != null) recycle(skipped);
+            if (presentPending.compareAndSet(false, true)) {
+                try {
+                    display.asyncExec(presentDispatch);
+                } catch (SWTException e) {
+                    // display already disposed, nothing to present into
+                }
+            }
+        }
+    };
+
+    private final Runnable presentDispatch = new Runnable() {
+        @Override
+        public void run() {
+            presentPending.set(false);
+            graphics.presentFrame();
+        }
+    };
+
+    /**
+     * @param create run on the render thread once its context is ready
+     * @param frame run on the render thread for every frame requested by {@link #requestFrame()}
+     * @param dispose run on the render thread after {@link #shutdown()}, the context is destroyed afterwards
+     */
+    SwtLwjglRenderThread(final Application app, final SwtLwjglGraphics graphics, final SwtLwjglConfig config, final Runnable create,
+            final Runnable frame, final Runnable dispose) {
+        super("SwtLwjgl render thread");
+        setDaemon(true);
+        this.app = app;
+        this.graphics = graphics;
+        this.display = graphics.getGlCanvas().getDisplay();
+        this.framebuffer = new SwtLwjglFramebuffer(config.depth, config.stencil);
+        // pooled buffers: the frame drawn by the UI thread, the latest one and the one being delivered
+        this.readback = new SwtLwjglReadback(graphics, 2, 3);
+        this.create = create;
+        this.frame = frame;
+        this.dispose = dispose;
+    }
+
+    /**
+     * @return whether the render thread can be used on this system, must be called with the canvas context current
+     */
+    static boolean isSupported() {
+        try {
+            return (Pbuffer.getCapabilities() & Pbuffer.PBUFFER_SUPPORTED) != 0 && SwtLwjglFramebuffer.isSupported()
+                    && SwtLwjglTextureStreamer.isSupported();
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            pbuffer = new Pbuffer(1, 1, new PixelFormat(), null);
+        } catch (LWJGLException e) {
+            report(new GdxRuntimeException("Couldn't create the context of the render thread", e));
+            return;
+        }
+        Throwable failure = null;
+        try {
+            create.run();
+            while (awaitFrame()) {
+                // before a resize, the framebuffer still holds the frame a rejected read missed
+                updateReadback();
+                updateFramebufferSize();
+                frame.run();
+            }
+        } catch (Throwable t) {
+            failure = t;
+        }
+        // the application is disposed after a failure too, like a failed canvas on the UI thread is when it goes away
+        try {
+            dispose.run();
+        } catch (Throwable t) {
+            if (failure == null) failure = t;
+        } finally {
+            readback.dispose();
+            destroyContext();
+            SwtLwjglThreadBindings.unbind();
+        }
+        if (failure != null) report(failure);
+    }
+
+    /**
+     * Logs the failure and rethrows it on the UI thread, where it surfaces from the event loop like exceptions of canvases
+     * rendering on the UI thread do.
+     */
+    private void report(final Throwable failure) {
+        app.error("SwtLwjglRenderThread", "Render thread failed", failure);
+        try {
+            display.asyncExec(new Runnable() {
+                @Override
+                public void run() {
+                    throw new GdxRuntimeException("Render thread failed", failure);
+                }
+            });
+        } catch (SWTException e) {
+            // display already disposed, logged is all we can do
+        }
+    }
+
+    /**
+     * Requests one frame. Requests arriving while the render thread is busy are coalesced into the next frame. Can be called from
+     * any thread.
+     */
+    void requestFrame() {
+        frameRequested.set(true);
+        LockSupport.unpark(this);
+    }
+
+    /**
+     * Finishes the current frame, disposes the application on the render thread and ends it. Can be called from any thread.
+     */
+    void shutdown() {
+        shutdown = true;
+        LockSupport.unpark(this);
+    }
+
+    private boolean awaitFrame() {
+        while (!shutdown) {
+            if (frameRequested.getAndSet(false)) return true;
+            LockSupport.park(this);
+        }
+        return false;
+    }
+
+    /**
+     * Makes the context of the render thread current and binds the framebuffer object. Render thread only.
+     */
+    void makeCurrent() {
+        try {
+            pbuffer.makeCurrent();
+        } catch (LWJGLException e) {
+            throw new GdxRuntimeException(e);
+        }
+        if (!framebuffer.isCreated()) {
+            framebuffer.create(graphics.getWidth(), graphics.getHeight());
+            graphics.setDefaultFramebuffer(framebuffer.getHandle());
+        }
+        framebuffer.bind();
+    }
+
+    /**
+     * The canvas size is cached on the UI thread, the framebuffer follows it before the frame which handles the resize.
+     */
+    private void updateFramebufferSize() {
+        framebuffer.resize(graphics.getWidth(), graphics.getHeight());
+    }
+
+    /**
+     * Delivers finished reads and reads the last frame again when its read was rejected. Render thread only.
+     */
+    private void updateReadback() {
+        readback.update();
+        if (readbackRejected) publishFrame();
+    }
+
+    /**
+     * Queues the read of the finished frame, it is handed over to the UI thread once the GPU copied it. Render thread only.
+     */
+    void publishFrame() {
+        if (!framebuffer.isCreated()) return;
+        // the whole frame, also when the application left another framebuffer bound
+        framebuffer.bind();
+        // all pixel buffer objects busy, the GPU or the UI thread fall behind; retried by the next loop without rendering again
+        readbackRejected = !readback.read(0, 0, framebuffer.getWidth(), framebuffer.getHeight(), frameRead);
+    }
+
+    private void recycle(Frame frame) {
+        readback.release(frame.pixels);
+        frame.pixels = null;
+        freeFrames.offer(frame);
+    }
+
+    /**
+     * Uploads the latest published frame into a texture of the current canvas context and draws it. UI thread only.
+     *
+     * @return whether there was a new frame to draw
+     */
+    boolean drawFrame(int canvasWidth, int canvasHeight) {
+        Frame frame = latestFrame.getAndSet(null);
+        if (frame == null) return false;
+        if (texture == 0) {
+            texture = GL11.glGenTextures();
+            GL11.glBindTexture(GL11.GL_TEXTURE_2D, texture);
+            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_NEAREST);
+            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_NEAREST);
+        } else {
+            GL11.glBindTexture(GL11.GL_TEXTURE_2D, texture);
+        }
+        int width = frame.width, height = frame.height;
+        if (width != textureWidth || height != textureHeight) {
+            GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA8, width, height, 0, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE,
+                    (ByteBuffer) null);
+            textureWidth = width;
+            textureHeight = height;
+        }
+        GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, 0, 0, width, height, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, frame.pixels);
+        // the driver copied the pixels, the buffer can take the next frame
+        recycle(frame);
+
+        GL11.glViewport(0, 0, canvasWidth, canvasHeight);
+        // frame rendered before a resize does not cover the whole canvas
+        if (width != canvasWidth || height != canvasHeight) GL11.glClear(GL11.GL_COLOR_BUFFER_BIT);
+        // the canvas context is used for presenting only, its matrices are identity, one texel per pixel from the bottom left
+        float right = -1 + 2f * width / canvasWidth;
+        float top = -1 + 2f * height / canvasHeight;
+        GL11.glEnable(GL11.GL_TEXTURE_2D);
+        GL11.glBegin(GL11.GL_QUADS);
+        GL11.glTexCoord2f(0, 0);
+        GL11.glVertex2f(-1, -1);
+        GL11.glTexCoord2f(1, 0);
+        GL11.glVertex2f(right, -1);
+        GL11.glTexCoord2f(1, 1);
+        GL11.glVertex2f(right, top);
+        GL11.glTexCoord2f(0, 1);
+        GL11.glVertex2f(-1, top);
+        GL11.glEnd();
+        return true;
+    }
+
+    private void destroyContext() {
+        if (pbuffer == null) return;
+        framebuffer.delete();
+        graphics.releaseCurrent();
+        pbuffer.destroy();
+        pbuffer = null;
+    }
+}
@@ -0,0 +1,108 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free multi producer, single consumer queue of posted runnables. Producers only swap the tail reference, the GL thread
+ * consumes from the head without any lock and without copying the queue. Every runnable carries its enqueue time, so the
+ * consumer can measure how long work waited for execution.
+ *
+ * @author Michal NkD Nikodim
+ *
+ */
+final class SwtLwjglRunnableQueue {
+
+    private static final class Node {
+        Runnable runnable;
+        final long enqueueTime;
+        volatile Node next;
+
+        Node(Runnable runnable, long enqueueTime) {
+            this.runnable = runnable;
+            this.enqueueTime = enqueueTime;
+        }
+    }
+
+    private final AtomicReference<Node> tail;
+    private final AtomicInteger size = new AtomicInteger();
+
+    // consumer only
+    private Node head;
+    private volatile long averageLatency = 0;
+    // reset by any thread, see getAndResetMaxLatency()
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    SwtLwjglRunnableQueue() {
+        head = new Node(null, 0);
+        tail = new AtomicReference<Node>(head);
+    }
+
+    /**
+     * Can be called from any thread.
+     */
+    void add(Runnable runnable) {
+        Node node = new Node(runnable, System.nanoTime());
+        // counted before it is published, so the consumer never decrements below zero
+        size.incrementAndGet();
+        Node previous = tail.getAndSet(node);
+        // until the link is written the consumer sees the queue ending at previous, node is picked up by the next drain
+        previous.next = node;
+    }
+
+    /**
+     * Consumer only.
+     *
+     * @return oldest runnable or null when the queue is empty
+     */
+    Runnable poll() {
+        Node next = head.next;
+        if (next == null) return null;
+        head = next;
+        Runnable runnable = next.runnable;
+        next.runnable = null;
+        size.decrementAndGet();
+
+        long latency = System.nanoTime() - next.enqueueTime;
+        averageLatency = averageLatency == 0 ? latency : averageLatency + (latency - averageLatency) / 16;
+        long max;
+        while (latency > (max = maxLatency.get()) && !maxLatency.compareAndSet(max, latency)) {
+            // raced with a reset, try again
+        }
+        return runnable;
+    }
+
+    /**
+     * Consumer only.
+     *
+     * @return how long the oldest queued runnable has been waiting, in nanoseconds, 0 for empty queue
+     */
+    long getOldestAge() {
+        Node next = head.next;
+        return next == null ? 0 : System.nanoTime() - next.enqueueTime;
+    }
+
+    /**
+     * @return number of runnables waiting for execution
+     */
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * @return moving average of the time between enqueue and execution, in nanoseconds
+     */
+    long getAverageLatency() {
+        return averageLatency;
+    }
+
+    /**
+     * Can be called from any thread.
+     *
+     * @return longest time between enqueue and execution since the last call, in nanoseconds
+     */
+    long getAndResetMaxLatency() {
+        return maxLatency.getAndSet(0);
+    }
+}
@@ -0,0 +1,185 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.lang.reflect.Method;
+
+import org.eclipse.swt.SWT;
+import org.lwjgl.opengl.GLContext;
+
+/**
+ * Swap interval control for the GL context of a {@link org.eclipse.swt.opengl.GLCanvas}. SWT creates that context itself, so
+ * neither SWT nor LWJGL offer a public way to change its swap interval. The platform entry points (WGL_EXT_swap_control on
+ * win32, GLX_EXT/MESA/SGI_swap_control on gtk) are resolved through the LWJGL function lookup of the current context and
+ * invoked through the native call bridge of the running SWT platform. Everything is looked up reflectively, when any piece is
+ * missing {@link #isAvailable()} returns false and the caller has to pace frames in software.
+ * <p>
+ * The GLX path depends on the internal SWT signatures {@code OS.Call(long, long, long)}, {@code OS.Call(long, long, long, long)}
+ * and {@code OS.memmove(byte[], long, long)}. On win32 the only bridge is {@code OS.CallWindowProc}, which always passes four
+ * arguments. The WGL functions take fewer, which is harmless with the caller cleaned x64 convention but corrupts the stack with
+ * stdcall on a 32 bit JVM, so the WGL path is used on 64 bit JVMs only.
+ * <p>
+ * All methods must be called with the canvas context current.
+ *
+ * @author Michal NkD Nikodim
+ *
+ */
+final class SwtLwjglSwapControl {
+
+    private static final int GLX_EXT = 1, GLX_MESA = 2, GLX_SGI = 3;
+
+    private final boolean win32;
+    private Method lookup;
+    private Method call;
+    private Method callWide;
+    private Method readMemory;
+
+    private boolean available = false;
+    private boolean adaptiveAvailable = false;
+    private int glxVariant = 0;
+    private long swapInterval, getSwapInterval;
+    private long glxCurrentDisplay, glxCurrentDrawable;
+
+    SwtLwjglSwapControl(final String glExtensions) {
+        win32 = "win32".equals(SWT.getPlatform());
+        try {
+            lookup = GLContext.class.getDeclaredMethod("getFunctionAddress", String.class);
+            lookup.setAccessible(true);
+            if (win32) {
+                if ("64".equals(System.getProperty("sun.arch.data.model"))) initWgl(glExtensions);
+            } else if ("gtk".equals(SWT.getPlatform())) {
+                initGlx(glExtensions);
+            }
+        } catch (Throwable t) {
+            // SWT or LWJGL internals differ from what we expect, leave swap interval to the driver
+            available = false;
+            adaptiveAvailable = false;
+        }
+    }
+
+    private void initWgl(final String glExtensions) throws Exception {
+        Class<?> os = Class.forName("org.eclipse.swt.internal.win32.OS");
+        call = os.getMethod("CallWindowProc", long.class, long.class, int.class, long.class, long.class);
+        readMemory = os.getMethod("MoveMemory", byte[].class, long.class, int.class);
+
+        swapInterval = address("wglSwapIntervalEXT");
+        getSwapInterval = address("wglGetSwapIntervalEXT");
+        long getExtensions = address("wglGetExtensionsStringEXT");
+        String extensions = glExtensions + " " + (getExtensions != 0 ? readString(invoke(getExtensions, 0, 0)) : "");
+
+        available = swapInterval != 0;
+        adaptiveAvailable = available && extensions.contains("WGL_EXT_swap_control_tear");
+    }
+
+    private void initGlx(final String glExtensions) throws Exception {
+        Class<?> os = Class.forName("org.eclipse.swt.internal.gtk.OS");
+        call = findCall(os, 3);
+        callWide = findCall(os, 4);
+        readMemory = os.getMethod("memmove", byte[].class, long.class, long.class);
+        if (call == null) return;
+
+        // glXGetProcAddress returns non null for any name, the extension string is the only reliable check
+        glxCurrentDisplay = address("glXGetCurrentDisplay");
+        glxCurrentDrawable = address("glXGetCurrentDrawable");
+        long queryExtensions = address("glXQueryExtensionsString");
+        long display = invoke(glxCurrentDisplay, 0, 0);
+        if (display == 0 || queryExtensions == 0) return;
+        String extensions = glExtensions + " " + readString(invoke(queryExtensions, display, 0));
+
+        if (callWide != null && extensions.contains("GLX_EXT_swap_control")) {
+            glxVariant = GLX_EXT;
+            swapInterval = address("glXSwapIntervalEXT");
+            adaptiveAvailable = extensions.contains("GLX_EXT_swap_control_tear");
+        } else if (extensions.contains("GLX_MESA_swap_control")) {
+            glxVariant = GLX_MESA;
+            swapInterval = address("glXSwapIntervalMESA");
+            getSwapInterval = address("glXGetSwapIntervalMESA");
+        } else if (extensions.contains("GLX_SGI_swap_control")) {
+            glxVariant = GLX_SGI;
+            swapInterval = address("glXSwapIntervalSGI");
+        }
+        available = swapInterval != 0;
+        adaptiveAvailable &= available;
+    }
+
+    boolean isAvailable() {
+        return available;
+    }
+
+    boolean isAdaptiveAvailable() {
+        return adaptiveAvailable;
+    }
+
+    /**
+     * @param interval number of vertical blanks to wait for, 0 for immediate swaps, -1 for adaptive vsync
+     * @return whether the driver accepted the interval
+     */
+    boolean setSwapInterval(int interval) {
+        if (!available || (interval < 0 && !adaptiveAvailable)) return false;
+        try {
+            if (win32) {
+                if ((int) invoke(swapInterval, interval, 0) == 0) return false;
+            } else if (glxVariant == GLX_EXT) {
+                long display = invoke(glxCurrentDisplay, 0, 0);
+                long drawable = invoke(glxCurrentDrawable, 0, 0);
+                if (display == 0 || drawable == 0) return false;
+                callWide.invoke(null, swapInterval, display, drawable, (long) interval);
+            } else if (glxVariant == GLX_SGI) {
+                // SGI variant can not turn synchronization off
+                if (interval <= 0 || (int) invoke(swapInterval, interval, 0) != 0) return false;
+            } else {
+                if ((int) invoke(swapInterval, interval, 0) != 0) return false;
+            }
+            // read back where the driver allows it, some drivers silently clamp the interval
+            if (getSwapInterval != 0) return (int) invoke(getSwapInterval, 0, 0) == interval;
+            return true;
+        } catch (Throwable t) {
+            available = false;
+            adaptiveAvailable = false;
+            return false;
+        }
+    }
+
+    private long address(String function) throws Exception {
+        return ((Long) lookup.invoke(null, function)).longValue();
+    }
+
+    private long invoke(long function, long arg0, long arg1) throws Exception {
+        Object result;
+        if (win32) {
+            result = call.invoke(null, function, arg0, (int) arg1, 0L, 0L);
+        } else {
+            result = call.invoke(null, function, arg0, arg1);
+        }
+        return result instanceof Number ? ((Number) result).longValue() : 0;
+    }
+
+    private String readString(long address) throws Exception {
+        if (address == 0) return "";
+        StringBuilder builder = new StringBuilder();
+        byte[] b = new byte[1];
+        // byte by byte, reading past the terminator could touch an unmapped page
+        for (int i = 0; i < 0x10000; i++) {
+            if (win32) {
+                readMemory.invoke(null, b, address + i, 1);
+            } else {
+                readMemory.invoke(null, b, address + i, 1L);
+            }
+            if (b[0] == 0) break;
+            builder.append((char) b[0]);
+        }
+        return builder.toString();
+    }
+
+    private static Method findCall(Class<?> os, int longArgs) {
+        for (Method m : os.getMethods()) {
+            if (!"Call".equals(m.getName())) continue;
+            Class<?>[] params = m.getParameterTypes();
+            if (params.length != longArgs) continue;
+            boolean match = true;
+            for (Class<?> param : params) {
+                match &= param == long.class;
+            }
+            if (match) return m;
+        }
+        return null;
+    }
+}
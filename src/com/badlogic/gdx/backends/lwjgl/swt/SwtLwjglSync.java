@@ -0,0 +1,61 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import org.lwjgl.opengl.ARBSync;
+import org.lwjgl.opengl.ContextCapabilities;
+import org.lwjgl.opengl.GL32;
+import org.lwjgl.opengl.GLContext;
+import org.lwjgl.opengl.GLSync;
+
+/**
+ * Fences of GL 3.2 or ARB_sync, used to find out without blocking whether the GPU finished with a buffer. Without sync objects
+ * {@link #fence()} returns null, callers then orphan buffer storage instead of waiting. All methods must be called with a
+ * context current.
+ *
+ * @author Michal NkD Nikodim
+ *
+ */
+final class SwtLwjglSync {
+
+    private SwtLwjglSync() {
+    }
+
+    static boolean isSupported() {
+        ContextCapabilities caps = GLContext.getCapabilities();
+        return caps.OpenGL32 || caps.GL_ARB_sync;
+    }
+
+    /**
+     * @return fence signaled once all commands issued so far completed, null without sync objects
+     */
+    static GLSync fence() {
+        ContextCapabilities caps = GLContext.getCapabilities();
+        if (caps.OpenGL32) return GL32.glFenceSync(GL32.GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+        if (caps.GL_ARB_sync) return ARBSync.glFenceSync(ARBSync.GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+        return null;
+    }
+
+    /**
+     * Polls the fence without waiting.
+     *
+     * @return whether the fence is signaled, true for null
+     */
+    static boolean isSignaled(GLSync fence) {
+        if (fence == null) return true;
+        int result;
+        if (GLContext.getCapabilities().OpenGL32) {
+            result = GL32.glClientWaitSync(fence, 0, 0);
+        } else {
+            result = ARBSync.glClientWaitSync(fence, 0, 0);
+        }
+        return result == GL32.GL_ALREADY_SIGNALED || result == GL32.GL_CONDITION_SATISFIED;
+    }
+
+    static void delete(GLSync fence) {
+        if (fence == null) return;
+        if (GLContext.getCapabilities().OpenGL32) {
+            GL32.glDeleteSync(fence);
+        } else {
+            ARBSync.glDeleteSync(fence);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.lwjgl.opengl.ContextCapabilities;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL21;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GLContext;
+import org.lwjgl.opengl.GLSync;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Streams texture data of worker threads into textures of one canvas through a ring of pixel buffer objects. Every PBO is
+ * mapped by the GL thread ahead of time, so workers write straight into driver memory:
+ * <ol>
+ * <li>a worker {@link #acquire() acquires} a mapped slot and fills its buffer from the start,</li>
+ * <li>the worker {@link #submit(Slot, int, int, int, int, int, int, int, int) submits} the slot with the target region,</li>
+ * <li>at the start of the next frame the GL thread unmaps the slot and issues glTexSubImage2D from the PBO, which returns without
+ * waiting for the copy,</li>
+ * <li>once the fence behind that upload is signaled the slot is mapped again and offered to the workers.</li>
+ * </ol>
+ * Uploads of one frame are limited to a byte budget, at least one upload is issued per frame. The GL thread never waits for the
+ * GPU, slots whose upload did not finish yet are checked again in the next frame. Without sync objects the storage of a slot is
+ * orphaned before it is mapped again.
+ * <p>
+ * Create and {@link #dispose()} the streamer on the GL thread of the canvas, for example in
+ * {@link com.badlogic.gdx.ApplicationListener#create()}. Uploads run automatically every frame until then.
+ *
+ * @author Michal NkD Nikodim
+ *
+ */
+public final class SwtLwjglTextureStreamer {
+
+    /** Pixel buffer object handed out to workers **/
+    public static final class Slot {
+        private final int pbo;
+        private ByteBuffer buffer;
+        private GLSync fence;
+        private int texture, level, x, y, width, height, format, type, bytes;
+
+        private Slot(int pbo) {
+            this.pbo = pbo;
+        }
+
+        /**
+         * @return mapped memory of the slot, valid between {@link SwtLwjglTextureStreamer#acquire()} and submit or cancel
+         */
+        public ByteBuffer getBuffer() {
+            return buffer;
+        }
+    }
+
+    private final SwtLwjglGraphics graphics;
+    private final int slotSize;
+    private final int frameBudget;
+    private final Slot[] slots;
+    private final LinkedBlockingQueue<Slot> mapped = new LinkedBlockingQueue<Slot>();
+    private final ConcurrentLinkedQueue<Slot> submitted = new ConcurrentLinkedQueue<Slot>();
+    private volatile boolean disposed = false;
+
+    // GL thread only
+    private final Array<Slot> inFlight = new Array<Slot>();
+
+    /**
+     * @param slotCount number of pixel buffer objects in the ring
+     * @param slotSize bytes of every pixel buffer object, the largest region uploaded at once
+     * @param frameBudget bytes uploaded per frame at most, 0 for no limit
+     */
+    public SwtLwjglTextureStreamer(SwtLwjglGraphics graphics, int slotCount, int slotSize, int frameBudget) {
+        if (!isSupported()) throw new GdxRuntimeException("Pixel buffer objects are not supported");
+        if (slotCount < 1 || slotSize < 1) throw new IllegalArgumentException("slotCount and slotSize must be positive");
+        this.graphics = graphics;
+        this.slotSize = slotSize;
+        this.frameBudget = frameBudget;
+        slots = new Slot[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            Slot slot = new Slot(GL15.glGenBuffers());
+            GL15.glBindBuffer(GL21.GL_PIXEL_UNPACK_BUFFER, slot.pbo);
+            GL15.glBufferData(GL21.GL_PIXEL_UNPACK_BUFFER, slotSize, GL15.GL_STREAM_DRAW);
+            slots[i] = slot;
+            map(slot, false);
+        }
+        GL15.glBindBuffer(GL21.GL_PIXEL_UNPACK_BUFFER, 0);
+        graphics.addTextureStreamer(this);
+    }
+
+    /**
+     * @return whether the current context supports pixel buffer objects through the GL 1.5 buffer entry points
+     */
+    public static boolean isSupported() {
+        ContextCapabilities caps = GLContext.getCapabilities();
+        // the extensions only add the pixel targets, buffers are still created and mapped through GL15
+        return caps.OpenGL21 || caps.OpenGL15 && (caps.GL_ARB_pixel_buffer_object || caps.GL_EXT_pixel_buffer_object);
+    }
+
+    /**
+     * Can be called from any thread.
+     *
+     * @return mapped slot or null when all slots are in use
+     */
+    public Slot acquire() {
+        return mapped.poll();
+    }
+
+    /**
+     * Waits for a slot to become available. Can be called from any thread except the GL thread, which maps the slots.
+     *
+     * @return mapped slot or null when none became available in time
+     */
+    public Slot acquire(long timeout, TimeUnit unit) throws InterruptedException {
+        return mapped.poll(timeout, unit);
+    }
+
+    /**
+     * Queues the upload of the slot into a region of a 2D texture, the slot belongs to the streamer again afterwards. The data
+     * starts at the beginning of the buffer, its position is taken as the size of the upload for the frame budget. Can be called
+     * from any thread.
+     *
+     * @throws IllegalArgumentException when the region does not fit into a slot
+     */
+    public void submit(Slot slot, int texture, int level, int x, int y, int width, int height, int format, int type) {
+        // the upload would fail with GL_INVALID_OPERATION on the GL thread, where nobody hears about it
+        long size = (long) width * height * bytesPerPixel(format, type);
+        if (size > slotSize) {
+            throw new IllegalArgumentException("Region " + width + "x" + height + " needs " + size + " bytes, slots have "
+                    + slotSize);
+        }
+        slot.texture = texture;
+        slot.level = level;
+        slot.x = x;
+        slot.y = y;
+        slot.width = width;
+        slot.height = height;
+        slot.format = format;
+        slot.type = type;
+        slot.bytes = slot.buffer.position() > 0 ? slot.buffer.position() : slotSize;
+        submitted.add(slot);
+        graphics.requestRendering();
+    }
+
+    /**
+     * Returns the slot without uploading anything. Can be called from any thread.
+     */
+    public void cancel(Slot slot) {
+        slot.buffer.clear();
+        mapped.add(slot);
+    }
+
+    public int getSlotSize() {
+        return slotSize;
+    }
+
+    /**
+     * @return bytes of one tightly packed pixel, 0 for combinations the streamer does not know, those are not validated
+     */
+    private static int bytesPerPixel(int format, int type) {
+        switch (type) {
+            case GL12.GL_UNSIGNED_SHORT_5_6_5:
+            case GL12.GL_UNSIGNED_SHORT_4_4_4_4:
+            case GL12.GL_UNSIGNED_SHORT_5_5_5_1:
+                return 2;
+            case GL12.GL_UNSIGNED_INT_8_8_8_8:
+            case GL12.GL_UNSIGNED_INT_8_8_8_8_REV:
+            case GL12.GL_UNSIGNED_INT_2_10_10_10_REV:
+                return 4;
+        }
+        int components;
+        switch (format) {
+            case GL11.GL_ALPHA:
+            case GL11.GL_LUMINANCE:
+            case GL11.GL_RED:
+            case GL11.GL_DEPTH_COMPONENT:
+                components = 1;
+                break;
+            case GL11.GL_LUMINANCE_ALPHA:
+            case GL30.GL_RG:
+                components = 2;
+                break;
+            case GL11.GL_RGB:
+            case GL12.GL_BGR:
+                components = 3;
+                break;
+            case GL11.GL_RGBA:
+            case GL12.GL_BGRA:
+                components = 4;
+                break;
+            default:
+                return 0;
+        }
+        switch (type) {
+            case GL11.GL_BYTE:
+            case GL11.GL_UNSIGNED_BYTE:
+                return components;
+            case GL11.GL_SHORT:
+            case GL11.GL_UNSIGNED_SHORT:
+            case GL30.GL_HALF_FLOAT:
+                return components * 2;
+            case GL11.GL_INT:
+            case GL11.GL_UNSIGNED_INT:
+            case GL11.GL_FLOAT:
+                return components * 4;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Issues submitted uploads within the frame budget and maps slots whose uploads finished. GL thread only.
+     *
+     * @return whether any upload was issued
+     */
+    boolean update() {
+        if (disposed) return false;
+        boolean uploaded = false;
+        int budget = frameBudget > 0 ? frameBudget : Integer.MAX_VALUE;
+        Slot slot;
+        while ((slot = submitted.peek()) != null) {
+            if (uploaded && slot.bytes > budget) break;
+            submitted.poll();
+            upload(slot);
+            budget -= slot.bytes;
+            uploaded = true;
+        }
+        for (int i = inFlight.size - 1; i >= 0; i--) {
+            slot = inFlight.get(i);
+            if (!SwtLwjglSync.isSignaled(slot.fence)) continue;
+            SwtLwjglSync.delete(slot.fence);
+            slot.fence = null;
+            inFlight.removeIndex(i);
+            map(slot, true);
+        }
+        GL15.glBindBuffer(GL21.GL_PIXEL_UNPACK_BUFFER, 0);
+        // uploads over the budget are handled in the next frame, which renders them, fences are only polled
+        if (!submitted.isEmpty()) {
+            graphics.requestRendering();
+        } else if (inFlight.size > 0) {
+            graphics.wake();
+        }
+        return uploaded;
+    }
+
+    private void upload(Slot slot) {
+        GL15.glBindBuffer(GL21.GL_PIXEL_UNPACK_BUFFER, slot.pbo);
+        GL15.glUnmapBuffer(GL21.GL_PIXEL_UNPACK_BUFFER);
+        // through the GL wrapper, so a state cache keeps track of the binding
+        graphics.getGLCommon().glBindTexture(GL11.GL_TEXTURE_2D, slot.texture);
+        GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, slot.level, slot.x, slot.y, slot.width, slot.height, slot.format, slot.type, 0L);
+        slot.fence = SwtLwjglSync.fence();
+        inFlight.add(slot);
+    }
+
+    private void map(Slot slot, boolean reused) {
+        GL15.glBindBuffer(GL21.GL_PIXEL_UNPACK_BUFFER, slot.pbo);
+        // without a fence the upload may still read the storage, fresh storage lets the driver continue without waiting
+        if (reused && !SwtLwjglSync.isSupported()) {
+            GL15.glBufferData(GL21.GL_PIXEL_UNPACK_BUFFER, slotSize, GL15.GL_STREAM_DRAW);
+        }
+        ByteBuffer buffer = GL15.glMapBuffer(GL21.GL_PIXEL_UNPACK_BUFFER, GL15.GL_WRITE_ONLY, slotSize, slot.buffer);
+        if (buffer == null) throw new GdxRuntimeException("Couldn't map pixel buffer object " + slot.pbo);
+        buffer.clear();
+        slot.buffer = buffer;
+        mapped.add(slot);
+    }
+
+    /**
+     * Deletes the pixel buffer objects, submitted uploads are dropped. Workers must not hold a slot anymore. GL thread only.
+     */
+    public void dispose() {
+        if (disposed) return;
+        disposed = true;
+        graphics.removeTextureStreamer(this);
+        mapped.clear();
+        submitted.clear();
+        for (Slot slot : slots) {
+            SwtLwjglSync.delete(slot.fence);
+            slot.fence = null;
+            slot.buffer = null;
+            // deleting a mapped buffer unmaps it
+            GL15.glDeleteBuffers(slot.pbo);
+        }
+        inFlight.clear();
+    }
+}
@@ -0,0 +1,558 @@
+package com.badlogic.gdx.backends.lwjgl.swt;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationListener;
+import com.badlogic.gdx.Audio;
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.LifecycleListener;
+import com.badlogic.gdx.Net;
+import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.GL11;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GLCommon;
+import com.badlogic.gdx.utils.Clipboard;
+
+/**
+ * Thread local replacement of the {@link Gdx} statics. Canvases rendering on their own thread can not share the global
+ * {@link Gdx#app}, {@link Gdx#graphics}, {@link Gdx#input}, {@link Gdx#gl} and {@link Gdx#gl20}, once the first such canvas is
+ * created these fields are replaced by proxies forwarding every call to the objects bound on the calling thread. Threads
+ * without own bindings (worker threads posting runnables, for example) see the objects bound last, which is what the statics
+ * offered before.
+ * <p>
+ * {@link Gdx#gl10} and {@link Gdx#gl11} stay plain statics, canvases using them render on the UI thread only.
+ *
+ * @author Michal NkD Nikodim
+ *
+ */
+final class SwtLwjglThreadBindings {
+
+    static final class Binding {
+        Application app;
+        Graphics graphics;
+        Input input;
+        GLCommon gl;
+        GL20 gl20;
+    }
+
+    private static final ThreadLocal<Binding> bindings = new ThreadLocal<Binding>();
+    private static volatile Binding last = new Binding();
+    private static volatile boolean installed = false;
+
+    private SwtLwjglThreadBindings() {
+    }
+
+    /**
+     * Replaces the {@link Gdx} statics by proxies, objects bound so far become the bindings of the calling thread. Must be called
+     * on the UI thread, or on the thread creating a {@link SwtLwjglRenderFarm}. Synchronized, a second install racing the first
+     * would bind the proxies themselves and they would forward to themselves.
+     */
+    static synchronized void install() {
+        if (installed) return;
+        bind(Gdx.app, Gdx.graphics, Gdx.input, Gdx.gl, Gdx.gl20);
+        Gdx.app = new ApplicationProxy();
+        Gdx.graphics = new GraphicsProxy();
+        Gdx.input = new InputProxy();
+        Gdx.gl = Gdx.gl20 = new LwjglThreadLocalGL20();
+        installed = true;
+    }
+
+    static boolean isInstalled() {
+        return installed;
+    }
+
+    /**
+     * Binds the objects to the calling thread, replaces what {@link SwtLwjglApplication} otherwise assigns to the statics.
+     */
+    static void bind(Application app, Graphics graphics, Input input, GLCommon gl, GL20 gl20) {
+        Binding binding = bindings.get();
+        if (binding == null) {
+            binding = new Binding();
+            bindings.set(binding);
+        }
+        binding.app = app;
+        binding.graphics = graphics;
+        binding.input = input;
+        binding.gl = gl;
+        binding.gl20 = gl20;
+        last = binding;
+    }
+
+    /**
+     * Drops the bindings of the calling thread, called by render threads before they finish.
+     */
+    static void unbind() {
+        Binding binding = bindings.get();
+        bindings.remove();
+        if (binding != null && last == binding) last = new Binding();
+    }
+
+    static Binding current() {
+        Binding binding = bindings.get();
+        return binding != null ? binding : last;
+    }
+
+    private static final class ApplicationProxy implements Application {
+
+        @Override
+        public ApplicationListener getApplicationListener() {
+            return current().app.getApplicationListener();
+        }
+
+        @Override
+        public Graphics getGraphics() {
+            return current().app.getGraphics();
+        }
+
+        @Override
+        public Audio getAudio() {
+            return current().app.getAudio();
+        }
+
+        @Override
+        public Input getInput() {
+            return current().app.getInput();
+        }
+
+        @Override
+        public Files getFiles() {
+            return current().app.getFiles();
+        }
+
+        @Override
+        public Net getNet() {
+            return current().app.getNet();
+        }
+
+        @Override
+        public ApplicationType getType() {
+            return current().app.getType();
+        }
+
+        @Override
+        public int getVersion() {
+            return current().app.getVersion();
+        }
+
+        @Override
+        public long getJavaHeap() {
+            return current().app.getJavaHeap();
+        }
+
+        @Override
+        public long getNativeHeap() {
+            return current().app.getNativeHeap();
+        }
+
+        @Override
+        public Preferences getPreferences(String name) {
+            return current().app.getPreferences(name);
+        }
+
+        @Override
+        public Clipboard getClipboard() {
+            return current().app.getClipboard();
+        }
+
+        @Override
+        public void postRunnable(Runnable runnable) {
+            current().app.postRunnable(runnable);
+        }
+
+        @Override
+        public void exit() {
+            current().app.exit();
+        }
+
+        @Override
+        public void addLifecycleListener(LifecycleListener listener) {
+            current().app.addLifecycleListener(listener);
+        }
+
+        @Override
+        public void removeLifecycleListener(LifecycleListener listener) {
+            current().app.removeLifecycleListener(listener);
+        }
+
+        @Override
+        public void debug(String tag, String message) {
+            current().app.debug(tag, message);
+        }
+
+        @Override
+        public void debug(String tag, String message, Throwable exception) {
+            current().app.debug(tag, message, exception);
+        }
+
+        @Override
+        public void log(String tag, String message) {
+            current().app.log(tag, message);
+        }
+
+        @Override
+        public void log(String tag, String message, Exception exception) {
+            current().app.log(tag, message, exception);
+        }
+
+        @Override
+        public void error(String tag, String message) {
+            current().app.error(tag, message);
+        }
+
+        @Override
+        public void error(String tag, String message, Throwable exception) {
+            current().app.error(tag, message, exception);
+        }
+
+        @Override
+        public void setLogLevel(int logLevel) {
+            current().app.setLogLevel(logLevel);
+        }
+    }
+
+    private static final class GraphicsProxy implements Graphics {
+
+        @Override
+        public int getWidth() {
+            return current().graphics.getWidth();
+        }
+
+        @Override
+        public int getHeight() {
+            return current().graphics.getHeight();
+        }
+
+        @Override
+        public float getDeltaTime() {
+            return current().graphics.getDeltaTime();
+        }
+
+        @Override
+        public float getRawDeltaTime() {
+            return current().graphics.getRawDeltaTime();
+        }
+
+        @Override
+        public int getFramesPerSecond() {
+            return current().graphics.getFramesPerSecond();
+        }
+
+        @Override
+        public GraphicsType getType() {
+            return current().graphics.getType();
+        }
+
+        @Override
+        public float getPpiX() {
+            return current().graphics.getPpiX();
+        }
+
+        @Override
+        public float getPpiY() {
+            return current().graphics.getPpiY();
+        }
+
+        @Override
+        public float getPpcX() {
+            return current().graphics.getPpcX();
+        }
+
+        @Override
+        public float getPpcY() {
+            return current().graphics.getPpcY();
+        }
+
+        @Override
+        public float getDensity() {
+            return current().graphics.getDensity();
+        }
+
+        @Override
+        public boolean supportsDisplayModeChange() {
+            return current().graphics.supportsDisplayModeChange();
+        }
+
+        @Override
+        public DisplayMode[] getDisplayModes() {
+            return current().graphics.getDisplayModes();
+        }
+
+        @Override
+        public DisplayMode getDesktopDisplayMode() {
+            return current().graphics.getDesktopDisplayMode();
+        }
+
+        @Override
+        public boolean setDisplayMode(DisplayMode displayMode) {
+            return current().graphics.setDisplayMode(displayMode);
+        }
+
+        @Override
+        public boolean setDisplayMode(int width, int height, boolean fullscreen) {
+            return current().graphics.setDisplayMode(width, height, fullscreen);
+        }
+
+        @Override
+        public void setTitle(String title) {
+            current().graphics.setTitle(title);
+        }
+
+        @Override
+        public void setVSync(boolean vsync) {
+            current().graphics.setVSync(vsync);
+        }
+
+        @Override
+        public BufferFormat getBufferFormat() {
+            return current().graphics.getBufferFormat();
+        }
+
+        @Override
+        public boolean supportsExtension(String extension) {
+            return current().graphics.supportsExtension(extension);
+        }
+
+        @Override
+        public void setContinuousRendering(boolean isContinuous) {
+            current().graphics.setContinuousRendering(isContinuous);
+        }
+
+        @Override
+        public boolean isContinuousRendering() {
+            return current().graphics.isContinuousRendering();
+        }
+
+        @Override
+        public void requestRendering() {
+            current().graphics.requestRendering();
+        }
+
+        @Override
+        public boolean isFullscreen() {
+            return current().graphics.isFullscreen();
+        }
+
+        @Override
+        public boolean isGL11Available() {
+            return current().graphics.isGL11Available();
+        }
+
+        @Override
+        public boolean isGL20Available() {
+            return current().graphics.isGL20Available();
+        }
+
+        @Override
+        public GLCommon getGLCommon() {
+            return current().graphics.getGLCommon();
+        }
+
+        @Override
+        public GL10 getGL10() {
+            return current().graphics.getGL10();
+        }
+
+        @Override
+        public GL11 getGL11() {
+            return current().graphics.getGL11();
+        }
+
+        @Override
+        public GL20 getGL20() {
+            return current().graphics.getGL20();
+        }
+    }
+
+    private static final class InputProxy implements Input {
+
+        @Override
+        public float getAccelerometerX() {
+            return current().input.getAccelerometerX();
+        }
+
+        @Override
+        public float getAccelerometerY() {
+            return current().input.getAccelerometerY();
+        }
+
+        @Override
+        public float getAccelerometerZ() {
+            return current().input.getAccelerometerZ();
+        }
+
+        @Override
+        public int getX() {
+            return current().input.getX();
+        }
+
+        @Override
+        public int getX(int pointer) {
+            return current().input.getX(pointer);
+        }
+
+        @Override
+        public int getDeltaX() {
+            return current().input.getDeltaX();
+        }
+
+        @Override
+        public int getDeltaX(int pointer) {
+            return current().input.getDeltaX(pointer);
+        }
+
+        @Override
+        public int getY() {
+            return current().input.getY();
+        }
+
+        @Override
+        public int getY(int pointer) {
+            return current().input.getY(pointer);
+        }
+
+        @Override
+        public int getDeltaY() {
+            return current().input.getDeltaY();
+        }
+
+        @Override
+        public int getDeltaY(int pointer) {
+            return current().input.getDeltaY(pointer);
+        }
+
+        @Override
+        public boolean isTouched() {
+            return current().input.isTouched();
+        }
+
+        @Override
+        public boolean justTouched() {
+            return current().input.justTouched();
+        }
+
+        @Override
+        public boolean isTouched(int pointer) {
+            return current().input.isTouched(pointer);
+        }
+
+        @Override
+        public boolean isButtonPressed(int button) {
+            return current().input.isButtonPressed(button);
+        }
+
+        @Override
+        public boolean isKeyPressed(int key) {
+            return current().input.isKeyPressed(key);
+        }
+
+        @Override
+        public void getTextInput(TextInputListener listener, String title, String text) {
+            current().input.getTextInput(listener, title, text);
+        }
+
+        @Override
+        public void getPlaceholderTextInput(TextInputListener listener, String title, String placeholder) {
+            current().input.getPlaceholderTextInput(listener, title, placeholder);
+        }
+
+        @Override
+        public void setOnscreenKeyboardVisible(boolean visible) {
+            current().input.setOnscreenKeyboardVisible(visible);
+        }
+
+        @Override
+        public void vibrate(int milliseconds) {
+            current().input.vibrate(milliseconds);
+        }
+
+        @Override
+        public void vibrate(long[] pattern, int repeat) {
+            current().input.vibrate(pattern, repeat);
+        }
+
+        @Override
+        public void cancelVibrate() {
+            current().input.cancelVibrate();
+        }
+
+        @Override
+        public float getAzimuth() {
+            return current().input.getAzimuth();
+        }
+
+        @Override
+        public float getPitch() {
+            return current().input.getPitch();
+        }
+
+        @Override
+        public float getRoll() {
+            return current().input.getRoll();
+        }
+
+        @Override
+        public void getRotationMatrix(float[] matrix) {
+            current().input.getRotationMatrix(matrix);
+        }
+
+        @Override
+        public long getCurrentEventTime() {
+            return current().input.getCurrentEventTime();
+        }
+
+        @Override
+        public void setCatchBackKey(boolean catchBack) {
+            current().input.setCatchBackKey(catchBack);
+        }
+
+        @Override
+        public void setCatchMenuKey(boolean catchMenu) {
+            current().input.setCatchMenuKey(catchMenu);
+        }
+
+        @Override
+        public void setInputProcessor(InputProcessor processor) {
+            current().input.setInputProcessor(processor);
+        }
+
+        @Override
+        public InputProcessor getInputProcessor() {
+            return current().input.getInputProcessor();
+        }
+
+        @Override
+        public boolean isPeripheralAvailable(Peripheral peripheral) {
+            return current().input.isPeripheralAvailable(peripheral);
+        }
+
+        @Override
+        public int getRotation() {
+            return current().input.getRotation();
+        }
+
+        @Override
+        public Orientation getNativeOrientation() {
+            return current().input.getNativeOrientation();
+        }
+
+        @Override
+        public void setCursorCatched(boolean catched) {
+            current().input.setCursorCatched(catched);
+        }
+
+        @Override
+        public boolean isCursorCatched() {
+            return current().input.isCursorCatched();
+        }
+
+        @Override
+        public void setCursorPosition(final int x, final int y) {
+            current().input.setCursorPosition(x, y);
+        }
+    }
+
+}